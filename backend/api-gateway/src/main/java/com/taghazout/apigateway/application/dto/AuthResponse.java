@@ -21,6 +21,9 @@ public final class AuthResponse {
             .modules(new JavaTimeModule())  // ← Adds LocalDateTime support
             .build();
 
+    public static final String UNAUTHORIZED_MESSAGE = "Unauthorized: Invalid or missing JWT token";
+    public static final String FORBIDDEN_MESSAGE = "Forbidden: Insufficient permissions";
+
     private final String message;
     private final String path;
     private final int status;
@@ -45,11 +48,11 @@ public final class AuthResponse {
      */
     
     public static AuthResponse unauthorized(String path) {
-        return new AuthResponse("Unauthorized: Invalid or missing JWT token", path, 401);
+        return new AuthResponse(UNAUTHORIZED_MESSAGE, path, 401);
     }
 
     public static AuthResponse forbidden(String path) {
-        return new AuthResponse("Forbidden: Insufficient permissions", path, 403);
+        return new AuthResponse(FORBIDDEN_MESSAGE, path, 403);
     }
 
     public static AuthResponse badRequest(String path, String details) {
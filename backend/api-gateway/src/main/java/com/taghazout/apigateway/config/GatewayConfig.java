@@ -1,46 +1,122 @@
 package com.taghazout.apigateway.config;
 
+import com.taghazout.apigateway.infrastructure.filter.AdaptiveConcurrencyFilter;
+import com.taghazout.apigateway.infrastructure.filter.HedgingFilter;
 import com.taghazout.apigateway.infrastructure.filter.JwtAuthenticationFilter;
+import com.taghazout.apigateway.infrastructure.filter.LoginRateLimitFilter;
+import com.taghazout.apigateway.infrastructure.filter.RateLimitFilter;
+import com.taghazout.apigateway.infrastructure.filter.RateLimitFilter.RateLimitKey;
+import com.taghazout.apigateway.infrastructure.filter.ResponseCacheFilter;
+import com.taghazout.apigateway.infrastructure.filter.SingleFlightFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.factory.SpringCloudCircuitBreakerFilterFactory;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Set;
+import java.util.function.Consumer;
+
 @Configuration // ← Tells Spring: "This class contains configuration beans"
 public class GatewayConfig {
 
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
+        private final LoginRateLimitFilter loginRateLimitFilter;
+        private final RateLimitFilter rateLimitFilter;
+        private final ResponseCacheFilter responseCacheFilter;
+        private final SingleFlightFilter singleFlightFilter;
+        private final HedgingFilter hedgingFilter;
+        private final AdaptiveConcurrencyFilter concurrencyFilter;
 
-        public GatewayConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+        public GatewayConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                        LoginRateLimitFilter loginRateLimitFilter,
+                        RateLimitFilter rateLimitFilter,
+                        ResponseCacheFilter responseCacheFilter,
+                        SingleFlightFilter singleFlightFilter,
+                        HedgingFilter hedgingFilter,
+                        AdaptiveConcurrencyFilter concurrencyFilter) {
                 this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+                this.loginRateLimitFilter = loginRateLimitFilter;
+                this.rateLimitFilter = rateLimitFilter;
+                this.responseCacheFilter = responseCacheFilter;
+                this.singleFlightFilter = singleFlightFilter;
+                this.hedgingFilter = hedgingFilter;
+                this.concurrencyFilter = concurrencyFilter;
         }
 
         @Bean // ← Tells Spring: "Create this object and manage it in the container"
-        public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+        public RouteLocator customRouteLocator(RouteLocatorBuilder builder,
+                        // Per-route throttling: requests per second and burst per client
+                        @Value("${gateway.rate-limit.auth.rps:20}") double authRps,
+                        @Value("${gateway.rate-limit.auth.burst:40}") long authBurst,
+                        @Value("${gateway.rate-limit.listing-public.rps:50}") double listingPublicRps,
+                        @Value("${gateway.rate-limit.listing-public.burst:100}") long listingPublicBurst,
+                        @Value("${gateway.rate-limit.user.rps:10}") double userRps,
+                        @Value("${gateway.rate-limit.user.burst:20}") long userBurst) {
+                RateLimitFilter.Config authLimit = RateLimitFilter.Config.of(authRps, authBurst, RateLimitKey.IP);
+                RateLimitFilter.Config listingPublicLimit = RateLimitFilter.Config.of(listingPublicRps,
+                                listingPublicBurst, RateLimitKey.IP);
+                // USER limits must follow the JWT filter, which sets X-User-Id
+                RateLimitFilter.Config userLimit = RateLimitFilter.Config.of(userRps, userBurst, RateLimitKey.USER);
+                // Shared per upstream service; authenticated requests may use the reserved share
+                AdaptiveConcurrencyFilter.Config anonymous = new AdaptiveConcurrencyFilter.Config();
+                AdaptiveConcurrencyFilter.Config authenticated = AdaptiveConcurrencyFilter.Config.authenticated();
+
                 return builder.routes() // ← Start building route definitions
+                                // Route 0: Login attempts are rate limited (must be declared before auth-service)
+                                .route("auth-login", r -> r.path("/api/v1/auth/login")
+                                                .and().method("POST")
+                                                .filters(f -> f.filter(loginRateLimitFilter
+                                                                .apply(new LoginRateLimitFilter.Config()))
+                                                                .filter(concurrencyFilter.apply(anonymous))
+                                                                .circuitBreaker(circuitBreaker("auth-login")))
+                                                .uri("lb://auth-service"))
+
                                 // Route 1: All /auth/** requests → AUTH-SERVICE
                                 // === Public Routes (No JWT) ===
                                 .route("auth-service", r -> r.path("/api/v1/auth/**")
+                                                .filters(f -> f.filter(rateLimitFilter.apply(authLimit))
+                                                                .filter(concurrencyFilter.apply(anonymous))
+                                                                .circuitBreaker(circuitBreaker("auth-service")))
                                                 .uri("lb://auth-service")) // ← "lb://" = Load balance via Eureka
 
                                 // Route 2: Listing Service - Public GET
                                 .route("listing-service-public", r -> r.path("/api/v1/listings/**")
                                                 .and().method("GET")
+                                                .filters(f -> f.filter(rateLimitFilter.apply(listingPublicLimit))
+                                                                .filter(responseCacheFilter
+                                                                                .apply(new ResponseCacheFilter.Config()))
+                                                                // Identical uncacheable GETs share one upstream call
+                                                                .filter(singleFlightFilter
+                                                                                .apply(new SingleFlightFilter.Config()))
+                                                                .filter(concurrencyFilter.apply(anonymous))
+                                                                .circuitBreaker(circuitBreaker("listing-service-public"))
+                                                                // Last: answers the request itself when enabled
+                                                                .filter(hedgingFilter.apply(new HedgingFilter.Config())))
                                                 .uri("lb://listing-service"))
 
                                 // Route 3: Listing Service - Secured Others
                                 .route("listing-service-secured", r -> r.path("/api/v1/listings/**")
                                                 .and().method("POST", "PUT", "DELETE", "PATCH")
                                                 .filters(f -> f.filter(jwtAuthenticationFilter
-                                                                .apply(JwtAuthenticationFilter.Config::new)))
+                                                                .apply(JwtAuthenticationFilter.Config::new))
+                                                                .filter(rateLimitFilter.apply(userLimit))
+                                                                .filter(concurrencyFilter.apply(authenticated))
+                                                                .circuitBreaker(circuitBreaker("listing-service-secured")))
                                                 .uri("lb://listing-service"))
 
                                 // Route 4: All /bookings/** requests → BOOKING-SERVICE
                                 .route("booking-service", r -> r.path("/api/v1/bookings/**")
                                                 .filters(f -> f.filter(jwtAuthenticationFilter
-                                                                .apply(JwtAuthenticationFilter.Config::new))) // ✅
+                                                                .apply(JwtAuthenticationFilter.Config::new)) // ✅
                                                                                                               // ATTACH
                                                                                                               // FILTER
+                                                                .filter(rateLimitFilter.apply(userLimit))
+                                                                .filter(singleFlightFilter
+                                                                                .apply(new SingleFlightFilter.Config()))
+                                                                .filter(concurrencyFilter.apply(authenticated))
+                                                                .circuitBreaker(circuitBreaker("booking-service")))
                                                 .uri("lb://booking-service"))
 
                                 // === Discovery & Config (Public) ===
@@ -59,4 +135,14 @@ public class GatewayConfig {
 
                                 .build();
         }
-}
\ No newline at end of file
+
+        /**
+         * Per-route breaker, time limit and bulkhead (resilience4j.*.instances.<route id>).
+         * Upstream 502/503/504 count as failures; failures are answered by FallbackController.
+         */
+        private static Consumer<SpringCloudCircuitBreakerFilterFactory.Config> circuitBreaker(String routeId) {
+                return c -> c.setName(routeId)
+                                .setFallbackUri("forward:/fallback/" + routeId)
+                                .setStatusCodes(Set.of("502", "503", "504"));
+        }
+}
@@ -0,0 +1,28 @@
+package com.taghazout.apigateway.config;
+
+import com.taghazout.apigateway.infrastructure.routing.TimedRoutePredicateHandlerMapping;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces the gateway's route handler mapping with one that times route lookup.
+ */
+@Configuration
+public class RouteMatchingConfig {
+
+    @Bean
+    public RoutePredicateHandlerMapping routePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                                                     RouteLocator routeLocator,
+                                                                     GlobalCorsProperties globalCorsProperties,
+                                                                     Environment environment,
+                                                                     MeterRegistry meterRegistry) {
+        return new TimedRoutePredicateHandlerMapping(webHandler, routeLocator, globalCorsProperties,
+                environment, meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.taghazout.apigateway.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (e.g. the latency SLO check of SloBreachRecorder).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -4,9 +4,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
 
 /**
  * Reactive Security Configuration for API Gateway.
@@ -23,6 +29,12 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
  * 
  * This separation keeps security configuration simple while delegating
  * the complex JWT logic to dedicated components.
+ *
+ * Exception: /actuator/loggers changes log levels at runtime and
+ * /actuator/jfr hands out profiling data; both are only accepted from the
+ * gateway host itself (e.g. docker exec + curl).
+ * /fallback/** is only reached by circuit breaker forwards, which do not go
+ * through this chain; direct requests are denied.
  */
 @Configuration
 @EnableWebFluxSecurity
@@ -43,7 +55,17 @@ public class SecurityConfig {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/actuator/loggers/**", "/actuator/jfr/**").access(localhostOnly())
+                        .pathMatchers("/fallback/**").denyAll()
                         .anyExchange().permitAll())
                 .build();
     }
+
+    private static ReactiveAuthorizationManager<AuthorizationContext> localhostOnly() {
+        return (authentication, context) -> {
+            InetSocketAddress remote = context.getExchange().getRequest().getRemoteAddress();
+            boolean local = remote != null && remote.getAddress() != null && remote.getAddress().isLoopbackAddress();
+            return Mono.just(new AuthorizationDecision(local));
+        };
+    }
 }
@@ -0,0 +1,61 @@
+package com.taghazout.apigateway.config;
+
+import com.taghazout.apigateway.infrastructure.upstream.UpstreamConnectionPools;
+import com.taghazout.apigateway.infrastructure.upstream.UpstreamHttpClients;
+import com.taghazout.apigateway.infrastructure.upstream.UpstreamRoutingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Upstream HTTP clients: one connection pool per lb:// service (replaces the
+ * gateway's routing filter, disabled in properties) and optional h2c.
+ */
+@Configuration
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public UpstreamHttpClients upstreamHttpClients(HttpClientProperties properties,
+                                                   ServerProperties serverProperties,
+                                                   HttpClientSslConfigurer sslConfigurer,
+                                                   List<HttpClientCustomizer> customizers,
+                                                   UpstreamConnectionPools pools) {
+        return new UpstreamHttpClients(properties, serverProperties, sslConfigurer, customizers, pools);
+    }
+
+    @Bean
+    public UpstreamRoutingFilter upstreamRoutingFilter(HttpClient httpClient,
+                                                       ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                       HttpClientProperties properties,
+                                                       UpstreamHttpClients clients) {
+        return new UpstreamRoutingFilter(httpClient, headersFilters, properties, clients);
+    }
+
+    // Disabled together with the gateway's routing filter; still needed to stream responses back
+    @Bean
+    public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties gatewayProperties) {
+        return new NettyWriteResponseFilter(gatewayProperties.getStreamingMediaTypes());
+    }
+
+    /**
+     * Cleartext HTTP/2 to the services: one multiplexed connection carries many
+     * requests. HTTP/1.1 stays offered, so services without h2c keep working.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.upstream.h2c.enabled", havingValue = "true")
+    public HttpClientCustomizer h2cHttpClientCustomizer() {
+        return httpClient -> httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+}
@@ -1,13 +1,47 @@
 package com.taghazout.apigateway.domain.exception;
 
+import java.util.Locale;
+
 public class JwtValidationException extends RuntimeException {
 
+    /**
+     * Why the token was refused; bounded set, safe as a metric tag.
+     */
+    public enum Reason {
+        MISSING_CLAIM,
+        EXPIRED,
+        BAD_SIGNATURE,
+        MALFORMED,
+        REVOKED,
+        INVALID;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Reason reason;
+
     public JwtValidationException(String message, Exception ex) {
-        super(message);
+        this(Reason.INVALID, message, ex);
     }
 
 
     public JwtValidationException(String message) {
+        this(Reason.INVALID, message);
+    }
+
+    public JwtValidationException(Reason reason, String message, Exception ex) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public JwtValidationException(Reason reason, String message) {
         super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
     }
 }
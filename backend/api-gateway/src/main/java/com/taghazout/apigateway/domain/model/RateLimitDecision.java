@@ -0,0 +1,26 @@
+package com.taghazout.apigateway.domain.model;
+
+/**
+ * Outcome of a rate limit check.
+ * retryAfterMillis is only meaningful when the request is rejected.
+ */
+public record RateLimitDecision(
+    boolean allowed,
+    long retryAfterMillis
+) {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    public static RateLimitDecision allow() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision reject(long retryAfterMillis) {
+        return new RateLimitDecision(false, Math.max(1, retryAfterMillis));
+    }
+
+    // Retry-After header value (whole seconds, rounded up)
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+}
@@ -0,0 +1,26 @@
+package com.taghazout.apigateway.domain.model;
+
+/**
+ * Token bucket policy: holds at most {@code capacity} tokens,
+ * refilled continuously at {@code refillPerSecond}.
+ */
+public record RateLimitPolicy(
+    long capacity,
+    double refillPerSecond
+) {
+
+    public RateLimitPolicy {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+    }
+
+    public static RateLimitPolicy perMinute(long capacity, double refillPerMinute) {
+        return new RateLimitPolicy(capacity, refillPerMinute / 60.0);
+    }
+
+    // Time for an empty bucket to become full again
+    public long refillMillis() {
+        return (long) Math.ceil(capacity * 1000.0 / refillPerSecond);
+    }
+}
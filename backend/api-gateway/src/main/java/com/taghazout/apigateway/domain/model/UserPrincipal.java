@@ -6,9 +6,16 @@ public record UserPrincipal (
     String userId,
     String email,
     Set<String> roles,
-    Long expirationTime
+    Long expirationTime,
+    String tokenId,
+    Long issuedAt
 ) {
 
+    // Principal without revocation metadata (tokens issued before jti was added)
+    public UserPrincipal(String userId, String email, Set<String> roles, Long expirationTime) {
+        this(userId, email, roles, expirationTime, null, null);
+    }
+
         // add custom methods
         public boolean hasRole(String role) {
             return roles != null && roles.contains(role);
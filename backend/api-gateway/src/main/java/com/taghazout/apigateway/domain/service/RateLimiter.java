@@ -0,0 +1,21 @@
+package com.taghazout.apigateway.domain.service;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * ISP: Token bucket rate limiting, independent of HTTP and storage.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from every bucket, or from none of them.
+     *
+     * @param buckets bucket key -> policy (e.g. one bucket per client IP and one per account)
+     * @return allowed, or rejected with the time until every bucket has a token again
+     */
+    Mono<RateLimitDecision> tryAcquire(Map<String, RateLimitPolicy> buckets);
+}
@@ -1,10 +1,13 @@
 package com.taghazout.apigateway.domain.service;
 
+import com.taghazout.apigateway.domain.model.UserPrincipal;
 
 /**
  * ISP: Separate concern for revocation.
+ * Checked after parsing: revocations are keyed by token id (jti)
+ * and by user-wide "issued before" watermark, both read from the claims.
  */
 public interface TokenBlacklist {
 
-    boolean isBlacklisted(String token);
+    boolean isRevoked(UserPrincipal principal);
 }
@@ -0,0 +1,137 @@
+package com.taghazout.apigateway.infrastructure.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable upstream response held by the gateway response cache.
+ *
+ * Freshness follows the upstream Cache-Control header:
+ * - fresh until s-maxage / max-age (minus Age) has elapsed
+ * - then servable stale for stale-while-revalidate seconds
+ * - no-store, no-cache, private, Set-Cookie or Content-Encoding: not cacheable
+ */
+public record CachedResponse(
+    int status,
+    Map<String, List<String>> headers,
+    byte[] body,
+    long storedAt,
+    long freshUntil,
+    long staleUntil
+) {
+
+    // Only representation headers are replayed; hop-by-hop and per-response headers are not
+    // (stored under their canonical name, so lookups are exact)
+    private static final Map<String, String> STORED_HEADERS = Stream.of(
+                    HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CACHE_CONTROL,
+                    HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED)
+            .collect(Collectors.toUnmodifiableMap(name -> name.toLowerCase(Locale.ROOT), name -> name));
+
+    // Approximate per-entry overhead (key, headers, object headers) for byte accounting
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    /**
+     * @return the entry, or null if the response must not be cached
+     */
+    public static CachedResponse from(int status, HttpHeaders headers, byte[] body, long now, long defaultTtlMillis) {
+        if (status != 200 || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return null;
+        }
+        Freshness freshness = Freshness.parse(headers.getCacheControl(), defaultTtlMillis);
+        if (freshness == null) {
+            return null;
+        }
+        long age = parseSeconds(headers.getFirst(HttpHeaders.AGE)) * 1000;
+        long freshUntil = now + freshness.maxAgeMillis() - age;
+        if (freshUntil <= now && freshness.staleMillis() == 0) {
+            return null;
+        }
+        return new CachedResponse(status, storedHeaders(headers), body, now, freshUntil,
+                freshUntil + freshness.staleMillis());
+    }
+
+    /**
+     * Same body with new freshness, after a 304 from upstream.
+     */
+    public CachedResponse revalidated(HttpHeaders notModified, long now, long defaultTtlMillis) {
+        HttpHeaders merged = new HttpHeaders();
+        headers.forEach(merged::addAll);
+        storedHeaders(notModified).forEach(merged::put);
+        return from(status, merged, body, now, defaultTtlMillis);
+    }
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public boolean isUsable(long now) {
+        return now < staleUntil;
+    }
+
+    public String etag() {
+        List<String> values = headers.get(HttpHeaders.ETAG);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    public long sizeBytes() {
+        return body.length + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private static Map<String, List<String>> storedHeaders(HttpHeaders headers) {
+        Map<String, List<String>> stored = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            String canonical = STORED_HEADERS.get(name.toLowerCase(Locale.ROOT));
+            if (canonical != null) {
+                stored.put(canonical, List.copyOf(values));
+            }
+        });
+        return Map.copyOf(stored);
+    }
+
+    private static long parseSeconds(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private record Freshness(long maxAgeMillis, long staleMillis) {
+
+        static Freshness parse(String cacheControl, long defaultTtlMillis) {
+            if (cacheControl == null || cacheControl.isBlank()) {
+                return defaultTtlMillis > 0 ? new Freshness(defaultTtlMillis, 0) : null;
+            }
+            long maxAge = -1;
+            long sharedMaxAge = -1;
+            long stale = 0;
+            for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+                String d = directive.trim();
+                if (d.equals("no-store") || d.equals("no-cache") || d.equals("private")) {
+                    return null;
+                } else if (d.startsWith("s-maxage=")) {
+                    sharedMaxAge = parseSeconds(d.substring(9));
+                } else if (d.startsWith("max-age=")) {
+                    maxAge = parseSeconds(d.substring(8));
+                } else if (d.startsWith("stale-while-revalidate=")) {
+                    stale = parseSeconds(d.substring(23));
+                }
+            }
+            long seconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+            if (seconds < 0) {
+                return defaultTtlMillis > 0 ? new Freshness(defaultTtlMillis, stale * 1000) : null;
+            }
+            return new Freshness(seconds * 1000, stale * 1000);
+        }
+    }
+}
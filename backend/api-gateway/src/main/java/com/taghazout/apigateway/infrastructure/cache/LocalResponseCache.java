@@ -0,0 +1,101 @@
+package com.taghazout.apigateway.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SRP: ONLY keeps cached responses in memory, bounded by their size in bytes.
+ *
+ * Least recently used entries are evicted first once max-bytes is exceeded.
+ * Entries past their stale window are kept for stale-if-error more, for
+ * degraded answers when the upstream is down, then dropped when looked up.
+ */
+@Component
+public class LocalResponseCache {
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long staleIfErrorMillis;
+    private final Counter evictions;
+    private long bytes;
+
+    public LocalResponseCache(MeterRegistry meterRegistry,
+                              @Value("${gateway.response-cache.max-bytes:64MB}") DataSize maxBytes,
+                              @Value("${gateway.response-cache.max-entry-bytes:1MB}") DataSize maxEntryBytes,
+                              @Value("${gateway.response-cache.stale-if-error:10m}") Duration staleIfError) {
+        this.maxBytes = maxBytes.toBytes();
+        this.maxEntryBytes = maxEntryBytes.toBytes();
+        this.staleIfErrorMillis = staleIfError.toMillis();
+        this.evictions = Counter.builder("gateway.cache.evictions")
+                .description("Responses evicted from the gateway cache to stay under max-bytes")
+                .register(meterRegistry);
+        Gauge.builder("gateway.cache.bytes", this, LocalResponseCache::sizeBytes).register(meterRegistry);
+        Gauge.builder("gateway.cache.entries", this, LocalResponseCache::size).register(meterRegistry);
+    }
+
+    public synchronized CachedResponse get(String key, long now) {
+        CachedResponse entry = lookup(key, now);
+        return entry != null && entry.isUsable(now) ? entry : null;
+    }
+
+    /**
+     * Any entry still within its stale-if-error window: only for when the upstream failed.
+     */
+    public synchronized CachedResponse getIfError(String key, long now) {
+        return lookup(key, now);
+    }
+
+    private CachedResponse lookup(String key, long now) {
+        CachedResponse entry = entries.get(key);
+        if (entry != null && now >= entry.staleUntil() + staleIfErrorMillis) {
+            entries.remove(key);
+            bytes -= entry.sizeBytes();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @return false if the entry is too large to be cached
+     */
+    public boolean put(String key, CachedResponse entry) {
+        if (entry.sizeBytes() > maxEntryBytes) {
+            return false;
+        }
+        synchronized (this) {
+            CachedResponse previous = entries.put(key, entry);
+            bytes += entry.sizeBytes() - (previous != null ? previous.sizeBytes() : 0);
+
+            Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                CachedResponse evicted = eldest.next().getValue();
+                eldest.remove();
+                bytes -= evicted.sizeBytes();
+                evictions.increment();
+            }
+        }
+        return true;
+    }
+
+    public long maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    synchronized long sizeBytes() {
+        return bytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.taghazout.apigateway.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * SRP: ONLY shares cached responses between gateway replicas (optional tier).
+ *
+ * Disabled by default: the in-memory tier already absorbs most repeats, the
+ * shared tier helps when many replicas each see a cold cache.
+ * Redis errors and slow calls count as misses, never as failures.
+ */
+@Component
+public class RedisResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisResponseCache.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final ReactiveStringRedisTemplate redis;
+    private final boolean enabled;
+    private final String keyPrefix;
+    private final Duration timeout;
+
+    public RedisResponseCache(ReactiveStringRedisTemplate redis,
+                              @Value("${gateway.response-cache.redis.enabled:false}") boolean enabled,
+                              @Value("${gateway.response-cache.redis.key-prefix:gw:cache:}") String keyPrefix,
+                              @Value("${gateway.response-cache.redis.timeout:50ms}") Duration timeout) {
+        this.redis = redis;
+        this.enabled = enabled;
+        this.keyPrefix = keyPrefix;
+        this.timeout = timeout;
+    }
+
+    public Mono<CachedResponse> get(String key) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redis.opsForValue().get(keyPrefix + key)
+                .map(json -> {
+                    try {
+                        return OBJECT_MAPPER.readValue(json, CachedResponse.class);
+                    } catch (Exception ex) {
+                        throw new IllegalStateException("Unreadable cache entry", ex);
+                    }
+                })
+                .timeout(timeout)
+                .onErrorResume(ex -> {
+                    log.debug("Shared response cache unavailable: {}", ex.toString());
+                    return Mono.empty();
+                });
+    }
+
+    public void put(String key, CachedResponse entry, long now) {
+        long ttl = entry.staleUntil() - now;
+        if (!enabled || ttl <= 0) {
+            return;
+        }
+        String json;
+        try {
+            json = OBJECT_MAPPER.writeValueAsString(entry);
+        } catch (Exception ex) {
+            log.debug("Response not shared: {}", ex.toString());
+            return;
+        }
+        redis.opsForValue().set(keyPrefix + key, json, Duration.ofMillis(ttl))
+                .timeout(timeout)
+                .onErrorResume(ex -> Mono.empty())
+                .subscribe();
+    }
+}
@@ -0,0 +1,65 @@
+package com.taghazout.apigateway.infrastructure.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * SRP: ONLY refreshes a stale cache entry outside of any client request.
+ *
+ * Sends a conditional GET (If-None-Match) through the load balancer:
+ * 304 renews the entry with the same body, 200 replaces it.
+ * Without a load balancer (tests, static routes) revalidation is skipped and
+ * the entry simply expires at the end of its stale window.
+ */
+@Component
+public class ResponseRevalidator {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public ResponseRevalidator(ObjectProvider<LoadBalancedExchangeFilterFunction> loadBalancer,
+                               @Value("${gateway.response-cache.revalidation-timeout:5s}") Duration timeout) {
+        LoadBalancedExchangeFilterFunction function = loadBalancer.getIfAvailable();
+        this.webClient = function != null ? WebClient.builder().filter(function).build() : null;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @param routeUri    route target, e.g. lb://listing-service
+     * @param pathAndQuery raw path and query of the cached request
+     * @return the refreshed entry, or empty if it can no longer be cached
+     */
+    public Mono<CachedResponse> revalidate(URI routeUri, String pathAndQuery, CachedResponse stale,
+                                           long defaultTtlMillis) {
+        if (webClient == null || routeUri == null || !"lb".equals(routeUri.getScheme())) {
+            return Mono.empty();
+        }
+        return webClient.get()
+                .uri(URI.create("http://" + routeUri.getHost() + pathAndQuery))
+                .headers(headers -> {
+                    if (stale.etag() != null) {
+                        headers.setIfNoneMatch(stale.etag());
+                    }
+                })
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .timeout(timeout)
+                .flatMap(entity -> {
+                    long now = System.currentTimeMillis();
+                    HttpHeaders headers = entity.getHeaders();
+                    CachedResponse refreshed = entity.getStatusCode() == HttpStatus.NOT_MODIFIED
+                            ? stale.revalidated(headers, now, defaultTtlMillis)
+                            : CachedResponse.from(entity.getStatusCode().value(), headers,
+                                    entity.getBody() != null ? entity.getBody() : new byte[0], now, defaultTtlMillis);
+                    return Mono.justOrEmpty(refreshed);
+                });
+    }
+}
@@ -0,0 +1,148 @@
+package com.taghazout.apigateway.infrastructure.concurrency;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SRP: ONLY admits requests to one upstream within its current GradientLimit.
+ *
+ * - LOW requests may only use (1 - reservedShare) of the limit: when the
+ *   upstream saturates, the reserved part stays available to the other classes
+ * - Over the limit, requests wait in their class's bounded queue of a
+ *   WeightedFairQueue; each released slot goes straight to the next waiter
+ *   in fair order. Full queue or max wait reached: not admitted
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome {
+        // Counts towards the RTT estimate
+        SUCCESS,
+        // Upstream overloaded or timed out: backs the limit off
+        DROPPED,
+        // Cancelled by the client: says nothing about the upstream
+        IGNORED
+    }
+
+    private static final Mono<Boolean> ADMITTED = Mono.just(true);
+    private static final Mono<Boolean> REJECTED = Mono.just(false);
+
+    private final GradientLimit limit;
+    private final double reservedShare;
+    private final WeightedFairQueue<Waiter> queue;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimiter(GradientLimit limit, double reservedShare,
+                                      Map<PriorityClass, Integer> weights,
+                                      Map<PriorityClass, Integer> queueCapacities) {
+        this.limit = limit;
+        this.reservedShare = reservedShare;
+        this.queue = new WeightedFairQueue<>(weights, queueCapacities);
+    }
+
+    /**
+     * Emits true once admitted (release must follow), false when shed.
+     */
+    public Mono<Boolean> acquire(PriorityClass priority, Duration maxWait) {
+        // Waiting requests go first: new ones only skip the queue when it is empty
+        if (queue.isEmpty() && tryAcquire(priority)) {
+            return ADMITTED;
+        }
+        Waiter waiter = new Waiter(priority);
+        if (!queue.offer(priority, waiter)) {
+            return REJECTED;
+        }
+        // A slot may have been released before the waiter was queued
+        drain();
+        // Once the grant reaches the caller, the caller owns the slot and releases it
+        return waiter.sink.asMono()
+                .timeout(maxWait, Mono.fromSupplier(() -> !waiter.abandon()))
+                .doOnNext(admitted -> waiter.delivered = true)
+                .doOnCancel(() -> {
+                    // Granted but cancelled before the grant was delivered: nobody else will release it
+                    if (!waiter.abandon() && !waiter.delivered) {
+                        release(0, Outcome.IGNORED);
+                    }
+                });
+    }
+
+    public boolean tryAcquire(PriorityClass priority) {
+        int current = limit.limit();
+        int allowed = priority == PriorityClass.LOW ? Math.max(1, (int) (current * (1 - reservedShare))) : current;
+        while (true) {
+            int taken = inFlight.get();
+            if (taken >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(taken, taken + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, Outcome outcome) {
+        int taken = inFlight.getAndDecrement();
+        if (outcome != Outcome.IGNORED) {
+            limit.onSample(rttNanos, taken, outcome == Outcome.DROPPED);
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            Waiter next = queue.poll(this::tryAcquire);
+            if (next == null) {
+                return;
+            }
+            if (!next.grant()) {
+                // Gave up in the meantime: the slot goes to the next one
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    public int limit() {
+        return limit.limit();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int queued(PriorityClass priority) {
+        return queue.size(priority);
+    }
+
+    private final class Waiter {
+
+        private final PriorityClass priority;
+        private final Sinks.One<Boolean> sink = Sinks.one();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean delivered;
+
+        private Waiter(PriorityClass priority) {
+            this.priority = priority;
+        }
+
+        boolean grant() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            sink.tryEmitValue(true);
+            return true;
+        }
+
+        // false when already granted: the caller then owns a slot
+        boolean abandon() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            queue.remove(priority, this);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.taghazout.apigateway.infrastructure.concurrency;
+
+/**
+ * SRP: ONLY estimates how many requests an upstream can have in flight.
+ *
+ * Gradient algorithm on measured RTT:
+ * - long RTT: slow moving average, the "no queueing" baseline
+ * - gradient = tolerance * longRtt / rtt, clamped to [0.5, 1]: 1 while the
+ *   upstream is as fast as usual, lower as requests start queueing in it
+ * - new limit = limit * gradient + sqrt(limit) (the sqrt lets it probe upwards),
+ *   smoothed and kept within [min, max]
+ * - dropped requests (upstream 5xx overload, timeouts) back the limit off by 10%
+ *
+ * Samples taken with less than half the limit in flight do not move it:
+ * the upstream was not pushed, so they say nothing about its capacity.
+ */
+public final class GradientLimit {
+
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final int longWindow;
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit,
+                         double smoothing, double tolerance, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindow = longWindow;
+        this.limit = clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / longWindow;
+        // The baseline drifted far above current RTTs (e.g. after an incident): catch up faster
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+        double gradient = clamp(tolerance * longRttNanos / rttNanos, 0.5, 1.0);
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + newLimit * smoothing, minLimit, maxLimit);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
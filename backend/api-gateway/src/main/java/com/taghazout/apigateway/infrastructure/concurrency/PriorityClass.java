@@ -0,0 +1,42 @@
+package com.taghazout.apigateway.infrastructure.concurrency;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Request priority classes, most important first.
+ *
+ * LOW (anonymous traffic) may not use the share of an upstream's concurrency
+ * limit reserved for the others.
+ */
+public enum PriorityClass {
+    CRITICAL,
+    HIGH,
+    NORMAL,
+    LOW;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses CLASS:value pairs (e.g. CRITICAL:8,LOW:1); classes not listed get the default.
+     */
+    public static Map<PriorityClass, Integer> parse(List<String> entries, int defaultValue) {
+        Map<PriorityClass, Integer> values = new EnumMap<>(PriorityClass.class);
+        for (PriorityClass priority : values()) {
+            values.put(priority, defaultValue);
+        }
+        for (String entry : entries) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            values.put(valueOf(entry.substring(0, separator).trim().toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,72 @@
+package com.taghazout.apigateway.infrastructure.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SRP: ONLY assigns a PriorityClass to a request.
+ *
+ * - Anonymous requests (or routes without JWT validation, where the identity
+ *   headers are client controlled): LOW
+ * - Authenticated: the highest of the route's class (GatewayConfig route id)
+ *   and the class of any role in X-User-Roles (set by JwtAuthenticationFilter),
+ *   NORMAL when neither is configured
+ */
+@Component
+public class PriorityClassifier {
+
+    private final Map<String, PriorityClass> routeClasses;
+    private final Map<String, PriorityClass> roleClasses;
+
+    public PriorityClassifier(
+            @Value("${gateway.priority.route-classes:booking-service:CRITICAL}") List<String> routeClasses,
+            @Value("${gateway.priority.role-classes:HOST:HIGH,ADMIN:HIGH}") List<String> roleClasses) {
+        this.routeClasses = parse(routeClasses);
+        this.roleClasses = parse(roleClasses);
+    }
+
+    public PriorityClass classify(ServerWebExchange exchange, boolean authenticated) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String userId = headers.getFirst("X-User-Id");
+        if (!authenticated || userId == null || userId.isBlank()) {
+            return PriorityClass.LOW;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        PriorityClass priority = route != null
+                ? routeClasses.getOrDefault(route.getId(), PriorityClass.NORMAL)
+                : PriorityClass.NORMAL;
+        String roles = headers.getFirst("X-User-Roles");
+        if (roles != null) {
+            for (String role : roles.split(",")) {
+                PriorityClass roleClass = roleClasses.get(role.trim().toUpperCase(Locale.ROOT));
+                // Lower ordinal = more important
+                if (roleClass != null && roleClass.compareTo(priority) < 0) {
+                    priority = roleClass;
+                }
+            }
+        }
+        return priority;
+    }
+
+    // name:CLASS pairs, e.g. booking-service:CRITICAL (role names in upper case)
+    private static Map<String, PriorityClass> parse(List<String> entries) {
+        Map<String, PriorityClass> classes = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            classes.put(entry.substring(0, separator).trim(), PriorityClass.valueOf(entry.substring(separator + 1).trim().toUpperCase(Locale.ROOT)));
+        }
+        return Map.copyOf(classes);
+    }
+}
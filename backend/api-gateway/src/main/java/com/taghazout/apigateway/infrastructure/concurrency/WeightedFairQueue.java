@@ -0,0 +1,100 @@
+package com.taghazout.apigateway.infrastructure.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * SRP: ONLY orders waiting requests of several priority classes.
+ *
+ * One bounded FIFO per class, served by stride scheduling (weighted fair
+ * queuing for equal-cost requests): each class advances its pass by
+ * STRIDE / weight when served and the non-empty class with the lowest pass
+ * goes next, so backlogged classes get turns in proportion to their weights.
+ * A class that was idle restarts at the current pass instead of spending
+ * credit saved while it had nothing queued.
+ */
+final class WeightedFairQueue<T> {
+
+    private static final long STRIDE = 1L << 20;
+
+    private final ArrayDeque<T>[] queues;
+    private final int[] capacities;
+    private final long[] strides;
+    private final long[] passes;
+    private long currentPass;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    WeightedFairQueue(Map<PriorityClass, Integer> weights, Map<PriorityClass, Integer> capacities) {
+        PriorityClass[] classes = PriorityClass.values();
+        this.queues = new ArrayDeque[classes.length];
+        this.capacities = new int[classes.length];
+        this.strides = new long[classes.length];
+        this.passes = new long[classes.length];
+        for (PriorityClass priority : classes) {
+            int i = priority.ordinal();
+            queues[i] = new ArrayDeque<>();
+            this.capacities[i] = capacities.get(priority);
+            strides[i] = STRIDE / Math.max(1, weights.get(priority));
+        }
+    }
+
+    // false when the class queue is full
+    synchronized boolean offer(PriorityClass priority, T item) {
+        int i = priority.ordinal();
+        if (queues[i].size() >= capacities[i]) {
+            return false;
+        }
+        if (queues[i].isEmpty()) {
+            passes[i] = Math.max(passes[i], currentPass);
+        }
+        queues[i].addLast(item);
+        size++;
+        return true;
+    }
+
+    /**
+     * Next item in fair order among classes for which admit accepts
+     * (admit may reserve capacity: it is called for the returned class only).
+     */
+    synchronized T poll(Predicate<PriorityClass> admit) {
+        PriorityClass[] classes = PriorityClass.values();
+        boolean[] refused = new boolean[classes.length];
+        while (true) {
+            int next = -1;
+            for (int i = 0; i < classes.length; i++) {
+                if (!refused[i] && !queues[i].isEmpty() && (next < 0 || passes[i] < passes[next])) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                return null;
+            }
+            if (!admit.test(classes[next])) {
+                refused[next] = true;
+                continue;
+            }
+            currentPass = passes[next];
+            passes[next] += strides[next];
+            size--;
+            return queues[next].pollFirst();
+        }
+    }
+
+    synchronized boolean remove(PriorityClass priority, T item) {
+        boolean removed = queues[priority.ordinal()].remove(item);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    synchronized int size(PriorityClass priority) {
+        return queues[priority.ordinal()].size();
+    }
+
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,240 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.infrastructure.concurrency.AdaptiveConcurrencyLimiter;
+import com.taghazout.apigateway.infrastructure.concurrency.AdaptiveConcurrencyLimiter.Outcome;
+import com.taghazout.apigateway.infrastructure.concurrency.GradientLimit;
+import com.taghazout.apigateway.infrastructure.concurrency.PriorityClass;
+import com.taghazout.apigateway.infrastructure.concurrency.PriorityClassifier;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SRP: ONLY keeps each upstream service within its adaptive concurrency limit.
+ *
+ * - One limiter per upstream service (routes to the same service share it),
+ *   its limit discovered from RTT by GradientLimit
+ * - Requests are classified by PriorityClassifier (must run after
+ *   JwtAuthenticationFilter); LOW (anonymous) cannot use the reserved share
+ *   of the limit, so it is shed first
+ * - Over the limit: short wait in the class's bounded queue, served by weighted
+ *   fair queuing; full queue or max-wait reached: 503 + Retry-After
+ * - Upstream 429/502/503/504 and errors count as drops and lower the limit
+ * - So do answers whose X-Pool-Saturation (the service's JDBC pool use,
+ *   1 = every connection busy) reaches saturation-threshold: the limit backs
+ *   off before the pool makes callers wait. The header is not passed on
+ * - Runs outside the route's circuit breaker, so it also sees fallback
+ *   answers: a failed upstream call (timeout, error status) is a drop even
+ *   when the fallback serves a cached 200, while an open breaker or full
+ *   bulkhead never reached the upstream and is ignored (its instant 503s
+ *   would otherwise collapse the limit to min-limit)
+ *
+ * Metrics (tag upstream): gauges gateway.concurrency.limit and
+ * gateway.concurrency.inflight, gateway.priority.queue.size{class},
+ * timer gateway.priority.queue.wait{class} and counter
+ * gateway.concurrency.rejected{class,reason=queue_full|timeout}.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyFilter.Config> {
+
+    static final String POOL_SATURATION = "X-Pool-Saturation";
+
+    private final PriorityClassifier classifier;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final int longWindow;
+    private final double reservedShare;
+    private final Map<PriorityClass, Integer> weights;
+    private final Map<PriorityClass, Integer> queueCapacities;
+    private final Duration maxWait;
+    private final double saturationThreshold;
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    AdaptiveConcurrencyFilter(PriorityClassifier classifier,
+                              MeterRegistry meterRegistry,
+                              @Value("${gateway.concurrency.enabled:true}") boolean enabled,
+                              @Value("${gateway.concurrency.initial-limit:50}") int initialLimit,
+                              @Value("${gateway.concurrency.min-limit:10}") int minLimit,
+                              @Value("${gateway.concurrency.max-limit:1000}") int maxLimit,
+                              @Value("${gateway.concurrency.smoothing:0.2}") double smoothing,
+                              @Value("${gateway.concurrency.rtt-tolerance:1.5}") double tolerance,
+                              @Value("${gateway.concurrency.long-window:600}") int longWindow,
+                              @Value("${gateway.concurrency.reserved-share:0.2}") double reservedShare,
+                              @Value("${gateway.priority.weights:CRITICAL:8,HIGH:4,NORMAL:2,LOW:1}") List<String> weights,
+                              @Value("${gateway.priority.queue-capacity:CRITICAL:100,HIGH:100,NORMAL:100,LOW:50}")
+                              List<String> queueCapacities,
+                              @Value("${gateway.priority.max-wait:250ms}") Duration maxWait,
+                              @Value("${gateway.concurrency.saturation-threshold:0.9}") double saturationThreshold) {
+        super(Config.class);
+        this.classifier = classifier;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longWindow = longWindow;
+        this.reservedShare = reservedShare;
+        this.weights = PriorityClass.parse(weights, 1);
+        this.queueCapacities = PriorityClass.parse(queueCapacities, 100);
+        this.maxWait = maxWait;
+        this.saturationThreshold = saturationThreshold;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!enabled) {
+                return chain.filter(exchange);
+            }
+            String upstream = upstream(exchange);
+            AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(upstream, this::create);
+            PriorityClass priority = classifier.classify(exchange, config.isAuthenticated());
+            long queuedAt = System.nanoTime();
+            return limiter.acquire(priority, maxWait).flatMap(admitted -> {
+                long start = System.nanoTime();
+                if (!admitted) {
+                    // Full queues refuse at once, the others after max-wait
+                    return reject(exchange, upstream, priority, start - queuedAt < maxWait.toNanos()
+                            ? "queue_full" : "timeout");
+                }
+                Timer.builder("gateway.priority.queue.wait")
+                        .description("Time admitted requests waited for upstream concurrency")
+                        .tags("upstream", upstream, "class", priority.tag())
+                        .register(meterRegistry)
+                        .record(start - queuedAt, TimeUnit.NANOSECONDS);
+                AtomicBoolean released = new AtomicBoolean();
+                AtomicBoolean saturated = new AtomicBoolean();
+                exchange.getResponse().beforeCommit(() -> {
+                    saturated.set(saturated(exchange.getResponse().getHeaders()));
+                    return Mono.empty();
+                });
+                return chain.filter(exchange)
+                        .doOnSuccess(done -> release(limiter, released, start, outcome(exchange, saturated.get())))
+                        .doOnError(ex -> release(limiter, released, start, Outcome.DROPPED))
+                        .doOnCancel(() -> release(limiter, released, start, Outcome.IGNORED));
+            });
+        };
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String upstream, PriorityClass priority, String reason) {
+        meterRegistry.counter("gateway.concurrency.rejected",
+                "upstream", upstream, "class", priority.tag(), "reason", reason).increment();
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        return RejectionResponseWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable: Upstream at capacity, retry later");
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, AtomicBoolean released, long start, Outcome outcome) {
+        if (released.compareAndSet(false, true)) {
+            limiter.release(System.nanoTime() - start, outcome);
+        }
+    }
+
+    static Outcome outcome(ServerWebExchange exchange, boolean saturated) {
+        Throwable fallbackCause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        if (fallbackCause instanceof CallNotPermittedException || fallbackCause instanceof BulkheadFullException) {
+            return Outcome.IGNORED;
+        }
+        if (fallbackCause != null || saturated) {
+            return Outcome.DROPPED;
+        }
+        return outcome(exchange.getResponse().getStatusCode());
+    }
+
+    static Outcome outcome(HttpStatusCode status) {
+        if (status == null) {
+            return Outcome.SUCCESS;
+        }
+        int code = status.value();
+        return code == 429 || code == 502 || code == 503 || code == 504 ? Outcome.DROPPED : Outcome.SUCCESS;
+    }
+
+    // Read and removed before the response is committed to the client
+    boolean saturated(HttpHeaders headers) {
+        String value = headers.getFirst(POOL_SATURATION);
+        headers.remove(POOL_SATURATION);
+        if (value == null) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(value) >= saturationThreshold;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    // lb://listing-service -> listing-service; static URIs are limited per route
+    private static String upstream(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return "unknown";
+        }
+        return "lb".equals(route.getUri().getScheme()) ? route.getUri().getHost() : route.getId();
+    }
+
+    private AdaptiveConcurrencyLimiter create(String upstream) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new GradientLimit(initialLimit, minLimit, maxLimit, smoothing, tolerance, longWindow),
+                reservedShare, weights, queueCapacities);
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests currently admitted to the upstream")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        for (PriorityClass priority : PriorityClass.values()) {
+            Gauge.builder("gateway.priority.queue.size", limiter, l -> l.queued(priority))
+                    .description("Requests waiting for upstream concurrency")
+                    .tags("upstream", upstream, "class", priority.tag())
+                    .register(meterRegistry);
+        }
+        return limiter;
+    }
+
+    public static class Config {
+
+        // The route validates JWTs, so the identity headers can be trusted
+        private boolean authenticated;
+
+        public Config() {}
+
+        public static Config authenticated() {
+            Config config = new Config();
+            config.setAuthenticated(true);
+            return config;
+        }
+
+        public boolean isAuthenticated() { return authenticated; }
+        public void setAuthenticated(boolean authenticated) { this.authenticated = authenticated; }
+    }
+}
@@ -0,0 +1,207 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.infrastructure.hedging.HedgeBudget;
+import com.taghazout.apigateway.infrastructure.hedging.HedgedUpstreamClient;
+import com.taghazout.apigateway.infrastructure.hedging.LatencyPercentile;
+import com.taghazout.apigateway.infrastructure.singleflight.CapturedResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * SRP: ONLY hedges slow idempotent reads on lb:// routes.
+ *
+ * The request goes to one instance; if it has not answered within the route's
+ * recent p95 (gateway.hedging.percentile, clamped to min/max-delay), the same
+ * request goes to another instance. The first response wins and the other
+ * call is cancelled. Hedges draw on a global HedgeBudget (budget-ratio of all
+ * hedgeable requests), so an overload is never amplified.
+ *
+ * Must be the last filter of its route: it answers the request itself
+ * (responses are buffered, up to max-body-bytes; larger ones go through the
+ * normal routing path).
+ *
+ * Metrics (tag route): gateway.hedging.hedges{outcome=won|lost},
+ * gateway.hedging.budget.exhausted
+ */
+@Component
+public class HedgingFilter extends AbstractGatewayFilterFactory<HedgingFilter.Config> {
+
+    // Per-connection headers of the upstream response that must not be copied
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "transfer-encoding",
+            "content-length", "trailer", "upgrade");
+
+    // Up to 10 hedges can be saved up for a burst of slow requests
+    private static final int MAX_SAVED_HEDGES = 10;
+    private static final int LATENCY_WINDOW = 1000;
+
+    private final HedgedUpstreamClient upstream;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final HedgeBudget budget;
+
+    private final Map<String, LatencyPercentile> latencies = new ConcurrentHashMap<>();
+
+    HedgingFilter(HedgedUpstreamClient upstream,
+                  MeterRegistry meterRegistry,
+                  @Value("${gateway.hedging.enabled:false}") boolean enabled,
+                  @Value("${gateway.hedging.percentile:0.95}") double percentile,
+                  @Value("${gateway.hedging.min-delay:20ms}") Duration minDelay,
+                  @Value("${gateway.hedging.max-delay:1s}") Duration maxDelay,
+                  @Value("${gateway.hedging.budget-ratio:0.05}") double budgetRatio) {
+        super(Config.class);
+        this.upstream = upstream;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.budget = new HedgeBudget(budgetRatio, MAX_SAVED_HEDGES);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (!enabled || route == null || !"lb".equals(route.getUri().getScheme())
+                    || (method != HttpMethod.GET && method != HttpMethod.HEAD)) {
+                return chain.filter(exchange);
+            }
+            budget.onRequest();
+
+            String routeId = route.getId();
+            String serviceId = route.getUri().getHost();
+            LatencyPercentile latency = latencies.computeIfAbsent(routeId,
+                    id -> new LatencyPercentile(percentile, LATENCY_WINDOW));
+
+            return upstream.choose(serviceId, null)
+                    .flatMap(primary -> race(
+                            timed(upstream.send(primary, route, exchange), latency),
+                            () -> upstream.choose(serviceId, primary)
+                                    .flatMap(second -> timed(upstream.send(second, route, exchange), latency)),
+                            delay(latency),
+                            budget,
+                            outcome -> record(routeId, outcome)))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .onErrorResume(HedgingFilter::tooLarge, ex -> Mono.just(Optional.empty()))
+                    // No instance available here, or a body too large to buffer: route it normally
+                    .flatMap(response -> response.isPresent()
+                            ? write(exchange, response.get())
+                            : chain.filter(exchange));
+        };
+    }
+
+    /**
+     * Primary first; after `delay` (if any, and if the budget allows) the hedge too.
+     * First value wins; the other subscription is cancelled.
+     *
+     * @param onHedge told "won" or "lost" for each hedge sent, "exhausted" when the budget said no
+     */
+    static <T> Mono<T> race(Mono<T> primary, Supplier<Mono<T>> hedge, Duration delay, HedgeBudget budget,
+                            Consumer<String> onHedge) {
+        if (delay == null) {
+            return primary;
+        }
+        Mono<T> delayedHedge = Mono.delay(delay).flatMap(tick -> {
+            if (!budget.tryAcquire()) {
+                onHedge.accept("exhausted");
+                return Mono.<T>empty();
+            }
+            return hedge.get()
+                    .doOnNext(value -> onHedge.accept("won"))
+                    .doOnCancel(() -> onHedge.accept("lost"));
+        });
+        return Mono.firstWithValue(primary, delayedHedge);
+    }
+
+    private static boolean tooLarge(Throwable failure) {
+        if (failure instanceof DataBufferLimitException) {
+            return true;
+        }
+        // Both calls failed: Mono.firstWithValue reports their errors as suppressed
+        for (Throwable suppressed : failure.getSuppressed()) {
+            if (suppressed instanceof DataBufferLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records every attempt, the cancelled loser included (its time so far, a
+     * lower bound): sampling only winners would pull the percentile, and so
+     * the hedge delay, down.
+     */
+    static <T> Mono<T> timed(Mono<T> call, LatencyPercentile latency) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnNext(response -> latency.record(System.nanoTime() - start))
+                    .doOnCancel(() -> latency.record(System.nanoTime() - start));
+        });
+    }
+
+    // Null until the route has enough samples: no hedging blind
+    private Duration delay(LatencyPercentile latency) {
+        long nanos = latency.nanos();
+        if (nanos < 0) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(minDelay.toNanos(), Math.min(maxDelay.toNanos(), nanos)));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CapturedResponse upstreamResponse) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        upstreamResponse.headers().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+        response.setStatusCode(HttpStatusCode.valueOf(upstreamResponse.status()));
+        headers.setContentLength(upstreamResponse.body().length);
+        if (exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(upstreamResponse.body())));
+    }
+
+    private void record(String routeId, String outcome) {
+        if ("exhausted".equals(outcome)) {
+            meterRegistry.counter("gateway.hedging.budget.exhausted", "route", routeId).increment();
+        } else {
+            meterRegistry.counter("gateway.hedging.hedges", "route", routeId, "outcome", outcome).increment();
+        }
+    }
+
+    public static class Config {
+
+        public Config() {}
+    }
+}
@@ -3,84 +3,90 @@ package com.taghazout.apigateway.infrastructure.filter;
 import com.taghazout.apigateway.application.dto.AuthResponse;
 import com.taghazout.apigateway.domain.exception.JwtValidationException;
 import com.taghazout.apigateway.domain.service.JwtValidator;
+import com.taghazout.apigateway.infrastructure.logging.RequestLogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+/**
+ * Validates the bearer token of secured routes and forwards the caller identity.
+ *
+ * Logging stays off the hot path:
+ * - DEBUG details are only built when DEBUG is enabled for this logger
+ *   (toggle at runtime: POST /actuator/loggers/{this class})
+ * - One structured INFO line (event, route, outcome, reason) for a sample
+ *   of requests, see RequestLogSampler
+ *
+ * Metrics: gateway.jwt.rejected{route,reason} for every rejection; reasons are
+ * missing_header, empty_token, internal_error or a JwtValidationException.Reason.
+ */
 @Component
 public final class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtValidator jwtValidator;
     private final RouteValidator routeValidator;
+    private final RequestLogSampler logSampler;
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(JwtValidator jwtValidator, RouteValidator routeValidator) {
+    public JwtAuthenticationFilter(JwtValidator jwtValidator, RouteValidator routeValidator,
+                                   RequestLogSampler logSampler, MeterRegistry meterRegistry) {
         super(Config.class);
         this.jwtValidator = jwtValidator;
         this.routeValidator = routeValidator;
-
-        // Debugging steps
-        System.out.println("🟢 JwtAuthenticationFilter CONSTRUCTOR CALLED - Filter is loaded!");
-
+        this.logSampler = logSampler;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
 
-            System.out.println("🔵 STEP 1: Filter processing request: " + exchange.getRequest().getPath().value());
-
             if (!routeValidator.isSecured(exchange.getRequest())) {
-                System.out.println("🟢 Open endpoint - skipping auth");
+                log.trace("Open endpoint, skipping authentication: {}", exchange.getRequest().getPath());
                 return chain.filter(exchange);
             }
 
-            System.out.println("🔴 Secured endpoint - checking auth");
-
-
-            System.out.println("🔴 STEP 4: Secured endpoint - checking authentication");
-
             String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
-            System.out.println("🔵 STEP 5: Authorization header: " + authHeader);
-
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-
-                System.out.println("🔴 STEP 6: Missing or invalid Authorization header");
-                return reject(exchange, HttpStatus.UNAUTHORIZED, "Missing or invalid Authorization header");
+                return reject(exchange, HttpStatus.UNAUTHORIZED, "missing_header", "Missing or invalid Authorization header");
             }
 
             String token = authHeader.substring(7);
-            System.out.println("🔵 STEP 7: Token extracted (first 10 chars): " +
-                    (token.length() > 10 ? token.substring(0, 10) + "..." : token));
 
             if (token.isEmpty()) {
-                System.out.println("🔴 STEP 8: Empty token");
-                return reject(exchange, HttpStatus.UNAUTHORIZED, "Empty token");
+                return reject(exchange, HttpStatus.UNAUTHORIZED, "empty_token", "Empty token");
             }
 
-
-            System.out.println("🔵 STEP 9: Starting token validation...");
-
             // Move blocking operation to bounded elastic scheduler
             return Mono.fromCallable(() -> jwtValidator.validateToken(token))
                     .subscribeOn(Schedulers.boundedElastic())
                     .publishOn(Schedulers.parallel()) // Return to parallel for non-blocking work
                     .flatMap(principal -> {
+                        logOutcome(exchange, "accepted", null);
                         ServerWebExchange enriched = enrichExchange(exchange, principal);
                         return chain.filter(enriched);
                     })
                     .onErrorResume(error -> {
-                        if (error instanceof JwtValidationException) {
-                            System.out.println("🔴 JWT validation failed: " + error.getMessage());
-                            return reject(exchange, HttpStatus.UNAUTHORIZED, error.getMessage());
+                        if (error instanceof JwtValidationException invalid) {
+                            return reject(exchange, HttpStatus.UNAUTHORIZED, invalid.getReason().tag(),
+                                    invalid.getMessage());
                         } else {
                             // Log internal errors but don't expose details to client
-                            return reject(exchange, HttpStatus.INTERNAL_SERVER_ERROR,
+                            log.error("Token validation failed unexpectedly", error);
+                            return reject(exchange, HttpStatus.INTERNAL_SERVER_ERROR, "internal_error",
                                     "Authentication service unavailable");
                         }
                     });
@@ -91,45 +97,54 @@ public final class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<
                                              com.taghazout.apigateway.domain.model.UserPrincipal principal) {
         return exchange.mutate()
                 .request(r -> r.headers(h -> {
-                    h.add("X-User-Id", principal.userId());
-                    h.add("X-User-Email", principal.email());
-                    h.add("X-User-Roles", String.join(",", principal.roles()));
+                    // set, not add: identity headers sent by the client must not survive
+                    h.set("X-User-Id", principal.userId());
+                    h.set("X-User-Email", principal.email());
+                    h.set("X-User-Roles", String.join(",", principal.roles()));
                 }))
                 .build();
     }
 
-    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String reason) {
-
-        // For Debugging purposes
-        System.out.println("🔴 REJECTING REQUEST: " + reason);
-        System.out.println("🔴 Path: " + exchange.getRequest().getPath().value());
-
-
-        exchange.getResponse().setStatusCode(status);
-        exchange.getResponse().getHeaders().add("Content-Type", "application/json");
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, String reasonTag, String reason) {
+        if (log.isDebugEnabled()) {
+            log.debug("Rejecting {} with {}: {}", exchange.getRequest().getPath().value(), status.value(), reason);
+        }
+        logOutcome(exchange, "rejected", reason);
+        meterRegistry.counter("gateway.jwt.rejected", "route", routeId(exchange), "reason", reasonTag).increment();
 
-        // ✅ Use factory methods for consistent responses
-        AuthResponse authResponse;
+        // Pre-encoded body: rejection waves (expired tokens, attacks) must stay cheap
+        String message;
         if (status == HttpStatus.UNAUTHORIZED) {
-            authResponse = AuthResponse.unauthorized(exchange.getRequest().getPath().value());
-            byte[] jsonBytes = authResponse.toJsonBytes();
-
-            System.out.println("🔴 JSON Response: " + new String(jsonBytes));
+            message = AuthResponse.UNAUTHORIZED_MESSAGE;
         } else if (status == HttpStatus.FORBIDDEN) {
-            authResponse = AuthResponse.forbidden(exchange.getRequest().getPath().value());
+            message = AuthResponse.FORBIDDEN_MESSAGE;
         } else {
-            authResponse = AuthResponse.of(reason, exchange.getRequest().getPath().value(), status.value());
+            message = reason;
         }
-
-        return exchange.getResponse().writeWith(
-                Mono.just(exchange.getResponse().bufferFactory().wrap(
-                        authResponse.toJsonBytes()
-                ))
-        );
+        return RejectionResponseWriter.write(exchange, status, message);
     }
 
+    private void logOutcome(ServerWebExchange exchange, String outcome, String reason) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        if (!log.isInfoEnabled() || !logSampler.sample(routeId)) {
+            return;
+        }
+        log.atInfo()
+                .setMessage("Authentication {}")
+                .addArgument(outcome)
+                .addKeyValue("event", "auth")
+                .addKeyValue("route", routeId)
+                .addKeyValue("path", exchange.getRequest().getPath().value())
+                .addKeyValue("outcome", outcome)
+                .addKeyValue("reason", reason)
+                .log();
+    }
 
-
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
 
     public static class Config {
 
@@ -0,0 +1,182 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import com.taghazout.apigateway.domain.service.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SRP: ONLY throttles login attempts before they reach auth-service.
+ *
+ * Two token buckets per attempt, both must have a token:
+ * - per client IP: stops one source from spraying many accounts
+ * - per account (SHA-256 of the normalized email): stops credential stuffing
+ *   against one account from many sources
+ *
+ * Rejected attempts get 429 + Retry-After and never cost a BCrypt check.
+ * Bodies without a Content-Length (chunked, some HTTP/2 clients) are read up
+ * to MAX_BODY_BYTES only; larger ones get 413 instead of being buffered.
+ * The client IP is the socket remote address: X-Forwarded-For is client
+ * controlled and must only be trusted behind a known proxy.
+ */
+@Component
+public class LoginRateLimitFilter extends AbstractGatewayFilterFactory<LoginRateLimitFilter.Config> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // Login bodies are tiny; anything bigger is not parsed for the email
+    private static final int MAX_BODY_BYTES = 4096;
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicy ipPolicy;
+    private final RateLimitPolicy emailPolicy;
+    private final boolean enabled;
+    private final Counter rejected;
+
+    LoginRateLimitFilter(RateLimiter rateLimiter,
+                         MeterRegistry meterRegistry,
+                         @Value("${gateway.login-rate-limit.ip.capacity:20}") long ipCapacity,
+                         @Value("${gateway.login-rate-limit.ip.refill-per-minute:10}") double ipRefillPerMinute,
+                         @Value("${gateway.login-rate-limit.email.capacity:5}") long emailCapacity,
+                         @Value("${gateway.login-rate-limit.email.refill-per-minute:2}") double emailRefillPerMinute,
+                         @Value("${gateway.login-rate-limit.enabled:true}") boolean enabled) {
+        super(Config.class);
+        this.rateLimiter = rateLimiter;
+        this.ipPolicy = RateLimitPolicy.perMinute(ipCapacity, ipRefillPerMinute);
+        this.emailPolicy = RateLimitPolicy.perMinute(emailCapacity, emailRefillPerMinute);
+        this.enabled = enabled;
+        this.rejected = Counter.builder("gateway.login.rate_limited")
+                .description("Login attempts rejected by the gateway rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!enabled) {
+                return chain.filter(exchange);
+            }
+            long contentLength = exchange.getRequest().getHeaders().getContentLength();
+            if (contentLength > MAX_BODY_BYTES) {
+                return limit(exchange, chain, null);
+            }
+            if (contentLength < 0) {
+                return limitUnsized(exchange, chain);
+            }
+            return limitCached(exchange, chain);
+        };
+    }
+
+    // The body is cached so it can be read here and still be forwarded
+    private Mono<Void> limitCached(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return ServerWebExchangeUtils.cacheRequestBody(exchange, request -> {
+            ServerWebExchange cached = exchange.mutate().request(request).build();
+            DataBuffer body = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+            return limit(cached, chain, extractEmail(body));
+        });
+    }
+
+    // No declared length: join at most MAX_BODY_BYTES, then cache the joined buffer as usual
+    private Mono<Void> limitUnsized(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return DataBufferUtils.join(exchange.getRequest().getBody(), MAX_BODY_BYTES)
+                .map(body -> exchange.mutate().request(new ServerHttpRequestDecorator(exchange.getRequest()) {
+                    @Override
+                    public Flux<DataBuffer> getBody() {
+                        return Flux.just(body);
+                    }
+                }).build())
+                .defaultIfEmpty(exchange)
+                .flatMap(sized -> limitCached(sized, chain))
+                .onErrorResume(DataBufferLimitException.class, ex -> RejectionResponseWriter.write(
+                        exchange, HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large: Login body is too large"));
+    }
+
+    private Mono<Void> limit(ServerWebExchange exchange, GatewayFilterChain chain, String email) {
+        Map<String, RateLimitPolicy> buckets = new LinkedHashMap<>();
+        buckets.put("rl:login:ip:" + clientIp(exchange), ipPolicy);
+        if (email != null) {
+            buckets.put("rl:login:email:" + sha256(email), emailPolicy);
+        }
+
+        return rateLimiter.tryAcquire(buckets)
+                .flatMap(decision -> decision.allowed()
+                        ? chain.filter(exchange)
+                        : reject(exchange, decision));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RateLimitDecision decision) {
+        rejected.increment();
+
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(decision.retryAfterSeconds()));
+        return RejectionResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests: Too many login attempts, retry later");
+    }
+
+    static String extractEmail(DataBuffer body) {
+        if (body == null || body.readableByteCount() == 0 || body.readableByteCount() > MAX_BODY_BYTES) {
+            return null;
+        }
+        try {
+            // toString does not move the read position: the body is still forwarded intact
+            JsonNode email = OBJECT_MAPPER.readTree(body.toString(StandardCharsets.UTF_8)).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (Exception ex) {
+            // Malformed bodies are auth-service's business (400); only the IP bucket applies
+            return null;
+        }
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    // Raw emails never end up as Redis keys
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class Config {
+
+        public Config() {}
+    }
+}
@@ -0,0 +1,158 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import com.taghazout.apigateway.infrastructure.ratelimit.SlidingWindowRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SRP: ONLY throttles requests per route and per client.
+ *
+ * Per-route policy: requests per second, burst, and who is a "client":
+ * - USER: X-User-Id set by JwtAuthenticationFilter (must run after it; the
+ *   header is client controlled on routes without JWT validation)
+ * - IP: socket remote address
+ * - API_KEY: X-API-Key header
+ * Requests without the chosen identity are limited by IP.
+ *
+ * Metrics (tag route), registered once per route and not per request:
+ * - gateway.ratelimit.decision: limiter decision latency (tag outcome:
+ *   allowed | rejected)
+ * - gateway.ratelimit.rejected: requests answered with 429
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final SlidingWindowRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    RateLimitFilter(SlidingWindowRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RateLimitPolicy policy = new RateLimitPolicy(config.getBurst(), config.getRequestsPerSecond());
+        // The route is only known per exchange; one config can serve several routes
+        Map<String, RouteMeters> metersByRoute = new ConcurrentHashMap<>();
+        return (exchange, chain) -> {
+            String routeId = routeId(exchange);
+            String key = routeId + ":" + resolveClient(exchange, config.getRateLimitKey());
+
+            long start = System.nanoTime();
+            RateLimitDecision decision = rateLimiter.tryAcquire(key, policy);
+            long elapsed = System.nanoTime() - start;
+            RouteMeters meters = metersByRoute.computeIfAbsent(routeId, this::routeMeters);
+
+            if (decision.allowed()) {
+                meters.allowed().record(elapsed, TimeUnit.NANOSECONDS);
+                return chain.filter(exchange);
+            }
+            meters.rejected().record(elapsed, TimeUnit.NANOSECONDS);
+            meters.rejections().increment();
+            return reject(exchange, decision);
+        };
+    }
+
+    private RouteMeters routeMeters(String routeId) {
+        return new RouteMeters(
+                decisionTimer(routeId, "allowed"),
+                decisionTimer(routeId, "rejected"),
+                Counter.builder("gateway.ratelimit.rejected")
+                        .tag("route", routeId)
+                        .register(meterRegistry));
+    }
+
+    private Timer decisionTimer(String routeId, String outcome) {
+        return Timer.builder("gateway.ratelimit.decision")
+                .description("Rate limiter decision latency")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    static String resolveClient(ServerWebExchange exchange, RateLimitKey rateLimitKey) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (rateLimitKey == RateLimitKey.USER) {
+            String userId = headers.getFirst("X-User-Id");
+            if (userId != null && !userId.isBlank()) {
+                return "user:" + userId;
+            }
+        } else if (rateLimitKey == RateLimitKey.API_KEY) {
+            String apiKey = headers.getFirst(API_KEY_HEADER);
+            if (apiKey != null && !apiKey.isBlank()) {
+                return "key:" + LoginRateLimitFilter.sha256(apiKey);
+            }
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + (remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RateLimitDecision decision) {
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(decision.retryAfterSeconds()));
+        return RejectionResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests: Rate limit exceeded");
+    }
+
+    private record RouteMeters(Timer allowed, Timer rejected, Counter rejections) {}
+
+    // Not Spring Cloud Gateway's KeyResolver: a fixed choice of client identity
+    public enum RateLimitKey {
+        USER,
+        IP,
+        API_KEY
+    }
+
+    public static class Config {
+
+        private double requestsPerSecond = 10;
+        private long burst = 20;
+        private RateLimitKey rateLimitKey = RateLimitKey.IP;
+
+        public Config() {}
+
+        public static Config of(double requestsPerSecond, long burst, RateLimitKey rateLimitKey) {
+            Config config = new Config();
+            config.setRequestsPerSecond(requestsPerSecond);
+            config.setBurst(burst);
+            config.setRateLimitKey(rateLimitKey);
+            return config;
+        }
+
+        public double getRequestsPerSecond() { return requestsPerSecond; }
+        public void setRequestsPerSecond(double requestsPerSecond) { this.requestsPerSecond = requestsPerSecond; }
+        public long getBurst() { return burst; }
+        public void setBurst(long burst) { this.burst = burst; }
+        public RateLimitKey getRateLimitKey() { return rateLimitKey; }
+        public void setRateLimitKey(RateLimitKey rateLimitKey) { this.rateLimitKey = rateLimitKey; }
+    }
+}
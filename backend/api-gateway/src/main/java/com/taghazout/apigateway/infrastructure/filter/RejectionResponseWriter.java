@@ -0,0 +1,164 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY writes gateway rejection bodies (401, 403, 429, ...).
+ *
+ * Same JSON as AuthResponse (message, path, status, timestamp) without Jackson:
+ * - the constant parts of each (status, message) pair are encoded once:
+ *   {"message":"..","path":"  <path>  ","status":401,"timestamp":"  <time>  "}
+ * - the timestamp is formatted at most once per millisecond
+ * - the body is assembled directly in a buffer from the response factory
+ *   (pooled on Netty)
+ */
+public final class RejectionResponseWriter {
+
+    // Rejection messages come from a small fixed set; the bound only guards against unusual ones
+    private static final int MAX_TEMPLATES = 256;
+
+    private static final byte[] MESSAGE_PREFIX = ascii("{\"message\":\"");
+    private static final byte[] PATH_PREFIX = ascii("\",\"path\":\"");
+    private static final byte[] STATUS_PREFIX = ascii("\",\"status\":");
+    private static final byte[] TIMESTAMP_PREFIX = ascii(",\"timestamp\":\"");
+    private static final byte[] SUFFIX = ascii("\"}");
+
+    private static final Map<HttpStatus, Map<String, Template>> TEMPLATES = new ConcurrentHashMap<>();
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static volatile CachedTimestamp timestamp = new CachedTimestamp(Long.MIN_VALUE, new byte[0]);
+
+    private RejectionResponseWriter() {
+    }
+
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        return write(exchange, status, message, exchange.getRequest().getPath().value());
+    }
+
+    // For answers on behalf of another path (e.g. circuit breaker fallbacks)
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message, String path) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        DataBuffer body = encode(response.bufferFactory(), status, message, path);
+        response.getHeaders().set(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.readableByteCount()));
+        return response.writeWith(Mono.just(body));
+    }
+
+    static DataBuffer encode(DataBufferFactory factory, HttpStatus status, String message, String path) {
+        Template template = template(status, message);
+        byte[] pathBytes = escape(path);
+        byte[] time = timestamp(System.currentTimeMillis());
+
+        DataBuffer buffer = factory.allocateBuffer(template.head().length + pathBytes.length
+                + template.tail().length + time.length + SUFFIX.length);
+        buffer.write(template.head());
+        buffer.write(pathBytes);
+        buffer.write(template.tail());
+        buffer.write(time);
+        buffer.write(SUFFIX);
+        return buffer;
+    }
+
+    private static Template template(HttpStatus status, String message) {
+        Map<String, Template> byMessage = TEMPLATES.computeIfAbsent(status, s -> new ConcurrentHashMap<>());
+        Template cached = byMessage.get(message);
+        if (cached != null) {
+            return cached;
+        }
+        Template template = new Template(
+                concat(MESSAGE_PREFIX, escape(message), PATH_PREFIX),
+                concat(STATUS_PREFIX, ascii(Integer.toString(status.value())), TIMESTAMP_PREFIX));
+        if (byMessage.size() < MAX_TEMPLATES) {
+            byMessage.put(message, template);
+        }
+        return template;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    private static byte[] timestamp(long nowMillis) {
+        CachedTimestamp cached = timestamp;
+        if (cached.millis() == nowMillis) {
+            return cached.bytes();
+        }
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), ZONE).truncatedTo(ChronoUnit.MILLIS);
+        byte[] bytes = ascii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(now));
+        timestamp = new CachedTimestamp(nowMillis, bytes);
+        return bytes;
+    }
+
+    // JSON string escaping; request paths are percent-encoded so the fast path is the common one
+    static byte[] escape(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        boolean plain = true;
+        for (int i = 0; i < value.length() && plain; i++) {
+            char c = value.charAt(i);
+            plain = c >= 0x20 && c != '"' && c != '\\';
+        }
+        if (plain) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Bytes before and after the path
+    private record Template(byte[] head, byte[] tail) {
+    }
+
+    private record CachedTimestamp(long millis, byte[] bytes) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.infrastructure.cache.CachedResponse;
+import com.taghazout.apigateway.infrastructure.cache.LocalResponseCache;
+import com.taghazout.apigateway.infrastructure.cache.RedisResponseCache;
+import com.taghazout.apigateway.infrastructure.cache.ResponseRevalidator;
+import com.taghazout.apigateway.infrastructure.singleflight.CapturingResponseDecorator;
+import com.taghazout.apigateway.infrastructure.singleflight.SingleFlightGroup;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SRP: ONLY serves anonymous GETs from the gateway response cache.
+ *
+ * - Key: normalized path + sorted raw query (requests with Authorization bypass the cache)
+ * - Requests carrying the bypass cookie bypass it too: the upstream set it on a write,
+ *   and that client must read its own writes, not a copy cached before them
+ * - Freshness from the upstream Cache-Control (max-age, stale-while-revalidate);
+ *   If-None-Match matching the cached ETag is answered with 304
+ * - Stale entries are served immediately while one background request revalidates them
+ * - Concurrent misses for the same key wait for a single upstream call
+ * - Tiers: bounded in-memory LRU, then (optional) Redis shared by all replicas
+ * - Every GET's key is left in the CACHE_KEY_ATTR exchange attribute for FallbackController:
+ *   a breaker fallback is forwarded to another path, so the key can no longer be derived
+ *
+ * Metrics: gateway.cache.requests{route,result=hit|stale|miss|coalesced|bypass},
+ * gateway.cache.hit.ratio, plus the LocalResponseCache size gauges.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    public static final String CACHE_KEY_ATTR = ResponseCacheFilter.class.getName() + ".cacheKey";
+
+    private final LocalResponseCache localCache;
+    private final RedisResponseCache sharedCache;
+    private final ResponseRevalidator revalidator;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long defaultTtlMillis;
+    private final Duration followerTimeout;
+    private final String bypassCookie;
+
+    private final SingleFlightGroup<CachedResponse> misses = new SingleFlightGroup<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    ResponseCacheFilter(LocalResponseCache localCache,
+                        RedisResponseCache sharedCache,
+                        ResponseRevalidator revalidator,
+                        MeterRegistry meterRegistry,
+                        @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                        @Value("${gateway.response-cache.default-ttl:0s}") Duration defaultTtl,
+                        @Value("${gateway.response-cache.follower-timeout:5s}") Duration followerTimeout,
+                        @Value("${gateway.response-cache.bypass-cookie:recent_write}") String bypassCookie) {
+        super(Config.class);
+        this.localCache = localCache;
+        this.sharedCache = sharedCache;
+        this.revalidator = revalidator;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultTtlMillis = defaultTtl.toMillis();
+        this.followerTimeout = followerTimeout;
+        this.bypassCookie = bypassCookie;
+        Gauge.builder("gateway.cache.hit.ratio", this, ResponseCacheFilter::hitRatio)
+                .description("Share of cacheable requests answered from the cache (fresh or stale)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                record(exchange, "bypass");
+                return chain.filter(exchange);
+            }
+            String key = cacheKey(request);
+            exchange.getAttributes().put(CACHE_KEY_ATTR, key);
+            if (!enabled || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                    || request.getCookies().containsKey(bypassCookie)) {
+                record(exchange, "bypass");
+                return chain.filter(exchange);
+            }
+
+            long now = System.currentTimeMillis();
+            CachedResponse local = localCache.get(key, now);
+            Mono<CachedResponse> lookup = local != null
+                    ? Mono.just(local)
+                    : sharedCache.get(key).doOnNext(shared -> localCache.put(key, shared));
+
+            return lookup
+                    .filter(entry -> entry.isUsable(System.currentTimeMillis()))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(entry -> {
+                        if (entry.isEmpty()) {
+                            return fetch(exchange, chain, key);
+                        }
+                        if (entry.get().isFresh(System.currentTimeMillis())) {
+                            return serve(exchange, entry.get(), "hit");
+                        }
+                        revalidateInBackground(exchange, key, entry.get());
+                        return serve(exchange, entry.get(), "stale");
+                    });
+        };
+    }
+
+    /**
+     * Miss: the first request for a key goes upstream and captures the response,
+     * concurrent requests for the same key wait for it.
+     */
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        SingleFlightGroup.Flight<CachedResponse> flight = misses.begin(key);
+
+        if (!flight.isLeader()) {
+            return flight.result()
+                    .timeout(followerTimeout)
+                    .map(Optional::of)
+                    .onErrorResume(ex -> Mono.just(Optional.empty()))
+                    .defaultIfEmpty(Optional.empty())
+                    // Not cacheable or too slow: this request goes upstream on its own
+                    .flatMap(entry -> entry.isPresent()
+                            ? serve(exchange, entry.get(), "coalesced")
+                            : chain.filter(exchange));
+        }
+
+        record(exchange, "miss");
+        ServerHttpResponse capturing = new CapturingResponseDecorator(exchange.getResponse(),
+                localCache.maxEntryBytes(),
+                ResponseCacheFilter::markMiss,
+                captured -> {
+                    CachedResponse entry = CachedResponse.from(captured.status(), captured.headers(),
+                            captured.body(), System.currentTimeMillis(), defaultTtlMillis);
+                    if (entry != null) {
+                        store(key, entry);
+                        flight.complete(entry);
+                    } else {
+                        flight.abandon();
+                    }
+                },
+                flight::abandon);
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> misses.end(flight));
+    }
+
+    // Only 200s are cached
+    private static boolean markMiss(ServerHttpResponse response) {
+        if (response.getStatusCode() == null || response.getStatusCode().value() != 200) {
+            return false;
+        }
+        response.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+        return true;
+    }
+
+    private void revalidateInBackground(ServerWebExchange exchange, String key, CachedResponse stale) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String pathAndQuery = exchange.getRequest().getURI().getRawPath()
+                + (exchange.getRequest().getURI().getRawQuery() != null
+                        ? "?" + exchange.getRequest().getURI().getRawQuery() : "");
+        revalidator.revalidate(route != null ? route.getUri() : null, pathAndQuery, stale, defaultTtlMillis)
+                .doOnNext(fresh -> store(key, fresh))
+                .doOnError(ex -> log.debug("Revalidation of {} failed: {}", key, ex.toString()))
+                .onErrorResume(ex -> Mono.empty())
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe();
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse entry, String result) {
+        record(exchange, result);
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        entry.headers().forEach(headers::put);
+        headers.set(HttpHeaders.AGE, Long.toString(Math.max(0, System.currentTimeMillis() - entry.storedAt()) / 1000));
+        headers.set(CACHE_STATUS_HEADER, result.toUpperCase(Locale.ROOT));
+
+        String etag = entry.etag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(entry.status()));
+        headers.setContentLength(entry.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.body())));
+    }
+
+    private void store(String key, CachedResponse entry) {
+        if (localCache.put(key, entry)) {
+            sharedCache.put(key, entry, System.currentTimeMillis());
+        }
+    }
+
+    private void record(ServerWebExchange exchange, String result) {
+        if (!"bypass".equals(result)) {
+            lookups.incrementAndGet();
+            if (!"miss".equals(result)) {
+                hits.incrementAndGet();
+            }
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        meterRegistry.counter("gateway.cache.requests",
+                "route", route != null ? route.getId() : "unknown", "result", result).increment();
+    }
+
+    private double hitRatio() {
+        long total = lookups.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    /**
+     * Normalized path (no duplicate or trailing slashes) + query parameters in sorted order,
+     * so /listings/?b=2&a=1 and /listings?a=1&b=2 share an entry.
+     */
+    static String cacheKey(ServerHttpRequest request) {
+        String path = request.getURI().getRawPath().replaceAll("/{2,}", "/");
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        String query = request.getURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return path;
+        }
+        String[] params = query.split("&");
+        Arrays.sort(params);
+        return path + "?" + String.join("&", params);
+    }
+
+    public static class Config {
+
+        public Config() {}
+    }
+}
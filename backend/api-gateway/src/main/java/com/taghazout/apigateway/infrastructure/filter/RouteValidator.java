@@ -1,5 +1,7 @@
 package com.taghazout.apigateway.infrastructure.filter;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.util.AntPathMatcher;
@@ -14,12 +16,14 @@ import java.util.Objects;
 @Component
 public final class RouteValidator {
 
+    private static final Logger log = LoggerFactory.getLogger(RouteValidator.class);
+
     private final List<String> openEndpoints;
     private final PathMatcher pathMatcher = new AntPathMatcher();
 
     public RouteValidator(List<String> openEndpoints) {
         this.openEndpoints = validateAndCopy(openEndpoints);
-        System.out.println("🟢 RouteValidator loaded with open endpoints: " + openEndpoints);
+        log.info("RouteValidator loaded with open endpoints: {}", this.openEndpoints);
 
     }
 
@@ -104,7 +108,7 @@ public final class RouteValidator {
                 .toList();
 
         if (validated.size() != endpoints.size()) {
-            System.out.println("⚠️ Filtered out invalid open endpoints");
+            log.warn("Filtered out {} invalid open endpoints", endpoints.size() - validated.size());
         }
 
         return Collections.unmodifiableList(validated);
@@ -0,0 +1,198 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.infrastructure.singleflight.CapturedResponse;
+import com.taghazout.apigateway.infrastructure.singleflight.CapturingResponseDecorator;
+import com.taghazout.apigateway.infrastructure.singleflight.SingleFlightGroup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY merges identical concurrent GET/HEAD requests into one upstream call.
+ *
+ * - Key: method + normalized path + sorted query + the key headers
+ *   (Accept*, Authorization, Cookie by default), so users never share responses
+ * - The first request (leader) streams to its client while a copy is buffered;
+ *   requests arriving meanwhile (followers) get that copy
+ * - Bounded: bodies over max-body-bytes and responses setting cookies are not shared
+ * - Followers wait at most max-wait; a follower whose client goes away stops waiting.
+ *   When the leader cannot share (error, too big, client gone) followers go
+ *   upstream themselves
+ *
+ * Metrics (tag route): gateway.singleflight.requests{result=leader|follower|fallback},
+ * gateway.singleflight.waiters (followers per leader), gateway.singleflight.upstream.saved,
+ * plus gauge gateway.singleflight.inflight.
+ */
+@Component
+public class SingleFlightFilter extends AbstractGatewayFilterFactory<SingleFlightFilter.Config> {
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(HttpMethod.GET, HttpMethod.HEAD);
+
+    // Per-connection headers of the leader's response that must not be replayed
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "keep-alive", "transfer-encoding",
+            "content-length", "trailer", "upgrade");
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxBodyBytes;
+    private final Duration maxWait;
+    private final List<String> keyHeaders;
+
+    private final SingleFlightGroup<CapturedResponse> flights = new SingleFlightGroup<>();
+
+    SingleFlightFilter(MeterRegistry meterRegistry,
+                       @Value("${gateway.single-flight.enabled:true}") boolean enabled,
+                       @Value("${gateway.single-flight.max-body-bytes:1MB}") DataSize maxBodyBytes,
+                       @Value("${gateway.single-flight.max-wait:5s}") Duration maxWait,
+                       @Value("${gateway.single-flight.key-headers:Accept,Accept-Encoding,Accept-Language,Authorization,Cookie}")
+                       List<String> keyHeaders) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyBytes.toBytes();
+        this.maxWait = maxWait;
+        this.keyHeaders = List.copyOf(keyHeaders);
+        Gauge.builder("gateway.singleflight.inflight", flights, SingleFlightGroup::inFlight)
+                .description("Upstream calls currently shared by concurrent requests")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Map<String, RouteMeters> metersByRoute = new ConcurrentHashMap<>();
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!enabled || !IDEMPOTENT.contains(request.getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            RouteMeters meters = metersByRoute.computeIfAbsent(routeId(exchange), this::routeMeters);
+            SingleFlightGroup.Flight<CapturedResponse> flight = flights.begin(flightKey(request, keyHeaders));
+            if (!flight.isLeader()) {
+                return follow(exchange, chain, flight, meters);
+            }
+
+            meters.leaders().increment();
+            ServerHttpResponse capturing = new CapturingResponseDecorator(exchange.getResponse(), maxBodyBytes,
+                    SingleFlightFilter::shareable, flight::complete, flight::abandon);
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    // Before completion is signalled, so the metrics are in place once the response is
+                    .doOnTerminate(() -> land(flight, meters))
+                    .doOnCancel(() -> land(flight, meters));
+        };
+    }
+
+    private void land(SingleFlightGroup.Flight<CapturedResponse> flight, RouteMeters meters) {
+        flights.end(flight);
+        meters.waiters().record(flight.waiters());
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain,
+                              SingleFlightGroup.Flight<CapturedResponse> flight, RouteMeters meters) {
+        return flight.result()
+                .timeout(maxWait)
+                .map(Optional::of)
+                .onErrorResume(ex -> Mono.just(Optional.empty()))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        meters.fallbacks().increment();
+                        return chain.filter(exchange);
+                    }
+                    meters.followers().increment();
+                    meters.saved().increment();
+                    return replay(exchange, shared.get());
+                });
+    }
+
+    private static Mono<Void> replay(ServerWebExchange exchange, CapturedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+        response.setStatusCode(HttpStatusCode.valueOf(shared.status()));
+        headers.setContentLength(shared.body().length);
+        if (exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    // A response setting cookies belongs to one client even when the requests look the same
+    private static boolean shareable(ServerHttpResponse response) {
+        return !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE);
+    }
+
+    private RouteMeters routeMeters(String routeId) {
+        return new RouteMeters(
+                requests(routeId, "leader"),
+                requests(routeId, "follower"),
+                requests(routeId, "fallback"),
+                Counter.builder("gateway.singleflight.upstream.saved")
+                        .tag("route", routeId)
+                        .register(meterRegistry),
+                DistributionSummary.builder("gateway.singleflight.waiters")
+                        .description("Requests that waited on each upstream call")
+                        .tag("route", routeId)
+                        .register(meterRegistry));
+    }
+
+    private Counter requests(String routeId, String result) {
+        return Counter.builder("gateway.singleflight.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    static String flightKey(ServerHttpRequest request, List<String> keyHeaders) {
+        StringBuilder key = new StringBuilder(request.getMethod().name())
+                .append(' ')
+                .append(ResponseCacheFilter.cacheKey(request));
+        HttpHeaders headers = request.getHeaders();
+        for (String name : keyHeaders) {
+            List<String> values = headers.get(name);
+            key.append('\n').append(values != null ? String.join(",", values) : "");
+        }
+        return key.toString();
+    }
+
+    private record RouteMeters(Counter leaders, Counter followers, Counter fallbacks, Counter saved,
+                               DistributionSummary waiters) {}
+
+    public static class Config {
+
+        public Config() {}
+    }
+}
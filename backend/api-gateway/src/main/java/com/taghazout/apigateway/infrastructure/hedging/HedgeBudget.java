@@ -0,0 +1,40 @@
+package com.taghazout.apigateway.infrastructure.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests to a share of all requests (e.g. 5%).
+ *
+ * Every request deposits `ratio` of a token, every hedge withdraws one.
+ * Tokens saved during calm periods (at most maxTokens) absorb short bursts;
+ * when upstreams are slow everywhere, hedging stops instead of adding load.
+ */
+public final class HedgeBudget {
+
+    // Tokens are counted in millionths to stay on a lock-free long
+    private static final long UNIT = 1_000_000;
+
+    private final long deposit;
+    private final long max;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double ratio, int maxTokens) {
+        this.deposit = Math.round(ratio * UNIT);
+        this.max = (long) maxTokens * UNIT;
+    }
+
+    public void onRequest() {
+        balance.getAndUpdate(current -> Math.min(max, current + deposit));
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - UNIT));
+        return true;
+    }
+}
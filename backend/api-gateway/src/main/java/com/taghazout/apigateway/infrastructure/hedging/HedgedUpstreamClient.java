@@ -0,0 +1,139 @@
+package com.taghazout.apigateway.infrastructure.hedging;
+
+import com.taghazout.apigateway.infrastructure.loadbalancer.InstanceStatsRegistry;
+import com.taghazout.apigateway.infrastructure.singleflight.CapturedResponse;
+import com.taghazout.apigateway.infrastructure.upstream.UpstreamHttpClients;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SRP: ONLY sends one buffered GET to one chosen instance of a service.
+ *
+ * Instances are chosen by the service's load balancer; a hedge asks it for an
+ * instance other than the primary's (a few attempts, then gives up).
+ * Calls are reported to InstanceStatsRegistry like routed calls, so hedges
+ * count towards the load balancer's in-flight and latency picture.
+ *
+ * Sent like UpstreamRoutingFilter sends routed calls: on the service's
+ * client from UpstreamHttpClients (same pool, h2c) and with the gateway's
+ * HttpHeadersFilters applied to request and response (X-Forwarded-*,
+ * hop-by-hop removal).
+ * Bodies above max-body-bytes fail the call (DataBufferLimitException).
+ */
+@Component
+public class HedgedUpstreamClient {
+
+    private static final int CHOOSE_ATTEMPTS = 3;
+
+    private final ObjectProvider<ReactiveLoadBalancer.Factory<ServiceInstance>> loadBalancers;
+    private final InstanceStatsRegistry stats;
+    private final UpstreamHttpClients clients;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final int maxBodyBytes;
+
+    public HedgedUpstreamClient(ObjectProvider<ReactiveLoadBalancer.Factory<ServiceInstance>> loadBalancers,
+                                InstanceStatsRegistry stats,
+                                UpstreamHttpClients clients,
+                                ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                @Value("${gateway.hedging.max-body-bytes:1MB}") DataSize maxBodyBytes) {
+        this.loadBalancers = loadBalancers;
+        this.stats = stats;
+        this.clients = clients;
+        this.headersFilters = headersFilters;
+        this.maxBodyBytes = (int) maxBodyBytes.toBytes();
+    }
+
+    /**
+     * @param exclude instance to avoid (the primary's), or null
+     * @return an instance, or empty if none (other than exclude) is available
+     */
+    public Mono<ServiceInstance> choose(String serviceId, ServiceInstance exclude) {
+        ReactiveLoadBalancer.Factory<ServiceInstance> factory = loadBalancers.getIfAvailable();
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = factory != null ? factory.getInstance(serviceId) : null;
+        if (loadBalancer == null) {
+            return Mono.empty();
+        }
+        return Flux.range(0, CHOOSE_ATTEMPTS)
+                .concatMap(attempt -> Mono.from(loadBalancer.choose()))
+                .filter(Response::hasServer)
+                .map(Response::getServer)
+                .filter(instance -> exclude == null || !sameInstance(instance, exclude))
+                .next();
+    }
+
+    public Mono<CapturedResponse> send(ServiceInstance instance, Route route, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        URI uri = URI.create(instance.getUri() + request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : ""));
+        return Mono.defer(() -> {
+            DefaultHttpHeaders forwarded = new DefaultHttpHeaders();
+            requestHeaders(exchange).forEach(forwarded::set);
+
+            long start = System.nanoTime();
+            stats.started(instance);
+            return clients.forRoute(route)
+                    .headers(headers -> headers.add(forwarded))
+                    .request(HttpMethod.valueOf(request.getMethod().name()))
+                    .uri(uri)
+                    .response((response, content) -> content.asByteArray()
+                            .collect(ByteArrayOutputStream::new, this::append)
+                            .map(body -> new CapturedResponse(response.status().code(),
+                                    responseHeaders(response.responseHeaders(), exchange), body.toByteArray())))
+                    .next()
+                    .doOnSuccess(response -> stats.finished(instance, System.nanoTime() - start,
+                            response != null && response.status() >= 500))
+                    .doOnError(ex -> stats.finished(instance, System.nanoTime() - start, true))
+                    .doOnCancel(() -> stats.cancelled(instance));
+        });
+    }
+
+    // As NettyRoutingFilter: filtered headers, Host set from the instance URI unless preserved
+    private HttpHeaders requestHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+        if (!exchange.getAttributeOrDefault(ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE, false)) {
+            headers.remove(HttpHeaders.HOST);
+        }
+        return headers;
+    }
+
+    private HttpHeaders responseHeaders(io.netty.handler.codec.http.HttpHeaders upstream, ServerWebExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Map.Entry<String, String> header : upstream) {
+            headers.add(header.getKey(), header.getValue());
+        }
+        return HttpHeadersFilter.filter(headersFilters.getIfAvailable(), headers, exchange,
+                HttpHeadersFilter.Type.RESPONSE);
+    }
+
+    private void append(ByteArrayOutputStream body, byte[] chunk) {
+        if (body.size() + chunk.length > maxBodyBytes) {
+            throw new DataBufferLimitException("Exceeded limit on max bytes to buffer : " + maxBodyBytes);
+        }
+        body.writeBytes(chunk);
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+    }
+}
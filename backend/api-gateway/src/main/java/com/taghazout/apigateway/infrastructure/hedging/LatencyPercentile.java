@@ -0,0 +1,47 @@
+package com.taghazout.apigateway.infrastructure.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the most recent latencies of one route.
+ *
+ * Ring buffer of the last N samples; the percentile is recomputed (copy + sort)
+ * every N/10 samples rather than on every read, which keeps reads free and
+ * still follows the route as it gets slower or faster.
+ */
+public final class LatencyPercentile {
+
+    private final double percentile;
+    private final long[] samples;
+    private final int recomputeEvery;
+
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long value = -1;
+
+    public LatencyPercentile(double percentile, int window) {
+        this.percentile = percentile;
+        this.samples = new long[window];
+        this.recomputeEvery = Math.max(1, window / 10);
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRecompute >= recomputeEvery) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            value = sorted[(int) Math.min(count - 1, Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or -1 until enough samples were seen
+     */
+    public long nanos() {
+        return value;
+    }
+}
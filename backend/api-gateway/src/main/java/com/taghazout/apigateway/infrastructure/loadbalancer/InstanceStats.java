@@ -0,0 +1,114 @@
+package com.taghazout.apigateway.infrastructure.loadbalancer;
+
+/**
+ * Observed health of one service instance.
+ *
+ * - Latency: peak EWMA, decayed over time rather than per sample, so an instance
+ *   that got slow is penalized at once and recovers gradually when it is fast again
+ * - Errors: EWMA of the failure rate over requests
+ * - Ejection: once the error rate passes the threshold the instance is skipped for
+ *   base * 2^(ejections - 1), capped; the ejection count resets when it is healthy again
+ */
+final class InstanceStats {
+
+    // Each request moves the error rate 10% of the way towards 0 or 1
+    private static final double ERROR_ALPHA = 0.1;
+    private static final double COLD_START_NANOS = 1_000_000;
+
+    private final long decayNanos;
+
+    private double latencyNanos;
+    private long lastSampleNanos;
+    private boolean sampled;
+
+    private double errorRate;
+    private long requests;
+
+    private int ejections;
+    private long ejectedUntilNanos;
+
+    private int inFlight;
+
+    InstanceStats(long decayNanos) {
+        this.decayNanos = decayNanos;
+    }
+
+    synchronized void started() {
+        inFlight++;
+    }
+
+    // The call was abandoned (e.g. it lost a hedging race): no outcome to learn from
+    synchronized void cancelled() {
+        inFlight = Math.max(0, inFlight - 1);
+    }
+
+    synchronized void finished(long latency, boolean failed, long now) {
+        inFlight = Math.max(0, inFlight - 1);
+        requests++;
+        errorRate = errorRate * (1 - ERROR_ALPHA) + (failed ? ERROR_ALPHA : 0);
+
+        // No timing (the call never started): only the outcome counts
+        if (latency <= 0) {
+            return;
+        }
+        if (!sampled) {
+            latencyNanos = latency;
+            sampled = true;
+        } else if (latency > latencyNanos) {
+            latencyNanos = latency;
+        } else {
+            double weight = Math.exp(-(double) (now - lastSampleNanos) / decayNanos);
+            latencyNanos = latencyNanos * weight + latency * (1 - weight);
+        }
+        lastSampleNanos = now;
+    }
+
+    /**
+     * Ejects the instance if its error rate is over the threshold.
+     *
+     * @return true if the instance has just been ejected
+     */
+    synchronized boolean ejectIfFailing(double threshold, long minRequests, long baseNanos, long maxNanos, long now) {
+        if (now < ejectedUntilNanos) {
+            return false;
+        }
+        if (requests < minRequests || errorRate < threshold) {
+            if (errorRate < threshold / 2) {
+                ejections = 0;
+            }
+            return false;
+        }
+        ejections++;
+        long backoff = baseNanos << Math.min(ejections - 1, 30);
+        ejectedUntilNanos = now + Math.min(backoff < 0 ? maxNanos : backoff, maxNanos);
+        // Back on probation: a few failures after returning must be enough to eject it again
+        errorRate = threshold * 0.9;
+        requests = minRequests;
+        return true;
+    }
+
+    synchronized boolean isEjected(long now) {
+        return now < ejectedUntilNanos;
+    }
+
+    /**
+     * Expected wait for one more request: latency scaled by the requests already queued.
+     * Instances without samples count as 1 ms so they get traffic without taking all of it.
+     */
+    synchronized double cost() {
+        double latency = sampled ? latencyNanos : COLD_START_NANOS;
+        return Math.max(latency, 1) * (inFlight + 1);
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized double errorRate() {
+        return errorRate;
+    }
+
+    synchronized double latencyNanos() {
+        return latencyNanos;
+    }
+}
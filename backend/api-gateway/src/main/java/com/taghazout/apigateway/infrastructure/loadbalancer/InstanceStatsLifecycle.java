@@ -0,0 +1,64 @@
+package com.taghazout.apigateway.infrastructure.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.stereotype.Component;
+
+/**
+ * SRP: ONLY reports the outcome of load-balanced gateway calls to InstanceStatsRegistry.
+ *
+ * A call fails when it errors or the instance answers 5xx; 4xx are the client's fault.
+ */
+@Component
+public class InstanceStatsLifecycle implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final InstanceStatsRegistry stats;
+
+    InstanceStatsLifecycle(InstanceStatsRegistry stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() != null) {
+            request.getContext().setRequestStartTime(System.nanoTime());
+        }
+        stats.started(lbResponse.getServer());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completion) {
+        Response<ServiceInstance> lbResponse = completion.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completion.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        Request<RequestDataContext> request = completion.getLoadBalancerRequest();
+        long start = request != null && request.getContext() != null ? request.getContext().getRequestStartTime() : 0;
+        long latency = start > 0 ? System.nanoTime() - start : 0;
+
+        ResponseData response = completion.getClientResponse();
+        boolean failed = completion.status() == CompletionContext.Status.FAILED
+                || (response != null && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError());
+        stats.finished(lbResponse.getServer(), latency, failed);
+    }
+}
@@ -0,0 +1,86 @@
+package com.taghazout.apigateway.infrastructure.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY keeps the per-instance statistics shared by the load balancers
+ * (one per service) and the lifecycle that feeds them.
+ *
+ * Metrics: gateway.loadbalancer.ejections{service}
+ */
+@Component
+public class InstanceStatsRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceStatsRegistry.class);
+
+    // Instances come and go with Eureka; the bound keeps stale entries from piling up
+    private static final int MAX_INSTANCES = 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final long decayNanos;
+    private final double errorThreshold;
+    private final long minRequests;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(MeterRegistry meterRegistry,
+                                 @Value("${gateway.loadbalancer.latency-decay:10s}") Duration latencyDecay,
+                                 @Value("${gateway.loadbalancer.error-threshold:0.5}") double errorThreshold,
+                                 @Value("${gateway.loadbalancer.min-requests:10}") long minRequests,
+                                 @Value("${gateway.loadbalancer.base-ejection:5s}") Duration baseEjection,
+                                 @Value("${gateway.loadbalancer.max-ejection:2m}") Duration maxEjection) {
+        this.meterRegistry = meterRegistry;
+        this.decayNanos = latencyDecay.toNanos();
+        this.errorThreshold = errorThreshold;
+        this.minRequests = minRequests;
+        this.baseEjectionNanos = baseEjection.toNanos();
+        this.maxEjectionNanos = maxEjection.toNanos();
+    }
+
+    public void started(ServiceInstance instance) {
+        statsOf(instance).started();
+    }
+
+    public void cancelled(ServiceInstance instance) {
+        statsOf(instance).cancelled();
+    }
+
+    public void finished(ServiceInstance instance, long latencyNanos, boolean failed) {
+        long now = System.nanoTime();
+        InstanceStats instanceStats = statsOf(instance);
+        instanceStats.finished(latencyNanos, failed, now);
+        if (instanceStats.ejectIfFailing(errorThreshold, minRequests, baseEjectionNanos, maxEjectionNanos, now)) {
+            log.warn("Ejected {} {}:{} (error rate {})", instance.getServiceId(), instance.getHost(),
+                    instance.getPort(), String.format("%.2f", instanceStats.errorRate()));
+            meterRegistry.counter("gateway.loadbalancer.ejections", "service", instance.getServiceId())
+                    .increment();
+        }
+    }
+
+    InstanceStats statsOf(ServiceInstance instance) {
+        String key = key(instance);
+        InstanceStats existing = stats.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (stats.size() >= MAX_INSTANCES) {
+            stats.clear();
+        }
+        return stats.computeIfAbsent(key, k -> new InstanceStats(decayNanos));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,50 @@
+package com.taghazout.apigateway.infrastructure.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SRP: ONLY decides which requests get a per-request log line.
+ *
+ * Logging every request at gateway throughput costs more than the routing itself;
+ * a sample is enough to see what traffic looks like. Rates are per route:
+ * gateway.logging.route-sample-rates=booking-service:0.1,listing-service-public:0
+ * Routes not listed use gateway.logging.sample-rate.
+ */
+@Component
+public class RequestLogSampler {
+
+    private final double defaultRate;
+    private final Map<String, Double> routeRates;
+
+    public RequestLogSampler(@Value("${gateway.logging.sample-rate:0.01}") double defaultRate,
+                             @Value("${gateway.logging.route-sample-rates:}") List<String> routeRates) {
+        this.defaultRate = defaultRate;
+        this.routeRates = parse(routeRates);
+    }
+
+    public boolean sample(String routeId) {
+        double rate = routeId != null ? routeRates.getOrDefault(routeId, defaultRate) : defaultRate;
+        if (rate <= 0) {
+            return false;
+        }
+        return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private static Map<String, Double> parse(List<String> entries) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            rates.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return Map.copyOf(rates);
+    }
+}
@@ -0,0 +1,122 @@
+package com.taghazout.apigateway.infrastructure.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SRP: ONLY keeps an always-on JDK Flight Recorder recording and dumps time windows of it.
+ *
+ * - JDK "default" settings (about 1% overhead) with method sampling every
+ *   sampling-period and throttled allocation sampling; the custom events
+ *   (JwtValidationEvent, RouteMatchingEvent) use their own thresholds
+ * - Kept on disk, bounded by max-age and max-size
+ * - dump(window, target): the data of the last window (whole chunks, so a
+ *   little more may be included) as a .jfr file
+ */
+@Component
+public class ContinuousRecording implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration samplingPeriod;
+    private final String allocationThrottle;
+
+    private volatile Recording recording;
+
+    ContinuousRecording(@Value("${gateway.profiling.enabled:true}") boolean enabled,
+                        @Value("${gateway.profiling.max-age:15m}") Duration maxAge,
+                        @Value("${gateway.profiling.max-size:100MB}") DataSize maxSize,
+                        @Value("${gateway.profiling.sampling-period:20ms}") Duration samplingPeriod,
+                        @Value("${gateway.profiling.allocation-throttle:50/s}") String allocationThrottle) {
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.samplingPeriod = samplingPeriod;
+        this.allocationThrottle = allocationThrottle;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || recording != null) {
+            return;
+        }
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.put("jdk.ExecutionSample#period", samplingPeriod.toMillis() + " ms");
+            settings.put("jdk.ObjectAllocationSample#throttle", allocationThrottle);
+
+            Recording started = new Recording(settings);
+            started.setName("continuous");
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSize.toBytes());
+            started.start();
+            recording = started;
+        } catch (IOException | ParseException | RuntimeException ex) {
+            // Profiling must never keep the gateway from starting
+            log.warn("Continuous JFR recording not started: {}", ex.toString());
+        }
+    }
+
+    @Override
+    public void stop() {
+        Recording current = recording;
+        recording = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    public void dump(Duration window, Path target) throws IOException {
+        Recording current = recording;
+        if (current == null) {
+            throw new IllegalStateException("Continuous recording is not running");
+        }
+        Instant end = Instant.now();
+        // Stopped copy: flushes the chunk in progress, the original keeps recording
+        try (Recording snapshot = current.copy(true)) {
+            FlightRecorderMXBean recorder = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+            long stream = recorder.openStream(snapshot.getId(), Map.of(
+                    "startTime", Long.toString(end.minus(window).toEpochMilli()),
+                    "endTime", Long.toString(end.toEpochMilli())));
+            try (OutputStream out = Files.newOutputStream(target)) {
+                byte[] block;
+                while ((block = recorder.readStream(stream)) != null) {
+                    out.write(block);
+                }
+            } finally {
+                recorder.closeStream(stream);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.taghazout.apigateway.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event: one bearer token validation (parse, signature, revocation lookup).
+ * Only validations slower than the threshold are recorded.
+ */
+@Name("taghazout.gateway.JwtValidation")
+@Label("JWT Validation")
+@Category({"Taghazout", "Gateway"})
+@Description("Bearer token parsing, signature check and revocation lookup")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class JwtValidationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("accepted, or the rejection reason")
+    private String outcome;
+
+    public void complete(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
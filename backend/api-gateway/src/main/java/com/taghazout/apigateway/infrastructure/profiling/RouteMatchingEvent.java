@@ -0,0 +1,38 @@
+package com.taghazout.apigateway.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event: one route lookup (route predicates evaluated until one matches).
+ * Only lookups slower than the threshold are recorded.
+ */
+@Name("taghazout.gateway.RouteMatching")
+@Label("Route Matching")
+@Category({"Taghazout", "Gateway"})
+@Description("Route predicates evaluated for one request")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class RouteMatchingEvent extends Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Route")
+    @Description("Matched route id, null when no route matched")
+    private String route;
+
+    public void complete(String path, String route) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.route = route;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.taghazout.apigateway.infrastructure.ratelimit;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SRP: ONLY in-memory token buckets for this gateway instance.
+ *
+ * Lock-free: each bucket is an immutable snapshot swapped with CAS,
+ * so the request path never blocks or allocates a lock.
+ *
+ * Bounded: once maxKeys is exceeded, full buckets (idle keys) are dropped;
+ * if an attack spreads over more keys than that, the map is reset and the
+ * shared Redis buckets remain the authority.
+ */
+final class LocalTokenBuckets {
+
+    // A bucket untouched for 10 minutes is full again for every policy in use
+    private static final long IDLE_NANOS = 600_000_000_000L;
+
+    private final Map<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+    private final int maxKeys;
+
+    LocalTokenBuckets(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from every bucket, or (best effort) from none of them.
+     */
+    RateLimitDecision tryConsumeAll(Map<String, RateLimitPolicy> policies, long nowNanos) {
+        List<Map.Entry<String, RateLimitPolicy>> consumed = new ArrayList<>(policies.size());
+        for (Map.Entry<String, RateLimitPolicy> entry : policies.entrySet()) {
+            long retryAfterMillis = tryConsume(entry.getKey(), entry.getValue(), nowNanos);
+            if (retryAfterMillis > 0) {
+                consumed.forEach(done -> refund(done.getKey(), done.getValue()));
+                return RateLimitDecision.reject(retryAfterMillis);
+            }
+            consumed.add(entry);
+        }
+        return RateLimitDecision.allow();
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise milliseconds until one is available
+     */
+    long tryConsume(String key, RateLimitPolicy policy, long nowNanos) {
+        AtomicReference<Bucket> ref = buckets.get(key);
+        if (ref == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle(nowNanos);
+            }
+            ref = buckets.computeIfAbsent(key, k -> new AtomicReference<>(new Bucket(policy.capacity(), nowNanos)));
+        }
+
+        while (true) {
+            Bucket current = ref.get();
+            double tokens = current.refill(policy, nowNanos);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) * 1000 / policy.refillPerSecond());
+            }
+            Bucket next = new Bucket(tokens - 1, Math.max(current.refilledAt(), nowNanos));
+            if (ref.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void refund(String key, RateLimitPolicy policy) {
+        AtomicReference<Bucket> ref = buckets.get(key);
+        if (ref != null) {
+            ref.updateAndGet(b -> new Bucket(Math.min(policy.capacity(), b.tokens() + 1), b.refilledAt()));
+        }
+    }
+
+    private void evictIdle(long nowNanos) {
+        buckets.values().removeIf(ref -> nowNanos - ref.get().refilledAt() > IDLE_NANOS);
+        if (buckets.size() >= maxKeys) {
+            buckets.clear();
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private record Bucket(double tokens, long refilledAt) {
+
+        double refill(RateLimitPolicy policy, long nowNanos) {
+            long elapsed = Math.max(0, nowNanos - refilledAt);
+            return Math.min(policy.capacity(), tokens + elapsed / 1e9 * policy.refillPerSecond());
+        }
+    }
+}
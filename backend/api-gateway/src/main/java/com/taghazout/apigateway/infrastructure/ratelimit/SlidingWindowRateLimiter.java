@@ -0,0 +1,232 @@
+package com.taghazout.apigateway.infrastructure.ratelimit;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY sliding window request counting shared by all gateway replicas.
+ *
+ * A policy allows {@code capacity} requests per window of
+ * {@code capacity / refillPerSecond} seconds, i.e. bursts of capacity at an
+ * average of refillPerSecond. The window slides: the previous fixed window
+ * counts in proportion to how much of it still overlaps.
+ *
+ * Local batching:
+ * - Decisions are taken in memory from the last known global counts plus
+ *   this replica's unflushed requests: no network call on the request path
+ * - Local counts are flushed to Redis (one Lua call: INCRBY + read of the
+ *   previous window) every sync-interval or batch-size requests per key
+ * - Between flushes the cluster can overshoot by at most
+ *   replicas x batch-size requests per key
+ *
+ * Fail-open: if Redis is down, every replica still enforces the limit locally.
+ */
+@Component
+public class SlidingWindowRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(SlidingWindowRateLimiter.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/sliding_window.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final long syncIntervalMillis;
+    private final int batchSize;
+    private final int maxKeys;
+    private final Duration redisTimeout;
+
+    SlidingWindowRateLimiter(ReactiveStringRedisTemplate redis,
+                             @Value("${gateway.rate-limit.sync-interval:100ms}") Duration syncInterval,
+                             @Value("${gateway.rate-limit.batch-size:20}") int batchSize,
+                             @Value("${gateway.rate-limit.local-max-keys:100000}") int maxKeys,
+                             @Value("${gateway.rate-limit.redis-timeout:100ms}") Duration redisTimeout) {
+        this.redis = redis;
+        this.syncIntervalMillis = syncInterval.toMillis();
+        this.batchSize = batchSize;
+        this.maxKeys = maxKeys;
+        this.redisTimeout = redisTimeout;
+    }
+
+    /**
+     * Counts one request against the key if the policy allows it.
+     * Never blocks: any Redis work triggered by this call runs in the background.
+     */
+    public RateLimitDecision tryAcquire(String key, RateLimitPolicy policy) {
+        return tryAcquire(key, policy, System.currentTimeMillis());
+    }
+
+    RateLimitDecision tryAcquire(String key, RateLimitPolicy policy, long now) {
+        long windowMillis = policy.refillMillis();
+        long index = now / windowMillis;
+
+        Window window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxKeys) {
+                evictIdle(now);
+            }
+            window = windows.computeIfAbsent(key, k -> new Window(index));
+        }
+
+        RateLimitDecision decision;
+        Flush rolled;
+        Flush flush = null;
+        synchronized (window) {
+            window.lastSeen = now;
+            window.windowMillis = windowMillis;
+            rolled = window.roll(key, index);
+
+            double elapsed = (now - index * windowMillis) / (double) windowMillis;
+            long current = window.currentGlobal + window.pending + window.inflight;
+            double estimate = window.previousGlobal * (1 - elapsed) + current;
+            if (estimate + 1 > policy.capacity()) {
+                decision = RateLimitDecision.reject(retryAfterMillis(policy.capacity(), window.previousGlobal,
+                        current, elapsed, windowMillis));
+            } else {
+                window.pending++;
+                decision = RateLimitDecision.allow();
+            }
+
+            if (!window.flushing && window.pending > 0
+                    && (window.pending >= batchSize || now - window.lastSync >= syncIntervalMillis)) {
+                flush = window.startFlush(key, now);
+            }
+        }
+
+        if (rolled != null) {
+            send(window, rolled);
+        }
+        if (flush != null) {
+            send(window, flush);
+        }
+        return decision;
+    }
+
+    private static long retryAfterMillis(long limit, long previous, long current, double elapsed, long windowMillis) {
+        if (current + 1 > limit || previous == 0) {
+            // Only the start of the next window frees capacity
+            return (long) Math.ceil((1 - elapsed) * windowMillis);
+        }
+        // Wait until enough of the previous window has slid out
+        double freeAt = 1 - (limit - current - 1) / (double) previous;
+        return (long) Math.ceil(Math.max(0, freeAt - elapsed) * windowMillis);
+    }
+
+    private void send(Window window, Flush flush) {
+        long windowMillis = window.windowMillis;
+        redis.execute(SCRIPT,
+                        List.of(redisKey(flush.key(), flush.index()), redisKey(flush.key(), flush.index() - 1)),
+                        List.of(Long.toString(flush.count()), Long.toString(windowMillis * 2)))
+                .next()
+                .timeout(redisTimeout)
+                .subscribe(
+                        result -> {
+                            synchronized (window) {
+                                window.synced(flush.index(),
+                                        ((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue());
+                            }
+                        },
+                        ex -> {
+                            log.debug("Rate limit counters not flushed, limiting locally: {}", ex.toString());
+                            synchronized (window) {
+                                window.failed(flush.index());
+                            }
+                        });
+    }
+
+    // Hash tag keeps both windows of a key in the same cluster slot
+    private static String redisKey(String key, long index) {
+        return "rl:{" + key + "}:" + index;
+    }
+
+    private void evictIdle(long now) {
+        windows.values().removeIf(w -> now - w.lastSeen > 2 * w.windowMillis);
+        if (windows.size() >= maxKeys) {
+            windows.clear();
+        }
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    private record Flush(String key, long index, long count) {
+    }
+
+    /**
+     * Counters of one key; guarded by its own monitor.
+     */
+    private static final class Window {
+
+        long index;
+        long previousGlobal;
+        long currentGlobal;
+        long pending;
+        long inflight;
+        boolean flushing;
+        long lastSync;
+        long lastSeen;
+        long windowMillis = 1;
+
+        Window(long index) {
+            this.index = index;
+        }
+
+        Flush roll(String key, long newIndex) {
+            if (newIndex <= index) {
+                return null;
+            }
+            // Requests of the closed window still count for other replicas
+            Flush leftover = pending > 0 ? new Flush(key, index, pending) : null;
+            long closed = currentGlobal + pending + inflight;
+            previousGlobal = newIndex == index + 1 ? closed : 0;
+            currentGlobal = 0;
+            pending = 0;
+            inflight = 0;
+            flushing = false;
+            index = newIndex;
+            return leftover;
+        }
+
+        Flush startFlush(String key, long now) {
+            inflight = pending;
+            pending = 0;
+            flushing = true;
+            lastSync = now;
+            return new Flush(key, index, inflight);
+        }
+
+        void synced(long flushedIndex, long current, long previous) {
+            if (flushedIndex != index) {
+                return;
+            }
+            currentGlobal = Math.max(currentGlobal + inflight, current);
+            previousGlobal = Math.max(previousGlobal, previous);
+            inflight = 0;
+            flushing = false;
+        }
+
+        void failed(long flushedIndex) {
+            if (flushedIndex != index) {
+                return;
+            }
+            // Keep the requests counted locally and retry on the next interval
+            pending += inflight;
+            inflight = 0;
+            flushing = false;
+        }
+    }
+}
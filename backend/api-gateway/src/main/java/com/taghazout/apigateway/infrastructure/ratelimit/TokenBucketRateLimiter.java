@@ -0,0 +1,83 @@
+package com.taghazout.apigateway.infrastructure.ratelimit;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import com.taghazout.apigateway.domain.service.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SRP: ONLY decides whether a request may take a token.
+ *
+ * Two tiers:
+ * 1. Local lock-free buckets (fast path): a client over its limit on this
+ *    instance is rejected without any network call
+ * 2. Shared Redis buckets (Lua, one round trip for all keys): replicas share
+ *    the counts, so scaling out the gateway does not multiply the limit
+ *
+ * Fail-open: if Redis is slow or down, the local decision stands.
+ */
+@Component
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final LocalTokenBuckets localBuckets;
+    private final Duration redisTimeout;
+
+    TokenBucketRateLimiter(ReactiveStringRedisTemplate redis,
+                           @Value("${gateway.rate-limit.local-max-keys:100000}") int localMaxKeys,
+                           @Value("${gateway.rate-limit.redis-timeout:100ms}") Duration redisTimeout) {
+        this.redis = redis;
+        this.localBuckets = new LocalTokenBuckets(localMaxKeys);
+        this.redisTimeout = redisTimeout;
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryAcquire(Map<String, RateLimitPolicy> buckets) {
+        RateLimitDecision local = localBuckets.tryConsumeAll(buckets, System.nanoTime());
+        if (!local.allowed()) {
+            return Mono.just(local);
+        }
+
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<String> args = new ArrayList<>(buckets.size() * 2);
+        buckets.forEach((key, policy) -> {
+            keys.add(key);
+            args.add(Long.toString(policy.capacity()));
+            args.add(Double.toString(policy.refillPerSecond()));
+        });
+
+        return redis.execute(SCRIPT, keys, args)
+                .next()
+                .map(TokenBucketRateLimiter::toDecision)
+                .timeout(redisTimeout)
+                .onErrorResume(ex -> {
+                    log.debug("Shared rate limit unavailable, using local decision: {}", ex.toString());
+                    return Mono.just(local);
+                })
+                .defaultIfEmpty(local);
+    }
+
+    private static RateLimitDecision toDecision(List<?> result) {
+        long allowed = ((Number) result.get(0)).longValue();
+        long retryAfterMillis = ((Number) result.get(1)).longValue();
+        return allowed == 1 ? RateLimitDecision.allow() : RateLimitDecision.reject(retryAfterMillis);
+    }
+}
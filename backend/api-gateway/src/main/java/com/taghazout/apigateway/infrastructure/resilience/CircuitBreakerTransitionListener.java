@@ -0,0 +1,48 @@
+package com.taghazout.apigateway.infrastructure.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * SRP: ONLY reports route circuit breaker state changes.
+ *
+ * Each transition is one structured WARN event (breaker, from, to) and increments
+ * gateway.circuitbreaker.transitions{name,from,to}. Current states are exported by
+ * resilience4j-micrometer (resilience4j.circuitbreaker.state) and the last events are
+ * on /actuator/circuitbreakerevents.
+ */
+@Component
+public class CircuitBreakerTransitionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerTransitionListener.class);
+
+    private final MeterRegistry meterRegistry;
+
+    CircuitBreakerTransitionListener(CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        // Route breakers are created on their first request
+        circuitBreakerRegistry.getEventPublisher().onEntryAdded(event -> listen(event.getAddedEntry()));
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::listen);
+    }
+
+    private void listen(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(this::onTransition);
+    }
+
+    void onTransition(CircuitBreakerOnStateTransitionEvent event) {
+        String from = event.getStateTransition().getFromState().name();
+        String to = event.getStateTransition().getToState().name();
+        meterRegistry.counter("gateway.circuitbreaker.transitions",
+                "name", event.getCircuitBreakerName(), "from", from, "to", to).increment();
+        log.atWarn()
+                .addKeyValue("breaker", event.getCircuitBreakerName())
+                .addKeyValue("from", from)
+                .addKeyValue("to", to)
+                .log("Circuit breaker state changed");
+    }
+}
@@ -0,0 +1,118 @@
+package com.taghazout.apigateway.infrastructure.resilience;
+
+import com.taghazout.apigateway.infrastructure.cache.CachedResponse;
+import com.taghazout.apigateway.infrastructure.cache.LocalResponseCache;
+import com.taghazout.apigateway.infrastructure.filter.RejectionResponseWriter;
+import com.taghazout.apigateway.infrastructure.filter.ResponseCacheFilter;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * SRP: ONLY answers requests whose route circuit breaker failed
+ * (open breaker, time limit, full bulkhead, 5xx from upstream).
+ *
+ * Reached through forward:/fallback/{routeId} only; external requests are
+ * refused by SecurityConfig. Answers are cheap and never touch the upstream:
+ * - GET with a recent response in the gateway cache: that response,
+ *   marked X-Degraded and no-store (e.g. the last listing feed). The key is the one
+ *   ResponseCacheFilter computed before the breaker: an open breaker or a full bulkhead
+ *   fails before the routing filters record the original URL
+ * - anything else: pre-encoded 503 (504 after a timeout) with Retry-After
+ *
+ * Metrics: gateway.fallback{route,reason=open|timeout|bulkhead|error,served=cached|error}
+ */
+@RestController
+public class FallbackController {
+
+    static final String DEGRADED_HEADER = "X-Degraded";
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final LocalResponseCache localCache;
+    private final MeterRegistry meterRegistry;
+
+    FallbackController(LocalResponseCache localCache, MeterRegistry meterRegistry) {
+        this.localCache = localCache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @RequestMapping("/fallback/{routeId}")
+    public Mono<Void> fallback(@PathVariable String routeId, ServerWebExchange exchange) {
+        String reason = reason(exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR));
+        URI original = originalUri(exchange);
+
+        String cacheKey = exchange.getAttribute(ResponseCacheFilter.CACHE_KEY_ATTR);
+        if (exchange.getRequest().getMethod() == HttpMethod.GET && cacheKey != null) {
+            CachedResponse cached = localCache.getIfError(cacheKey, System.currentTimeMillis());
+            if (cached != null) {
+                record(routeId, reason, "cached");
+                return serve(exchange, cached, reason);
+            }
+        }
+
+        record(routeId, reason, "error");
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.getHeaders().set(DEGRADED_HEADER, reason);
+        return "timeout".equals(reason)
+                ? RejectionResponseWriter.write(exchange, HttpStatus.GATEWAY_TIMEOUT,
+                        "Gateway Timeout: Upstream service did not answer in time", original.getRawPath())
+                : RejectionResponseWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                        "Service Unavailable: Upstream service is unavailable, retry later", original.getRawPath());
+    }
+
+    private static Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String reason) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::put);
+        // Degraded content must not be stored again by the gateway cache or by clients
+        headers.setCacheControl("no-store");
+        headers.set(DEGRADED_HEADER, reason);
+        headers.set(HttpHeaders.AGE, Long.toString(Math.max(0, System.currentTimeMillis() - cached.storedAt()) / 1000));
+        headers.setContentLength(cached.body().length);
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // The route's request URL once routing ran (timeouts, upstream errors); the forwarded one otherwise
+    private static URI originalUri(ServerWebExchange exchange) {
+        Set<URI> originals = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        if (originals != null && !originals.isEmpty()) {
+            return originals.iterator().next();
+        }
+        return exchange.getRequest().getURI();
+    }
+
+    static String reason(Throwable failure) {
+        if (failure instanceof CallNotPermittedException) {
+            return "open";
+        }
+        if (failure instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (failure instanceof BulkheadFullException) {
+            return "bulkhead";
+        }
+        return "error";
+    }
+
+    private void record(String routeId, String reason, String served) {
+        meterRegistry.counter("gateway.fallback", "route", routeId, "reason", reason, "served", served).increment();
+    }
+}
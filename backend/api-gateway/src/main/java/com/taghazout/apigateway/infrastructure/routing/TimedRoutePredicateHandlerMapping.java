@@ -0,0 +1,62 @@
+package com.taghazout.apigateway.infrastructure.routing;
+
+import com.taghazout.apigateway.infrastructure.profiling.RouteMatchingEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SRP: ONLY times the gateway's route lookup (predicates of every route
+ * evaluated in order until one matches).
+ *
+ * Metrics: gateway.route.matching{result=matched|unmatched}; slow lookups
+ * are also recorded as RouteMatchingEvent (JFR).
+ */
+public class TimedRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping {
+
+    private final Timer matched;
+    private final Timer unmatched;
+
+    public TimedRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                             GlobalCorsProperties globalCorsProperties, Environment environment,
+                                             MeterRegistry meterRegistry) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.matched = timer(meterRegistry, "matched");
+        this.unmatched = timer(meterRegistry, "unmatched");
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        return Mono.defer(() -> {
+            RouteMatchingEvent event = new RouteMatchingEvent();
+            event.begin();
+            long start = System.nanoTime();
+            String path = exchange.getRequest().getPath().value();
+            return super.lookupRoute(exchange)
+                    .doOnNext(route -> {
+                        matched.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        event.complete(path, route.getId());
+                    })
+                    .switchIfEmpty(Mono.fromRunnable(() -> {
+                        unmatched.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        event.complete(path, null);
+                    }));
+        });
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("gateway.route.matching")
+                .description("Route lookup: route predicates evaluated for a request")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -5,34 +5,75 @@ import com.taghazout.apigateway.domain.model.UserPrincipal;
 import com.taghazout.apigateway.domain.service.JwtParser;
 import com.taghazout.apigateway.domain.service.JwtValidator;
 import com.taghazout.apigateway.domain.service.TokenBlacklist;
+import com.taghazout.apigateway.infrastructure.profiling.JwtValidationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 
 /**
  * SRP: ONLY orchestrates parsing + revocation check.
  * No crypto, no Redis, no secret management.
  * Open for extension (new rules via new decorators).
+ * Each validation is observed as gateway.jwt.validation (span + timer);
+ * the revocation lookup alone is timed as gateway.jwt.revocation.lookup
+ * (timer only: an in-memory lookup is not worth a span).
+ * Slow validations are also recorded as JwtValidationEvent (JFR).
  */
 @Component
 public class DefaultJwtValidator implements JwtValidator{
 
     private final JwtParser parser;
     private final TokenBlacklist revocationChecker;
+    private final ObservationRegistry observationRegistry;
+    private final Timer revocationLookup;
 
-    DefaultJwtValidator(JwtParser parser, TokenBlacklist revocationChecker) {
+    DefaultJwtValidator(JwtParser parser, TokenBlacklist revocationChecker,
+                        ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
         this.parser = parser;
         this.revocationChecker = revocationChecker;
+        this.observationRegistry = observationRegistry;
+        this.revocationLookup = Timer.builder("gateway.jwt.revocation.lookup")
+                .description("Revocation list lookup of an already parsed token")
+                .register(meterRegistry);
     }
 
     @Override
     public UserPrincipal validateToken(String token) {
-        // 1. Check revocation FIRST (cheap operation)
-        if (revocationChecker.isBlacklisted(token)) {
-            throw new JwtValidationException("Token revoked");
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        String outcome = "error";
+        try {
+            UserPrincipal principal = Observation.createNotStarted("gateway.jwt.validation", observationRegistry)
+                    .contextualName("jwt-validate")
+                    .observe(() -> validate(token));
+            outcome = "accepted";
+            return principal;
+        } catch (JwtValidationException ex) {
+            outcome = ex.getReason().tag();
+            throw ex;
+        } finally {
+            event.complete(outcome);
         }
+    }
 
-        // 2. THEN parse (expensive crypto operation)
-        return parser.parse(token);
+    private UserPrincipal validate(String token) {
+        // 1. Parse first: revocations are keyed by claims (jti, sub, iat),
+        //    and a forged token must never reach the revocation lookup
+        UserPrincipal principal = parser.parse(token);
+
+        // 2. THEN check revocation (local in-memory lookup, no I/O)
+        long start = System.nanoTime();
+        boolean revoked = revocationChecker.isRevoked(principal);
+        revocationLookup.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (revoked) {
+            throw new JwtValidationException(JwtValidationException.Reason.REVOKED, "Token revoked");
+        }
+        return principal;
     }
 
 }
@@ -1,6 +1,7 @@
 package com.taghazout.apigateway.infrastructure.security;
 
 import com.taghazout.apigateway.domain.exception.JwtValidationException;
+import com.taghazout.apigateway.domain.exception.JwtValidationException.Reason;
 import com.taghazout.apigateway.domain.model.UserPrincipal;
 import com.taghazout.apigateway.domain.service.JwtParser;
 import io.jsonwebtoken.Claims;
@@ -9,6 +10,8 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -25,6 +28,8 @@ import java.util.Set;
 @Component
 public class JjwtParser implements JwtParser {
 
+    private static final Logger log = LoggerFactory.getLogger(JjwtParser.class);
+
     private final SecretKey key;
 
     JjwtParser(@Value("${jwt.secret}") String secret) {
@@ -42,7 +47,7 @@ public class JjwtParser implements JwtParser {
 
             String userId = claims.getSubject();
             if (userId == null || userId.isBlank()) {
-                throw new JwtValidationException("Missing 'sub' claim in token");
+                throw new JwtValidationException(Reason.MISSING_CLAIM, "Missing 'sub' claim in token");
             }
 
             String email = claims.get("email", String.class);
@@ -56,25 +61,27 @@ public class JjwtParser implements JwtParser {
             }
 
             if (claims.getExpiration() == null) {
-                throw new JwtValidationException("Missing 'exp' claim in token");
+                throw new JwtValidationException(Reason.MISSING_CLAIM, "Missing 'exp' claim in token");
             }
 
             return new UserPrincipal(
                     userId,
                     email,
                     roles,
-                    claims.getExpiration().getTime()
+                    claims.getExpiration().getTime(),
+                    claims.getId(),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : null
             );
         } catch (ExpiredJwtException ex) {
-            throw new JwtValidationException("Token has expired", ex);
+            throw new JwtValidationException(Reason.EXPIRED, "Token has expired", ex);
         } catch (SignatureException ex) {
-            throw new JwtValidationException("Invalid token signature - check secret key", ex);
+            throw new JwtValidationException(Reason.BAD_SIGNATURE, "Invalid token signature - check secret key", ex);
         } catch (MalformedJwtException ex) {
-            throw new JwtValidationException("Malformed JWT token", ex);
+            throw new JwtValidationException(Reason.MALFORMED, "Malformed JWT token", ex);
         } catch (JwtValidationException ex) {
             throw ex; // Re-throw our own exceptions
         } catch (Exception ex) {
-            System.err.println("[JjwtParser] Unexpected error parsing token: " + ex.getClass().getName() + " - " + ex.getMessage());
+            log.warn("Unexpected error parsing token: {} - {}", ex.getClass().getName(), ex.getMessage());
             throw new JwtValidationException("JWT parsing failed: " + ex.getMessage(), ex);
         }
     }
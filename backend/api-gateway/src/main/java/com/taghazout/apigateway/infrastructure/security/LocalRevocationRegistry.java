@@ -0,0 +1,73 @@
+package com.taghazout.apigateway.infrastructure.security;
+
+import com.taghazout.apigateway.domain.model.UserPrincipal;
+import com.taghazout.apigateway.domain.service.TokenBlacklist;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY holds the revocations known to this gateway instance.
+ * No Redis, no JWT parsing: fed by RevocationStreamConsumer.
+ *
+ * Every lookup is an in-memory O(1) check, so revocation adds no I/O
+ * to the request path.
+ *
+ * Two kinds of revocation:
+ * - token id (jti) -> token expiration: forgotten once the token has expired
+ * - user id -> "issued before" watermark: tokens of the user with an older iat
+ *   are rejected; forgotten after the retention window, which must exceed
+ *   the access token lifetime
+ */
+@Component
+public class LocalRevocationRegistry implements TokenBlacklist {
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> userWatermarks = new ConcurrentHashMap<>();
+    private final long watermarkRetentionMillis;
+
+    LocalRevocationRegistry(@Value("${gateway.revocation.watermark-retention:PT1H}") Duration watermarkRetention) {
+        this.watermarkRetentionMillis = watermarkRetention.toMillis();
+    }
+
+    @Override
+    public boolean isRevoked(UserPrincipal principal) {
+        if (principal.tokenId() != null && revokedTokens.containsKey(principal.tokenId())) {
+            return true;
+        }
+        Long issuedBefore = userWatermarks.get(principal.userId());
+        if (issuedBefore == null) {
+            return false;
+        }
+        // No iat: cannot prove the token is newer than the watermark
+        return principal.issuedAt() == null || principal.issuedAt() < issuedBefore;
+    }
+
+    void revokeToken(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+    }
+
+    void revokeUser(String userId, long issuedBefore) {
+        // Watermarks only move forward (events may be replayed out of order)
+        userWatermarks.merge(userId, issuedBefore, Math::max);
+    }
+
+    /**
+     * Forgets revocations that can no longer match a live token.
+     */
+    void purgeExpired(long now) {
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        userWatermarks.values().removeIf(issuedBefore -> issuedBefore + watermarkRetentionMillis < now);
+    }
+
+    int revokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    int userWatermarkCount() {
+        return userWatermarks.size();
+    }
+}
@@ -0,0 +1,202 @@
+package com.taghazout.apigateway.infrastructure.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SRP: ONLY moves revocations published by auth-service
+ * into the LocalRevocationRegistry.
+ *
+ * - Replays the whole stream on startup (the stream is trimmed by the publisher),
+ *   then tails it with blocking XREAD on a single background thread
+ * - Periodically loads the whole user watermark hash (one HGETALL): watermarks
+ *   survive stream trimming and reconciled watermarks never produce an event
+ * - Redis outages never reach the request path: the loop backs off and resumes
+ *   from the last applied entry id
+ * - Publishes gateway.revocation.lag (publish -> applied) for live events
+ *
+ * gateway.revocation.poll-timeout must stay below spring.data.redis.timeout.
+ */
+@Component
+public class RevocationStreamConsumer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationStreamConsumer.class);
+
+    private static final long MIN_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final long PURGE_INTERVAL_MS = 60_000;
+
+    private final StringRedisTemplate redis;
+    private final LocalRevocationRegistry registry;
+    private final String streamKey;
+    private final String watermarkKey;
+    private final Duration fullSyncInterval;
+    private final Duration pollTimeout;
+    private final int batchSize;
+    private final boolean enabled;
+
+    private final Timer lagTimer;
+    private final Counter tokenEvents;
+    private final Counter userEvents;
+
+    private final long startedAt = System.currentTimeMillis();
+    private volatile boolean running;
+    private Thread worker;
+
+    RevocationStreamConsumer(StringRedisTemplate redis,
+                             LocalRevocationRegistry registry,
+                             MeterRegistry meterRegistry,
+                             @Value("${gateway.revocation.stream-key:auth:revocations}") String streamKey,
+                             @Value("${gateway.revocation.watermark-key:auth:token-watermarks}") String watermarkKey,
+                             @Value("${gateway.revocation.full-sync-interval:PT5M}") Duration fullSyncInterval,
+                             @Value("${gateway.revocation.poll-timeout:1s}") Duration pollTimeout,
+                             @Value("${gateway.revocation.batch-size:500}") int batchSize,
+                             @Value("${gateway.revocation.enabled:true}") boolean enabled) {
+        this.redis = redis;
+        this.registry = registry;
+        this.streamKey = streamKey;
+        this.watermarkKey = watermarkKey;
+        this.fullSyncInterval = fullSyncInterval;
+        this.pollTimeout = pollTimeout;
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+
+        this.lagTimer = Timer.builder("gateway.revocation.lag")
+                .description("Delay between a revocation being published and applied by this gateway")
+                .register(meterRegistry);
+        this.tokenEvents = Counter.builder("gateway.revocation.events").tag("type", "token").register(meterRegistry);
+        this.userEvents = Counter.builder("gateway.revocation.events").tag("type", "user").register(meterRegistry);
+        Gauge.builder("gateway.revocation.entries", registry, LocalRevocationRegistry::revokedTokenCount)
+                .tag("type", "token").register(meterRegistry);
+        Gauge.builder("gateway.revocation.entries", registry, LocalRevocationRegistry::userWatermarkCount)
+                .tag("type", "user").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::consume, "revocation-stream-consumer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(pollTimeout.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        String lastId = "0-0";
+        long backoff = MIN_BACKOFF_MS;
+        long nextPurge = 0;
+        long nextFullSync = 0;
+        StreamReadOptions options = StreamReadOptions.empty().count(batchSize).block(pollTimeout);
+
+        while (running) {
+            try {
+                if (System.currentTimeMillis() >= nextFullSync) {
+                    syncWatermarks();
+                    nextFullSync = System.currentTimeMillis() + fullSyncInterval.toMillis();
+                }
+                // Single-stream read through the varargs API: the generic array is never exposed
+                @SuppressWarnings("unchecked")
+                List<MapRecord<String, Object, Object>> records = redis.opsForStream()
+                        .read(options, StreamOffset.create(streamKey, ReadOffset.from(lastId)));
+                if (records != null) {
+                    for (MapRecord<String, Object, Object> record : records) {
+                        apply(record.getValue(), System.currentTimeMillis());
+                        lastId = record.getId().getValue();
+                    }
+                }
+                backoff = MIN_BACKOFF_MS;
+            } catch (RuntimeException ex) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Revocation stream unavailable, retrying in {} ms: {}", backoff, ex.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+
+            long now = System.currentTimeMillis();
+            if (now >= nextPurge) {
+                registry.purgeExpired(now);
+                nextPurge = now + PURGE_INTERVAL_MS;
+            }
+        }
+    }
+
+    private void syncWatermarks() {
+        Map<Object, Object> watermarks = redis.opsForHash().entries(watermarkKey);
+        watermarks.forEach((userId, issuedBefore) ->
+                registry.revokeUser((String) userId, Long.parseLong((String) issuedBefore)));
+        log.debug("Synchronized {} user token watermarks", watermarks.size());
+    }
+
+    void apply(Map<Object, Object> fields, long now) {
+        try {
+            String type = (String) fields.get("type");
+            if ("token".equals(type)) {
+                registry.revokeToken((String) fields.get("jti"), Long.parseLong((String) fields.get("exp")));
+                tokenEvents.increment();
+            } else if ("user".equals(type)) {
+                registry.revokeUser((String) fields.get("userId"), Long.parseLong((String) fields.get("issuedBefore")));
+                userEvents.increment();
+            } else {
+                log.warn("Ignoring revocation event of unknown type: {}", type);
+                return;
+            }
+
+            Object publishedAt = fields.get("publishedAt");
+            if (publishedAt != null) {
+                long published = Long.parseLong((String) publishedAt);
+                // Replayed history would skew the lag distribution
+                if (published >= startedAt) {
+                    lagTimer.record(Math.max(0, now - published), TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Ignoring malformed revocation event {}: {}", fields, ex.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
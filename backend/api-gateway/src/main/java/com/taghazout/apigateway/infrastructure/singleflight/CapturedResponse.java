@@ -0,0 +1,13 @@
+package com.taghazout.apigateway.infrastructure.singleflight;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Fully buffered upstream response, shareable between requests.
+ */
+public record CapturedResponse(
+    int status,
+    HttpHeaders headers,
+    byte[] body
+) {
+}
@@ -0,0 +1,92 @@
+package com.taghazout.apigateway.infrastructure.singleflight;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * SRP: ONLY copies the upstream response while it streams to the client.
+ *
+ * Bounded buffering: the copy stops as soon as the body grows past maxBytes
+ * (or Content-Length announces it will), the client keeps streaming and
+ * onSkipped is called instead of onCaptured. The client never waits for the copy.
+ */
+public final class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final long maxBytes;
+    private final Predicate<ServerHttpResponse> shouldCapture;
+    private final Consumer<CapturedResponse> onCaptured;
+    private final Runnable onSkipped;
+
+    public CapturingResponseDecorator(ServerHttpResponse delegate,
+                                      long maxBytes,
+                                      Predicate<ServerHttpResponse> shouldCapture,
+                                      Consumer<CapturedResponse> onCaptured,
+                                      Runnable onSkipped) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.shouldCapture = shouldCapture;
+        this.onCaptured = onCaptured;
+        this.onSkipped = onSkipped;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        HttpStatusCode status = getStatusCode();
+        if (status == null || getHeaders().getContentLength() > maxBytes || !shouldCapture.test(this)) {
+            onSkipped.run();
+            return super.writeWith(body);
+        }
+
+        Copy copy = new Copy();
+        Flux<? extends DataBuffer> copying = Flux.from(body)
+                .doOnNext(copy::append)
+                .doOnComplete(() -> {
+                    if (copy.overflowed) {
+                        onSkipped.run();
+                    } else {
+                        onCaptured.accept(new CapturedResponse(status.value(),
+                                HttpHeaders.readOnlyHttpHeaders(copyOf(getHeaders())), copy.bytes.toByteArray()));
+                    }
+                })
+                .doOnError(ex -> onSkipped.run())
+                .doOnCancel(onSkipped);
+        return super.writeWith(copying);
+    }
+
+    private static HttpHeaders copyOf(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach(copy::addAll);
+        return copy;
+    }
+
+    private final class Copy {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean overflowed;
+
+        // Buffers are delivered one at a time by the body publisher: no concurrent appends
+        void append(DataBuffer buffer) {
+            int length = buffer.readableByteCount();
+            if (overflowed || bytes.size() + (long) length > maxBytes) {
+                overflowed = true;
+                bytes.reset();
+                return;
+            }
+            byte[] chunk = new byte[length];
+            // Copies without moving the read position: the buffer is still written to the client
+            buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+            bytes.writeBytes(chunk);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.taghazout.apigateway.infrastructure.singleflight;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SRP: ONLY tracks which keys have a call in flight.
+ *
+ * The first caller for a key becomes the leader and does the work; callers
+ * arriving before it ends are followers and receive the leader's result.
+ * A leader that ends without a result (error, not shareable, cancelled)
+ * releases its followers with an empty result; they then do the work themselves.
+ */
+public final class SingleFlightGroup<T> {
+
+    private final Map<String, Flight<T>> flights = new ConcurrentHashMap<>();
+
+    public Flight<T> begin(String key) {
+        Flight<T> created = new Flight<>(key);
+        Flight<T> existing = flights.putIfAbsent(key, created);
+        if (existing == null) {
+            return created;
+        }
+        existing.waiters.incrementAndGet();
+        return existing.asFollower();
+    }
+
+    /**
+     * Must be called by the leader once its call is over, whatever the outcome.
+     */
+    public void end(Flight<T> flight) {
+        if (flight.leader) {
+            flights.remove(flight.key, flight);
+            flight.result.tryEmitEmpty();
+        }
+    }
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    public static final class Flight<T> {
+
+        private final String key;
+        private final boolean leader;
+        private final Sinks.One<T> result;
+        private final AtomicInteger waiters;
+
+        private Flight(String key) {
+            this(key, true, Sinks.one(), new AtomicInteger());
+        }
+
+        private Flight(String key, boolean leader, Sinks.One<T> result, AtomicInteger waiters) {
+            this.key = key;
+            this.leader = leader;
+            this.result = result;
+            this.waiters = waiters;
+        }
+
+        private Flight<T> asFollower() {
+            return new Flight<>(key, false, result, waiters);
+        }
+
+        public boolean isLeader() {
+            return leader;
+        }
+
+        // The leader's result; empty if the leader could not share one
+        public Mono<T> result() {
+            return result.asMono();
+        }
+
+        public void complete(T value) {
+            if (leader) {
+                result.tryEmitValue(value);
+            }
+        }
+
+        public void abandon() {
+            if (leader) {
+                result.tryEmitEmpty();
+            }
+        }
+
+        // Followers that joined this flight so far
+        public int waiters() {
+            return waiters.get();
+        }
+    }
+}
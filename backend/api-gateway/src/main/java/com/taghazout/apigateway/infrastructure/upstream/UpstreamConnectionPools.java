@@ -0,0 +1,106 @@
+package com.taghazout.apigateway.infrastructure.upstream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY owns one connection pool per upstream service.
+ *
+ * Separate pools keep a slow service from holding the connections another
+ * one needs. Each pool (per instance address inside) is bounded in
+ * connections and in requests waiting for one (pending acquires beyond that
+ * fail fast instead of queueing), evicts idle connections in the background
+ * and leases LIFO, so the most recently used (warm) connections are reused
+ * and surplus ones age out.
+ *
+ * Metrics (reactor-netty, tags name=upstream-<service>, remote.address):
+ * reactor.netty.connection.provider.{active,idle,pending,total}.connections,
+ * reactor.netty.connection.provider.pending.connections.time (acquire time),
+ * and with h2c the same per stream under name=http2.upstream-<service>.
+ * They are published to the global registry, so actuator/metrics shows them.
+ */
+@Component
+public class UpstreamConnectionPools implements DisposableBean {
+
+    private final int maxConnections;
+    private final Map<String, Integer> serviceMaxConnections;
+    private final int pendingAcquirePerConnection;
+    private final Duration pendingAcquireTimeout;
+    private final Duration maxIdleTime;
+    private final Duration maxLifeTime;
+    private final Duration evictionInterval;
+    private final boolean lifo;
+
+    private final Map<String, ConnectionProvider> pools = new ConcurrentHashMap<>();
+
+    public UpstreamConnectionPools(
+            @Value("${gateway.upstream.pool.max-connections:200}") int maxConnections,
+            @Value("${gateway.upstream.pool.service-max-connections:}") List<String> serviceMaxConnections,
+            @Value("${gateway.upstream.pool.pending-acquire-per-connection:2}") int pendingAcquirePerConnection,
+            @Value("${gateway.upstream.pool.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${gateway.upstream.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${gateway.upstream.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${gateway.upstream.pool.eviction-interval:15s}") Duration evictionInterval,
+            @Value("${gateway.upstream.pool.lifo:true}") boolean lifo) {
+        this.maxConnections = maxConnections;
+        this.serviceMaxConnections = parse(serviceMaxConnections);
+        this.pendingAcquirePerConnection = pendingAcquirePerConnection;
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+        this.maxIdleTime = maxIdleTime;
+        this.maxLifeTime = maxLifeTime;
+        this.evictionInterval = evictionInterval;
+        this.lifo = lifo;
+    }
+
+    public ConnectionProvider forService(String serviceId) {
+        return pools.computeIfAbsent(serviceId, this::create);
+    }
+
+    private ConnectionProvider create(String serviceId) {
+        int connections = serviceMaxConnections.getOrDefault(serviceId, maxConnections);
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("upstream-" + serviceId)
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(connections * pendingAcquirePerConnection)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictionInterval)
+                .metrics(true);
+        if (lifo) {
+            builder.lifo();
+        } else {
+            builder.fifo();
+        }
+        return builder.build();
+    }
+
+    int maxConnections(String serviceId) {
+        return serviceMaxConnections.getOrDefault(serviceId, maxConnections);
+    }
+
+    // service:max-connections pairs, e.g. listing-service:400,auth-service:100
+    private static Map<String, Integer> parse(List<String> entries) {
+        Map<String, Integer> limits = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            limits.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return Map.copyOf(limits);
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(ConnectionProvider::dispose);
+    }
+}
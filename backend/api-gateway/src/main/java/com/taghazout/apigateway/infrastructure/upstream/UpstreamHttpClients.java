@@ -0,0 +1,87 @@
+package com.taghazout.apigateway.infrastructure.upstream;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY provides the HttpClient of each lb:// service.
+ *
+ * Each service gets an HttpClient configured exactly like the gateway's
+ * (timeouts, SSL, HttpClientCustomizers such as h2c) but on the pool from
+ * UpstreamConnectionPools. Shared by UpstreamRoutingFilter and
+ * HedgedUpstreamClient, so hedged calls use the same pools and protocol as
+ * routed ones.
+ */
+public class UpstreamHttpClients {
+
+    private final UpstreamConnectionPools pools;
+    private final HttpClientProperties properties;
+    private final ServerProperties serverProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final List<HttpClientCustomizer> customizers;
+
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    public UpstreamHttpClients(HttpClientProperties properties,
+                               ServerProperties serverProperties,
+                               HttpClientSslConfigurer sslConfigurer,
+                               List<HttpClientCustomizer> customizers,
+                               UpstreamConnectionPools pools) {
+        this.pools = pools;
+        this.properties = properties;
+        this.serverProperties = serverProperties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+    }
+
+    /**
+     * @return the client of the route's service, with the route's connect-timeout if it has one
+     */
+    public HttpClient forRoute(Route route) {
+        HttpClient client = clients.computeIfAbsent(route.getUri().getHost(), this::create);
+        Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return client;
+    }
+
+    private HttpClient create(String serviceId) {
+        return new ServiceHttpClientFactory(properties, serverProperties, sslConfigurer, customizers,
+                pools.forService(serviceId)).build();
+    }
+
+    // The gateway's own client set-up, on a given pool
+    private static final class ServiceHttpClientFactory extends HttpClientFactory {
+
+        private final ConnectionProvider pool;
+
+        ServiceHttpClientFactory(HttpClientProperties properties, ServerProperties serverProperties,
+                                 HttpClientSslConfigurer sslConfigurer, List<HttpClientCustomizer> customizers,
+                                 ConnectionProvider pool) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.pool = pool;
+        }
+
+        HttpClient build() {
+            return createInstance();
+        }
+
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.taghazout.apigateway.infrastructure.upstream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * SRP: ONLY sends lb:// routes through their service's own connection pool.
+ *
+ * Replaces the gateway's NettyRoutingFilter (disabled in properties). lb://
+ * routes use their service's client from UpstreamHttpClients; other routes
+ * use the shared gateway client.
+ */
+public class UpstreamRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamHttpClients clients;
+
+    public UpstreamRoutingFilter(HttpClient httpClient,
+                                 ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                 HttpClientProperties properties,
+                                 UpstreamHttpClients clients) {
+        super(httpClient, headersFilters, properties);
+        this.clients = clients;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        if (!"lb".equals(route.getUri().getScheme())) {
+            return super.getHttpClient(route, exchange);
+        }
+        return clients.forRoute(route);
+    }
+}
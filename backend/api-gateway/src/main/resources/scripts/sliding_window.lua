@@ -0,0 +1,15 @@
+-- Sliding window counter flush.
+-- Adds a batch of locally counted requests to the current window and
+-- returns the global counts every gateway replica has flushed so far.
+--
+-- KEYS[1]          current window counter
+-- KEYS[2]          previous window counter
+-- ARGV[1]          number of requests to add
+-- ARGV[2]          counter TTL in millis (two windows)
+--
+-- Returns {currentWindowCount, previousWindowCount}
+
+local current = redis.call('INCRBY', KEYS[1], ARGV[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[2])
+local previous = tonumber(redis.call('GET', KEYS[2])) or 0
+return {current, previous}
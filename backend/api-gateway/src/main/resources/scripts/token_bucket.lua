@@ -0,0 +1,46 @@
+-- Atomic multi-bucket token bucket.
+-- Takes one token from every bucket in KEYS, or from none of them.
+--
+-- KEYS[i]          bucket key (hash: tokens, ts)
+-- ARGV[2i-1]       capacity of bucket i
+-- ARGV[2i]         refill rate of bucket i (tokens per second)
+--
+-- Returns {allowed (1/0), retryAfterMillis}
+-- Uses the Redis clock so every gateway replica agrees on time.
+
+local t = redis.call('TIME')
+local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+
+local levels = {}
+local retry = 0
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[2 * i - 1])
+    local rate = tonumber(ARGV[2 * i])
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(state[1]) or capacity
+    local ts = tonumber(state[2]) or now
+    tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+    levels[i] = tokens
+    if tokens < 1 then
+        retry = math.max(retry, math.ceil((1 - tokens) * 1000 / rate))
+    end
+end
+
+local allowed = 0
+if retry == 0 then
+    allowed = 1
+end
+
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[2 * i - 1])
+    local rate = tonumber(ARGV[2 * i])
+    local tokens = levels[i]
+    if allowed == 1 then
+        tokens = tokens - 1
+    end
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+    -- A bucket left alone for a full refill is equivalent to a missing one
+    redis.call('PEXPIRE', key, math.ceil(capacity * 1000 / rate) + 1000)
+end
+
+return {allowed, retry}
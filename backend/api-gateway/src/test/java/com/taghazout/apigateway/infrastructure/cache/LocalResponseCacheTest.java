@@ -0,0 +1,93 @@
+package com.taghazout.apigateway.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalResponseCache Tests")
+class LocalResponseCacheTest {
+
+    private static final long NOW = 1_800_000_000_000L;
+
+    private static CachedResponse response(String cacheControl, int bodyBytes) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.setETag("\"v1\"");
+        headers.add("X-Request-Id", "abc");
+        return CachedResponse.from(200, headers, new byte[bodyBytes], NOW, 0);
+    }
+
+    @Test
+    @DisplayName("should derive freshness and stale window from Cache-Control")
+    void shouldHonorCacheControl() {
+        CachedResponse entry = response("max-age=30, public, stale-while-revalidate=60", 10);
+
+        assertThat(entry.isFresh(NOW + 29_999)).isTrue();
+        assertThat(entry.isFresh(NOW + 30_000)).isFalse();
+        assertThat(entry.isUsable(NOW + 89_999)).isTrue();
+        assertThat(entry.isUsable(NOW + 90_000)).isFalse();
+        assertThat(entry.etag()).isEqualTo("\"v1\"");
+        assertThat(entry.headers()).containsOnlyKeys(HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG);
+    }
+
+    @Test
+    @DisplayName("should refuse responses that must not be shared")
+    void shouldRejectUncacheableResponses() {
+        assertThat(response("no-store", 10)).isNull();
+        assertThat(response("private, max-age=60", 10)).isNull();
+
+        HttpHeaders withCookie = new HttpHeaders();
+        withCookie.setCacheControl("max-age=60");
+        withCookie.add(HttpHeaders.SET_COOKIE, "session=1");
+        assertThat(CachedResponse.from(200, withCookie, new byte[1], NOW, 0)).isNull();
+        assertThat(CachedResponse.from(500, new HttpHeaders(), new byte[1], NOW, 60_000)).isNull();
+    }
+
+    @Test
+    @DisplayName("should evict least recently used entries beyond max bytes")
+    void shouldEvictBySize() {
+        LocalResponseCache cache = new LocalResponseCache(new SimpleMeterRegistry(),
+                DataSize.ofBytes(3_000), DataSize.ofBytes(2_000), Duration.ZERO);
+        cache.put("a", response("max-age=60", 500));
+        cache.put("b", response("max-age=60", 500));
+        cache.get("a", NOW);
+
+        cache.put("c", response("max-age=60", 500));
+
+        assertThat(cache.get("a", NOW)).isNotNull();
+        assertThat(cache.get("b", NOW)).isNull();
+        assertThat(cache.get("c", NOW)).isNotNull();
+        assertThat(cache.sizeBytes()).isLessThanOrEqualTo(3_000);
+        assertThat(cache.put("big", response("max-age=60", 5_000))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should drop entries past their stale window on lookup")
+    void shouldExpireEntries() {
+        LocalResponseCache cache = new LocalResponseCache(new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ZERO);
+        cache.put("a", response("max-age=30", 10));
+
+        assertThat(cache.get("a", NOW + 31_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should keep expired entries for stale-if-error lookups only")
+    void shouldKeepEntriesForStaleIfError() {
+        LocalResponseCache cache = new LocalResponseCache(new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofMinutes(10));
+        cache.put("a", response("max-age=30", 10));
+
+        assertThat(cache.get("a", NOW + 31_000)).isNull();
+        assertThat(cache.getIfError("a", NOW + 31_000)).isNotNull();
+        assertThat(cache.getIfError("a", NOW + 30_000 + 600_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,140 @@
+package com.taghazout.apigateway.infrastructure.concurrency;
+
+import com.taghazout.apigateway.infrastructure.concurrency.AdaptiveConcurrencyLimiter.Outcome;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static AdaptiveConcurrencyLimiter fixed(int limit, double reservedShare, int queueCapacity) {
+        return new AdaptiveConcurrencyLimiter(new GradientLimit(limit, limit, limit, 0.2, 1.5, 600), reservedShare,
+                PriorityClass.parse(List.of("CRITICAL:8", "HIGH:4", "NORMAL:2", "LOW:1"), 1),
+                PriorityClass.parse(List.of(), queueCapacity));
+    }
+
+    @Test
+    @DisplayName("should raise the limit while RTT stays at its baseline under load")
+    void shouldGrowWhileFast() {
+        GradientLimit limit = new GradientLimit(20, 5, 200, 0.2, 1.5, 600);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(FAST, limit.limit(), false);
+        }
+
+        assertThat(limit.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("should lower the limit when RTT rises well above its baseline")
+    void shouldShrinkWhenQueueing() {
+        GradientLimit limit = new GradientLimit(100, 5, 200, 0.2, 1.5, 600);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(FAST, 10, false);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(SLOW, limit.limit(), false);
+        }
+
+        assertThat(limit.limit()).isLessThan(100);
+    }
+
+    @Test
+    @DisplayName("should not grow when the upstream is not pushed, and back off on drops")
+    void shouldIgnoreAppLimitedSamplesAndBackOffOnDrops() {
+        GradientLimit limit = new GradientLimit(100, 5, 200, 0.2, 1.5, 600);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(FAST, 3, false);
+        }
+        assertThat(limit.limit()).isEqualTo(100);
+
+        limit.onSample(FAST, 100, true);
+        assertThat(limit.limit()).isEqualTo(90);
+    }
+
+    @Test
+    @DisplayName("should keep the reserved share of the limit from LOW requests")
+    void shouldReserveCapacityFromLowRequests() {
+        AdaptiveConcurrencyLimiter limiter = fixed(10, 0.2, 10);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire(PriorityClass.LOW)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(PriorityClass.LOW)).isFalse();
+        assertThat(limiter.tryAcquire(PriorityClass.NORMAL)).isTrue();
+        assertThat(limiter.tryAcquire(PriorityClass.CRITICAL)).isTrue();
+        assertThat(limiter.tryAcquire(PriorityClass.CRITICAL)).isFalse();
+
+        limiter.release(FAST, Outcome.IGNORED);
+        assertThat(limiter.inFlight()).isEqualTo(9);
+        assertThat(limiter.tryAcquire(PriorityClass.CRITICAL)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should hand released slots to queued requests and shed past the queue bounds")
+    void shouldQueueWhenSaturated() {
+        AdaptiveConcurrencyLimiter limiter = fixed(1, 0, 1);
+        StepVerifier.create(limiter.acquire(PriorityClass.NORMAL, Duration.ofSeconds(5)))
+                .expectNext(true).verifyComplete();
+
+        List<Boolean> results = new ArrayList<>();
+        limiter.acquire(PriorityClass.LOW, Duration.ofSeconds(5)).subscribe(results::add);
+        StepVerifier.create(limiter.acquire(PriorityClass.LOW, Duration.ofSeconds(5)))
+                .expectNext(false).verifyComplete();
+        assertThat(limiter.queued(PriorityClass.LOW)).isEqualTo(1);
+
+        limiter.release(FAST, Outcome.SUCCESS);
+
+        assertThat(results).containsExactly(true);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.queued(PriorityClass.LOW)).isZero();
+    }
+
+    @Test
+    @DisplayName("should give up waiting after max wait and free the queue slot")
+    void shouldTimeOutQueuedRequests() {
+        AdaptiveConcurrencyLimiter limiter = fixed(1, 0, 1);
+        assertThat(limiter.tryAcquire(PriorityClass.CRITICAL)).isTrue();
+
+        StepVerifier.create(limiter.acquire(PriorityClass.CRITICAL, Duration.ofMillis(20)))
+                .expectNext(false).verifyComplete();
+
+        assertThat(limiter.queued(PriorityClass.CRITICAL)).isZero();
+        limiter.release(FAST, Outcome.SUCCESS);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("should serve backlogged classes in proportion to their weights")
+    void shouldServeClassesByWeight() {
+        WeightedFairQueue<String> queue = new WeightedFairQueue<>(
+                PriorityClass.parse(List.of("CRITICAL:3", "LOW:1"), 1), PriorityClass.parse(List.of(), 100));
+        for (int i = 0; i < 8; i++) {
+            queue.offer(PriorityClass.LOW, "low");
+            queue.offer(PriorityClass.CRITICAL, "critical");
+        }
+
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            served.add(queue.poll(priority -> true));
+        }
+
+        assertThat(served).filteredOn("critical"::equals).hasSize(6);
+        assertThat(queue.poll(priority -> priority != PriorityClass.CRITICAL)).isEqualTo("low");
+        assertThat(queue.isEmpty()).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package com.taghazout.apigateway.infrastructure.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PriorityClassifier Tests")
+class PriorityClassifierTest {
+
+    private final PriorityClassifier classifier = new PriorityClassifier(
+            List.of("booking-service:CRITICAL"), List.of("HOST:HIGH", "ADMIN:HIGH"));
+
+    private static MockServerWebExchange exchange(String routeId, String userId, String roles) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.post("/api/v1/x");
+        if (userId != null) {
+            request.header("X-User-Id", userId);
+        }
+        if (roles != null) {
+            request.header("X-User-Roles", roles);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("lb://any").predicate(ex -> true).build());
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("should classify by route and role, keeping the highest")
+    void shouldClassifyAuthenticatedRequests() {
+        assertThat(classifier.classify(exchange("booking-service", "7", "CLIENT"), true))
+                .isEqualTo(PriorityClass.CRITICAL);
+        assertThat(classifier.classify(exchange("booking-service", "7", "HOST"), true))
+                .isEqualTo(PriorityClass.CRITICAL);
+        assertThat(classifier.classify(exchange("listing-service-secured", "7", "CLIENT, host"), true))
+                .isEqualTo(PriorityClass.HIGH);
+        assertThat(classifier.classify(exchange("listing-service-secured", "7", "CLIENT"), true))
+                .isEqualTo(PriorityClass.NORMAL);
+    }
+
+    @Test
+    @DisplayName("should put anonymous requests and untrusted identity headers in LOW")
+    void shouldClassifyAnonymousRequestsLow() {
+        assertThat(classifier.classify(exchange("listing-service-secured", null, null), true))
+                .isEqualTo(PriorityClass.LOW);
+        assertThat(classifier.classify(exchange("listing-service-public", "7", "ADMIN"), false))
+                .isEqualTo(PriorityClass.LOW);
+    }
+}
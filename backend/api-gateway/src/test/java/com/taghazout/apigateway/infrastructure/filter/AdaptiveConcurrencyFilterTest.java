@@ -0,0 +1,173 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.infrastructure.concurrency.AdaptiveConcurrencyLimiter.Outcome;
+import com.taghazout.apigateway.infrastructure.concurrency.PriorityClassifier;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdaptiveConcurrencyFilter Tests")
+class AdaptiveConcurrencyFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter anonymous;
+    private GatewayFilter authenticated;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Fixed limit of 2, one slot reserved from anonymous requests, no queueing
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(
+                new PriorityClassifier(List.of("booking-service:CRITICAL"), List.of()), meterRegistry, true,
+                2, 2, 2, 0.2, 1.5, 600, 0.5, List.of(), List.of("CRITICAL:0", "HIGH:0", "NORMAL:0", "LOW:0"),
+                Duration.ofMillis(100), 0.9);
+        anonymous = filter.apply(new AdaptiveConcurrencyFilter.Config());
+        authenticated = filter.apply(AdaptiveConcurrencyFilter.Config.authenticated());
+    }
+
+    private static MockServerWebExchange exchange(String routeId, String userId) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/v1/listings");
+        if (userId != null) {
+            request.header("X-User-Id", userId);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("lb://listing-service").predicate(ex -> true).build());
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("should shed anonymous requests first and keep the reserve for authenticated ones")
+    void shouldShedAnonymousFirst() {
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        anonymous.filter(exchange("listing-service-public", null), ex -> upstream.asMono()).subscribe();
+
+        MockServerWebExchange shed = exchange("listing-service-public", null);
+        StepVerifier.create(anonymous.filter(shed, ex -> Mono.empty())).verifyComplete();
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        MockServerWebExchange booking = exchange("listing-service-secured", "42");
+        StepVerifier.create(authenticated.filter(booking, ex -> Mono.empty())).verifyComplete();
+        assertThat(booking.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        assertThat(meterRegistry.get("gateway.concurrency.rejected")
+                .tags("upstream", "listing-service", "class", "low", "reason", "queue_full").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.priority.queue.wait").tags("class", "normal").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").gauge().value()).isEqualTo(1);
+        upstream.tryEmitEmpty();
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("should back the limit off on a saturated upstream pool and strip the header")
+    void shouldBackOffOnPoolSaturation() {
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(
+                new PriorityClassifier(List.of(), List.of()), meterRegistry, true,
+                100, 10, 100, 0.2, 1.5, 600, 0.2, List.of(), List.of(), Duration.ofMillis(100), 0.9);
+        GatewayFilter limited = filter.apply(new AdaptiveConcurrencyFilter.Config());
+
+        MockServerWebExchange busy = exchange("listing-service-public", null);
+        StepVerifier.create(limited.filter(busy, ex -> {
+            ex.getResponse().getHeaders().set("X-Pool-Saturation", "0.95");
+            return ex.getResponse().setComplete();
+        })).verifyComplete();
+
+        assertThat(busy.getResponse().getHeaders().containsKey("X-Pool-Saturation")).isFalse();
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(90);
+
+        MockServerWebExchange idle = exchange("listing-service-public", null);
+        StepVerifier.create(limited.filter(idle, ex -> {
+            ex.getResponse().getHeaders().set("X-Pool-Saturation", "0.20");
+            return ex.getResponse().setComplete();
+        })).verifyComplete();
+
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(90);
+    }
+
+    @Test
+    @DisplayName("should count upstream overload statuses as drops")
+    void shouldClassifyOutcomes() {
+        assertThat(AdaptiveConcurrencyFilter.outcome(HttpStatusCode.valueOf(503))).isEqualTo(Outcome.DROPPED);
+        assertThat(AdaptiveConcurrencyFilter.outcome(HttpStatusCode.valueOf(429))).isEqualTo(Outcome.DROPPED);
+        assertThat(AdaptiveConcurrencyFilter.outcome(HttpStatusCode.valueOf(404))).isEqualTo(Outcome.SUCCESS);
+        assertThat(AdaptiveConcurrencyFilter.outcome(null)).isEqualTo(Outcome.SUCCESS);
+    }
+
+    @Test
+    @DisplayName("should ignore open-breaker fallbacks and count failed-call fallbacks as drops")
+    void shouldClassifyBreakerFallbacks() {
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(
+                new PriorityClassifier(List.of(), List.of()), meterRegistry, true,
+                100, 10, 100, 0.2, 1.5, 600, 0.2, List.of(), List.of(), Duration.ofMillis(100), 0.9);
+        GatewayFilter limited = filter.apply(new AdaptiveConcurrencyFilter.Config());
+
+        // Open breaker: 503 from the fallback, the upstream was never called
+        MockServerWebExchange open = exchange("listing-service-public", null);
+        StepVerifier.create(limited.filter(open, ex -> {
+            ex.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR,
+                    CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("listing")));
+            ex.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return ex.getResponse().setComplete();
+        })).verifyComplete();
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(100);
+
+        // Timed out upstream: a drop, even though the fallback served a cached 200
+        MockServerWebExchange timedOut = exchange("listing-service-public", null);
+        StepVerifier.create(limited.filter(timedOut, ex -> {
+            ex.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR,
+                    new TimeoutException());
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return ex.getResponse().setComplete();
+        })).verifyComplete();
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(90);
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("should release a queued, then admitted, then cancelled request exactly once")
+    void shouldReleaseAdmittedWaiterOnceOnCancel() {
+        // Fixed limit of 1 with room to queue
+        AdaptiveConcurrencyFilter filter = new AdaptiveConcurrencyFilter(
+                new PriorityClassifier(List.of(), List.of()), meterRegistry, true,
+                1, 1, 1, 0.2, 1.5, 600, 0.2, List.of(), List.of(), Duration.ofSeconds(5), 0.9);
+        GatewayFilter limited = filter.apply(new AdaptiveConcurrencyFilter.Config());
+
+        Sinks.Empty<Void> first = Sinks.empty();
+        limited.filter(exchange("listing-service-public", null), ex -> first.asMono()).subscribe();
+        Disposable queued = limited.filter(exchange("listing-service-public", null), ex -> Mono.never()).subscribe();
+        assertThat(meterRegistry.get("gateway.priority.queue.size").tag("class", "low").gauge().value())
+                .isEqualTo(1);
+
+        // The first request finishes: the queued one is admitted and goes upstream
+        first.tryEmitEmpty();
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").gauge().value()).isEqualTo(1);
+
+        queued.dispose();
+
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").gauge().value()).isZero();
+    }
+}
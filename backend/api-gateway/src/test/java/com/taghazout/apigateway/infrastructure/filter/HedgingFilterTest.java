@@ -0,0 +1,133 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.infrastructure.hedging.HedgeBudget;
+import com.taghazout.apigateway.infrastructure.hedging.LatencyPercentile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the HedgingFilter race.
+ */
+@DisplayName("HedgingFilter Tests")
+class HedgingFilterTest {
+
+    private static HedgeBudget fullBudget() {
+        HedgeBudget budget = new HedgeBudget(1.0, 10);
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+        return budget;
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the primary answers before the threshold")
+    void shouldNotHedgeFastPrimary() {
+        AtomicInteger hedges = new AtomicInteger();
+        List<String> outcomes = new ArrayList<>();
+
+        StepVerifier.create(HedgingFilter.race(
+                        Mono.just("primary").delayElement(Duration.ofMillis(10)),
+                        () -> {
+                            hedges.incrementAndGet();
+                            return Mono.just("hedge");
+                        },
+                        Duration.ofMillis(200), fullBudget(), outcomes::add))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(hedges).hasValue(0);
+        assertThat(outcomes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer with the hedge and cancel a slow primary")
+    void shouldHedgeSlowPrimary() {
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        List<String> outcomes = new ArrayList<>();
+
+        StepVerifier.create(HedgingFilter.race(
+                        Mono.just("primary").delayElement(Duration.ofSeconds(5))
+                                .doOnCancel(() -> primaryCancelled.set(true)),
+                        () -> Mono.just("hedge").delayElement(Duration.ofMillis(10)),
+                        Duration.ofMillis(50), fullBudget(), outcomes::add))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertThat(primaryCancelled).isTrue();
+        assertThat(outcomes).containsExactly("won");
+    }
+
+    @Test
+    @DisplayName("Should cancel the hedge when the primary wins after all")
+    void shouldCancelLosingHedge() {
+        List<String> outcomes = new ArrayList<>();
+
+        StepVerifier.create(HedgingFilter.race(
+                        Mono.just("primary").delayElement(Duration.ofMillis(100)),
+                        () -> Mono.just("hedge").delayElement(Duration.ofSeconds(5)),
+                        Duration.ofMillis(20), fullBudget(), outcomes::add))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(outcomes).containsExactly("lost");
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the budget is spent")
+    void shouldRespectBudget() {
+        AtomicInteger hedges = new AtomicInteger();
+        List<String> outcomes = new ArrayList<>();
+
+        StepVerifier.create(HedgingFilter.race(
+                        Mono.just("primary").delayElement(Duration.ofMillis(100)),
+                        () -> {
+                            hedges.incrementAndGet();
+                            return Mono.just("hedge");
+                        },
+                        Duration.ofMillis(10), new HedgeBudget(0.05, 10), outcomes::add))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertThat(hedges).hasValue(0);
+        assertThat(outcomes).containsExactly("exhausted");
+    }
+
+    @Test
+    @DisplayName("Should answer with the hedge when the primary fails")
+    void shouldSurvivePrimaryFailure() {
+        StepVerifier.create(HedgingFilter.race(
+                        Mono.<String>error(new IllegalStateException("connection reset"))
+                                .delaySubscription(Duration.ofMillis(80)),
+                        () -> Mono.just("hedge").delayElement(Duration.ofMillis(50)),
+                        Duration.ofMillis(20), fullBudget(), outcome -> { }))
+                .expectNext("hedge")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should record the cancelled primary's latency, not only the winner's")
+    void shouldRecordLosingAttempt() {
+        // Max of a two-sample window: the slower of the two attempts
+        LatencyPercentile latency = new LatencyPercentile(1.0, 2);
+
+        StepVerifier.create(HedgingFilter.race(
+                        HedgingFilter.timed(Mono.just("primary").delayElement(Duration.ofSeconds(5)), latency),
+                        () -> HedgingFilter.timed(Mono.just("hedge").delayElement(Duration.ofMillis(10)), latency),
+                        Duration.ofMillis(100), fullBudget(), outcome -> {}))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        // The primary ran for delay + hedge latency before it was cancelled
+        assertThat(latency.nanos()).isGreaterThanOrEqualTo(Duration.ofMillis(110).toNanos());
+    }
+}
@@ -3,6 +3,8 @@ package com.taghazout.apigateway.infrastructure.filter;
 import com.taghazout.apigateway.domain.exception.JwtValidationException;
 import com.taghazout.apigateway.domain.model.UserPrincipal;
 import com.taghazout.apigateway.domain.service.JwtValidator;
+import com.taghazout.apigateway.infrastructure.logging.RequestLogSampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import org.springframework.mock.web.server.MockServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
@@ -45,6 +48,7 @@ class JwtAuthenticationFilterTest {
 
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     private GatewayFilter gatewayFilter;
+    private SimpleMeterRegistry meterRegistry;
 
     private static final String VALID_TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.valid";
     private static final String USER_ID = "user-123";
@@ -52,7 +56,9 @@ class JwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtValidator, routeValidator);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtValidator, routeValidator,
+                new RequestLogSampler(1.0, List.of()), meterRegistry);
         gatewayFilter = jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config());
     }
 
@@ -104,6 +110,8 @@ class JwtAuthenticationFilterTest {
 
         assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
         verify(jwtValidator, never()).validateToken(any());
+        assertThat(meterRegistry.counter("gateway.jwt.rejected", "route", "unknown", "reason", "missing_header").count())
+                .isEqualTo(1.0);
     }
 
     @Test
@@ -202,7 +210,7 @@ class JwtAuthenticationFilterTest {
 
         when(routeValidator.isSecured(any())).thenReturn(true);
         when(jwtValidator.validateToken("invalid-token"))
-                .thenThrow(new JwtValidationException("Token expired"));
+                .thenThrow(new JwtValidationException(JwtValidationException.Reason.EXPIRED, "Token expired"));
 
         // When
         Mono<Void> result = gatewayFilter.filter(exchange, filterChain);
@@ -213,6 +221,8 @@ class JwtAuthenticationFilterTest {
 
         assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
         verify(filterChain, never()).filter(any());
+        assertThat(meterRegistry.counter("gateway.jwt.rejected", "route", "unknown", "reason", "expired").count())
+                .isEqualTo(1.0);
     }
 
     @Test
@@ -0,0 +1,173 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import com.taghazout.apigateway.domain.service.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LoginRateLimitFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginRateLimitFilter Tests")
+class LoginRateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private GatewayFilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter gatewayFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        LoginRateLimitFilter filter = new LoginRateLimitFilter(rateLimiter, meterRegistry, 20, 10, 5, 2, true);
+        gatewayFilter = filter.apply(new LoginRateLimitFilter.Config());
+    }
+
+    private static MockServerWebExchange login(String body) {
+        return MockServerWebExchange.from(MockServerHttpRequest
+                .post("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 51000))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("Should key buckets by client IP and hashed, normalized email")
+    void shouldLimitByIpAndEmail() {
+        // Given
+        when(rateLimiter.tryAcquire(any())).thenReturn(Mono.just(RateLimitDecision.allow()));
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(gatewayFilter.filter(
+                        login("{\"email\":\"  Test@Example.com \",\"password\":\"secret\"}"), filterChain))
+                .verifyComplete();
+
+        // Then
+        ArgumentCaptor<Map<String, RateLimitPolicy>> buckets = ArgumentCaptor.forClass(Map.class);
+        verify(rateLimiter).tryAcquire(buckets.capture());
+        assertThat(buckets.getValue()).containsOnlyKeys(
+                "rl:login:ip:203.0.113.7",
+                "rl:login:email:" + LoginRateLimitFilter.sha256("test@example.com"));
+        verify(filterChain).filter(any());
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 and Retry-After when a bucket is empty")
+    void shouldRejectWhenLimited() {
+        // Given
+        when(rateLimiter.tryAcquire(any())).thenReturn(Mono.just(RateLimitDecision.reject(1500)));
+        MockServerWebExchange exchange = login("{\"email\":\"test@example.com\",\"password\":\"x\"}");
+
+        // When
+        StepVerifier.create(gatewayFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(meterRegistry.get("gateway.login.rate_limited").counter().count()).isEqualTo(1.0);
+        verifyNoInteractions(filterChain);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("Should fall back to the IP bucket for unparseable bodies")
+    void shouldLimitByIpOnlyForMalformedBody() {
+        // Given
+        when(rateLimiter.tryAcquire(any())).thenReturn(Mono.just(RateLimitDecision.allow()));
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(gatewayFilter.filter(login("not json"), filterChain))
+                .verifyComplete();
+
+        // Then
+        ArgumentCaptor<Map<String, RateLimitPolicy>> buckets = ArgumentCaptor.forClass(Map.class);
+        verify(rateLimiter).tryAcquire(buckets.capture());
+        assertThat(buckets.getValue()).containsOnlyKeys("rl:login:ip:203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("Should reject a chunked body over the limit with 413 without buffering it")
+    void shouldRejectOversizedChunkedBody() {
+        // Given: no Content-Length, 3 x 2 KB chunks
+        DataBuffer chunk = DefaultDataBufferFactory.sharedInstance
+                .wrap("x".repeat(2048).getBytes(StandardCharsets.UTF_8));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .post("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 51000))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.just(chunk, chunk, chunk)));
+
+        // When
+        StepVerifier.create(gatewayFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        verifyNoInteractions(rateLimiter, filterChain);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("Should parse the email from a small chunked body")
+    void shouldLimitByEmailForSmallChunkedBody() {
+        // Given
+        when(rateLimiter.tryAcquire(any())).thenReturn(Mono.just(RateLimitDecision.allow()));
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+        DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .post("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 51000))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.just(
+                        factory.wrap("{\"email\":\"a@b.c\",".getBytes(StandardCharsets.UTF_8)),
+                        factory.wrap("\"password\":\"x\"}".getBytes(StandardCharsets.UTF_8)))));
+
+        // When
+        StepVerifier.create(gatewayFilter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        ArgumentCaptor<Map<String, RateLimitPolicy>> buckets = ArgumentCaptor.forClass(Map.class);
+        verify(rateLimiter).tryAcquire(buckets.capture());
+        assertThat(buckets.getValue()).containsOnlyKeys(
+                "rl:login:ip:203.0.113.7",
+                "rl:login:email:" + LoginRateLimitFilter.sha256("a@b.c"));
+        verify(filterChain).filter(any());
+    }
+}
@@ -0,0 +1,121 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import com.taghazout.apigateway.infrastructure.filter.RateLimitFilter.RateLimitKey;
+import com.taghazout.apigateway.infrastructure.ratelimit.SlidingWindowRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RateLimitFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    @Mock
+    private SlidingWindowRateLimiter rateLimiter;
+
+    @Mock
+    private GatewayFilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(rateLimiter, meterRegistry);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request
+                .remoteAddress(new InetSocketAddress("198.51.100.4", 40000)));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("booking-service").uri("lb://booking-service")
+                        .predicate(ex -> true).build());
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("Should key USER limits by X-User-Id and fall back to the IP")
+    void shouldResolveClientKeys() {
+        assertThat(RateLimitFilter.resolveClient(
+                exchange(MockServerHttpRequest.get("/api/v1/bookings").header("X-User-Id", "42")), RateLimitKey.USER))
+                .isEqualTo("user:42");
+        assertThat(RateLimitFilter.resolveClient(
+                exchange(MockServerHttpRequest.get("/api/v1/bookings")), RateLimitKey.USER))
+                .isEqualTo("ip:198.51.100.4");
+        assertThat(RateLimitFilter.resolveClient(
+                exchange(MockServerHttpRequest.get("/api/v1/bookings").header("X-API-Key", "secret")),
+                RateLimitKey.API_KEY))
+                .isEqualTo("key:" + LoginRateLimitFilter.sha256("secret"));
+    }
+
+    @Test
+    @DisplayName("Should forward allowed requests and record decision latency per route")
+    void shouldForwardAllowedRequests() {
+        // Given
+        GatewayFilter filter = rateLimitFilter.apply(RateLimitFilter.Config.of(10, 20, RateLimitKey.USER));
+        when(rateLimiter.tryAcquire(eq("booking-service:user:42"), any(RateLimitPolicy.class)))
+                .thenReturn(RateLimitDecision.allow());
+        when(filterChain.filter(any())).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(
+                        exchange(MockServerHttpRequest.get("/api/v1/bookings").header("X-User-Id", "42")), filterChain))
+                .verifyComplete();
+
+        // Then
+        verify(filterChain).filter(any());
+        assertThat(meterRegistry.get("gateway.ratelimit.decision")
+                .tags("route", "booking-service", "outcome", "allowed").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 and Retry-After when over the limit")
+    void shouldRejectOverLimit() {
+        // Given
+        GatewayFilter filter = rateLimitFilter.apply(RateLimitFilter.Config.of(10, 20, RateLimitKey.IP));
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(RateLimitDecision.reject(250));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/bookings"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.get("gateway.ratelimit.rejected").tag("route", "booking-service").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("gateway.ratelimit.decision")
+                .tags("route", "booking-service", "outcome", "rejected").timer().count())
+                .isEqualTo(1);
+        verifyNoInteractions(filterChain);
+    }
+}
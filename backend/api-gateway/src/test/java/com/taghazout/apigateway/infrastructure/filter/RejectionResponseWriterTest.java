@@ -0,0 +1,123 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taghazout.apigateway.application.dto.AuthResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RejectionResponseWriter.
+ *
+ * The benchmark against the Jackson path runs with -Dbenchmark=true.
+ */
+@DisplayName("RejectionResponseWriter Tests")
+class RejectionResponseWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DefaultDataBufferFactory FACTORY = DefaultDataBufferFactory.sharedInstance;
+
+    private static String encode(HttpStatus status, String message, String path) {
+        DataBuffer buffer = RejectionResponseWriter.encode(FACTORY, status, message, path);
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce the same fields as AuthResponse")
+    void shouldMatchAuthResponse() throws Exception {
+        JsonNode expected = MAPPER.readTree(AuthResponse.unauthorized("/api/v1/bookings/7").toJsonBytes());
+        JsonNode actual = MAPPER.readTree(encode(HttpStatus.UNAUTHORIZED, AuthResponse.UNAUTHORIZED_MESSAGE,
+                "/api/v1/bookings/7"));
+
+        assertThat(actual.fieldNames()).toIterable().containsExactly("message", "path", "status", "timestamp");
+        assertThat(actual.get("message")).isEqualTo(expected.get("message"));
+        assertThat(actual.get("path")).isEqualTo(expected.get("path"));
+        assertThat(actual.get("status")).isEqualTo(expected.get("status"));
+        assertThat(LocalDateTime.parse(actual.get("timestamp").asText()))
+                .isBetween(LocalDateTime.now().minusSeconds(5), LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should escape quotes and control characters")
+    void shouldEscapeStrings() throws Exception {
+        JsonNode actual = MAPPER.readTree(encode(HttpStatus.UNAUTHORIZED, "Bad \"token\"\n", "/a\\b"));
+
+        assertThat(actual.get("message").asText()).isEqualTo("Bad \"token\"\n");
+        assertThat(actual.get("path").asText()).isEqualTo("/a\\b");
+    }
+
+    @Test
+    @DisplayName("Should write status, JSON content type and content length")
+    void shouldWriteResponse() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/bookings"));
+
+        StepVerifier.create(RejectionResponseWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests"))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getContentType().toString()).isEqualTo("application/json");
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .assertNext(body -> assertThat(exchange.getResponse().getHeaders().getContentLength())
+                        .isEqualTo(body.getBytes(StandardCharsets.UTF_8).length))
+                .verifyComplete();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: pre-encoded templates vs AuthResponse + Jackson")
+    void benchmarkAgainstJackson() {
+        int iterations = 2_000_000;
+        long sink = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            sink += runJackson(iterations / 10) + runTemplates(iterations / 10);
+        }
+
+        long start = System.nanoTime();
+        sink += runJackson(iterations);
+        long jacksonNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        sink += runTemplates(iterations);
+        long templateNanos = System.nanoTime() - start;
+
+        System.out.printf("AuthResponse + Jackson: %d ns/op%nPre-encoded templates: %d ns/op%n(sink %d)%n",
+                jacksonNanos / iterations, templateNanos / iterations, sink);
+        assertThat(templateNanos).isLessThan(jacksonNanos);
+    }
+
+    private static long runJackson(int iterations) {
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            DataBuffer buffer = FACTORY.wrap(AuthResponse.unauthorized("/api/v1/bookings/" + (i & 1023)).toJsonBytes());
+            bytes += buffer.readableByteCount();
+        }
+        return bytes;
+    }
+
+    private static long runTemplates(int iterations) {
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            DataBuffer buffer = RejectionResponseWriter.encode(FACTORY, HttpStatus.UNAUTHORIZED,
+                    AuthResponse.UNAUTHORIZED_MESSAGE, "/api/v1/bookings/" + (i & 1023));
+            bytes += buffer.readableByteCount();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,161 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import com.taghazout.apigateway.infrastructure.cache.LocalResponseCache;
+import com.taghazout.apigateway.infrastructure.cache.RedisResponseCache;
+import com.taghazout.apigateway.infrastructure.cache.ResponseRevalidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ResponseCacheFilter.
+ */
+@DisplayName("ResponseCacheFilter Tests")
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":1}]";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamCalls = new AtomicInteger();
+        LocalResponseCache localCache = new LocalResponseCache(meterRegistry,
+                DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ZERO);
+        RedisResponseCache sharedCache = new RedisResponseCache(mock(ReactiveStringRedisTemplate.class),
+                false, "gw:cache:", Duration.ofMillis(50));
+        ResponseRevalidator revalidator = new ResponseRevalidator(
+                mock(ObjectProvider.class), Duration.ofSeconds(1));
+        ResponseCacheFilter factory = new ResponseCacheFilter(localCache, sharedCache, revalidator, meterRegistry,
+                true, Duration.ZERO, Duration.ofSeconds(2), "recent_write");
+        filter = factory.apply(new ResponseCacheFilter.Config());
+    }
+
+    private GatewayFilterChain upstream(String cacheControl, Duration delay) {
+        return exchange -> Mono.delay(delay).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+            exchange.getResponse().getHeaders().setETag("\"abc\"");
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private static String body(ServerWebExchange exchange) {
+        return ((MockServerWebExchange) exchange).getResponse().getBodyAsString().block();
+    }
+
+    @Test
+    @DisplayName("Should serve the second request from the cache")
+    void shouldServeHitFromCache() {
+        GatewayFilterChain chain = upstream("max-age=30, public", Duration.ZERO);
+        MockServerWebExchange first = get("/api/v1/listings?b=2&a=1");
+        MockServerWebExchange second = get("/api/v1/listings/?a=1&b=2");
+
+        StepVerifier.create(filter.filter(first, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(second, chain)).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(body(second)).isEqualTo(BODY);
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo("\"abc\"");
+        assertThat(meterRegistry.get("gateway.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304")
+    void shouldAnswerNotModified() {
+        GatewayFilterChain chain = upstream("max-age=30", Duration.ZERO);
+        StepVerifier.create(filter.filter(get("/api/v1/listings"), chain)).verifyComplete();
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/v1/listings").ifNoneMatch("\"abc\""));
+        StepVerifier.create(filter.filter(conditional, chain)).verifyComplete();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache no-store responses or authenticated requests")
+    void shouldBypassWhenNotCacheable() {
+        GatewayFilterChain noStore = upstream("no-store", Duration.ZERO);
+        StepVerifier.create(filter.filter(get("/api/v1/listings"), noStore)).verifyComplete();
+        StepVerifier.create(filter.filter(get("/api/v1/listings"), noStore)).verifyComplete();
+
+        GatewayFilterChain cacheable = upstream("max-age=30", Duration.ZERO);
+        MockServerWebExchange authenticated = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/v1/listings/mine").header(HttpHeaders.AUTHORIZATION, "Bearer x"));
+        StepVerifier.create(filter.filter(authenticated, cacheable)).verifyComplete();
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/v1/listings/mine").header(HttpHeaders.AUTHORIZATION, "Bearer x")), cacheable))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should send a client that just wrote upstream even when the entry is cached")
+    void shouldBypassForRecentWriters() {
+        GatewayFilterChain chain = upstream("max-age=30, public", Duration.ZERO);
+        StepVerifier.create(filter.filter(get("/api/v1/listings?hostId=7"), chain)).verifyComplete();
+
+        MockServerWebExchange writer = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/v1/listings?hostId=7").cookie(new HttpCookie("recent_write", "1760000000000")));
+        StepVerifier.create(filter.filter(writer, chain)).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(writer.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isNull();
+        assertThat(body(writer)).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent misses into one upstream call")
+    void shouldCoalesceConcurrentMisses() {
+        GatewayFilterChain slow = upstream("max-age=30", Duration.ofMillis(200));
+        MockServerWebExchange leader = get("/api/v1/listings");
+        MockServerWebExchange follower = get("/api/v1/listings");
+
+        StepVerifier.create(Mono.when(filter.filter(leader, slow), filter.filter(follower, slow)))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(body(follower)).isEqualTo(BODY);
+        assertThat(follower.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER))
+                .isEqualTo("COALESCED");
+    }
+}
@@ -0,0 +1,138 @@
+package com.taghazout.apigateway.infrastructure.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SingleFlightFilter.
+ */
+@DisplayName("SingleFlightFilter Tests")
+class SingleFlightFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"status\":\"CONFIRMED\"}]";
+    private static final List<String> KEY_HEADERS = List.of("Accept", "Authorization");
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstreamCalls = new AtomicInteger();
+    }
+
+    private GatewayFilter filter(DataSize maxBodyBytes, Duration maxWait) {
+        return new SingleFlightFilter(meterRegistry, true, maxBodyBytes, maxWait, KEY_HEADERS)
+                .apply(new SingleFlightFilter.Config());
+    }
+
+    private GatewayFilterChain upstream(Duration delay) {
+        return exchange -> Mono.delay(delay).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+
+    private static MockServerWebExchange get(String uri, String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    @Test
+    @DisplayName("Should fan one upstream response out to concurrent identical requests")
+    void shouldShareOneUpstreamCall() {
+        GatewayFilter filter = filter(DataSize.ofKilobytes(64), Duration.ofSeconds(2));
+        GatewayFilterChain slow = upstream(Duration.ofMillis(200));
+        MockServerWebExchange leader = get("/api/v1/bookings?b=2&a=1", "alice");
+        MockServerWebExchange follower = get("/api/v1/bookings?a=1&b=2", "alice");
+
+        StepVerifier.create(Mono.when(filter.filter(leader, slow), filter.filter(follower, slow)))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(meterRegistry.get("gateway.singleflight.upstream.saved").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.singleflight.waiters").summary().max()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should never share a response between different users")
+    void shouldKeyOnAuthorization() {
+        GatewayFilter filter = filter(DataSize.ofKilobytes(64), Duration.ofSeconds(2));
+        GatewayFilterChain slow = upstream(Duration.ofMillis(100));
+
+        StepVerifier.create(Mono.when(filter.filter(get("/api/v1/bookings", "alice"), slow),
+                filter.filter(get("/api/v1/bookings", "bob"), slow))).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should send followers upstream when the body exceeds the buffer bound")
+    void shouldFallBackWhenBodyTooLarge() {
+        GatewayFilter filter = filter(DataSize.ofBytes(8), Duration.ofSeconds(2));
+        GatewayFilterChain slow = upstream(Duration.ofMillis(100));
+        MockServerWebExchange leader = get("/api/v1/bookings", "alice");
+        MockServerWebExchange follower = get("/api/v1/bookings", "alice");
+
+        StepVerifier.create(Mono.when(filter.filter(leader, slow), filter.filter(follower, slow)))
+                .verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(meterRegistry.get("gateway.singleflight.requests").tag("result", "fallback").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the leader after max-wait")
+    void shouldBoundFollowerWait() {
+        GatewayFilter filter = filter(DataSize.ofKilobytes(64), Duration.ofMillis(50));
+        GatewayFilterChain slow = upstream(Duration.ofMillis(300));
+
+        StepVerifier.create(Mono.when(filter.filter(get("/api/v1/bookings", "alice"), slow),
+                filter.filter(get("/api/v1/bookings", "alice"), slow))).verifyComplete();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should build the same key for equivalent requests")
+    void shouldNormalizeKey() {
+        String a = SingleFlightFilter.flightKey(MockServerHttpRequest.get("/api/v1/listings/?q=x&city=taghazout")
+                .accept(MediaType.APPLICATION_JSON).build(), KEY_HEADERS);
+        String b = SingleFlightFilter.flightKey(MockServerHttpRequest.get("/api/v1/listings?city=taghazout&q=x")
+                .accept(MediaType.APPLICATION_JSON).build(), KEY_HEADERS);
+        String head = SingleFlightFilter.flightKey(MockServerHttpRequest.head("/api/v1/listings?city=taghazout&q=x")
+                .accept(MediaType.APPLICATION_JSON).build(), KEY_HEADERS);
+
+        assertThat(a).isEqualTo(b);
+        assertThat(head).isNotEqualTo(a);
+    }
+}
@@ -0,0 +1,39 @@
+package com.taghazout.apigateway.infrastructure.hedging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HedgeBudget Tests")
+class HedgeBudgetTest {
+
+    @Test
+    @DisplayName("should allow one hedge per twenty requests at 5%")
+    void shouldLimitHedgesToRatio() {
+        HedgeBudget budget = new HedgeBudget(0.05, 10);
+
+        int hedges = 0;
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should cap saved tokens")
+    void shouldCapSavedTokens() {
+        HedgeBudget budget = new HedgeBudget(0.05, 2);
+        for (int i = 0; i < 1_000; i++) {
+            budget.onRequest();
+        }
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
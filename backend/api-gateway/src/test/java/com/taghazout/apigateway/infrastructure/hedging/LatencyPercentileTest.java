@@ -0,0 +1,36 @@
+package com.taghazout.apigateway.infrastructure.hedging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LatencyPercentile Tests")
+class LatencyPercentileTest {
+
+    @Test
+    @DisplayName("should report nothing until enough samples are seen")
+    void shouldWaitForSamples() {
+        LatencyPercentile p95 = new LatencyPercentile(0.95, 100);
+        for (int i = 0; i < 9; i++) {
+            p95.record(1_000);
+        }
+
+        assertThat(p95.nanos()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("should follow the recent window")
+    void shouldTrackRecentPercentile() {
+        LatencyPercentile p95 = new LatencyPercentile(0.95, 100);
+        for (int i = 1; i <= 100; i++) {
+            p95.record(i);
+        }
+        assertThat(p95.nanos()).isEqualTo(95);
+
+        for (int i = 0; i < 100; i++) {
+            p95.record(10_000);
+        }
+        assertThat(p95.nanos()).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,143 @@
+package com.taghazout.apigateway.infrastructure.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LatencyAwareLoadBalancer and the statistics behind it.
+ */
+@DisplayName("LatencyAwareLoadBalancer Tests")
+class LatencyAwareLoadBalancerTest {
+
+    private static final ServiceInstance FAST = instance("fast", 8081);
+    private static final ServiceInstance SLOW = instance("slow", 8082);
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstanceStatsRegistry stats;
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stats = new InstanceStatsRegistry(meterRegistry, Duration.ofSeconds(10), 0.5, 5,
+                Duration.ofSeconds(5), Duration.ofMinutes(2));
+        ServiceInstanceListSupplier supplier = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return "listing-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(List.of(FAST, SLOW));
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("supplier", supplier));
+        loadBalancer = new LatencyAwareLoadBalancer(
+                beanFactory.getBeanProvider(ServiceInstanceListSupplier.class), "listing-service", stats);
+    }
+
+    private static ServiceInstance instance(String host, int port) {
+        return new DefaultServiceInstance(host, "listing-service", host, port, false);
+    }
+
+    private Map<String, Integer> distribution(int picks) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < picks; i++) {
+            Response<ServiceInstance> response = loadBalancer.choose(new DefaultRequest<>()).block();
+            counts.merge(response.getServer().getHost(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Should send traffic to the lower-latency instance")
+    void shouldPreferFasterInstance() {
+        stats.started(FAST);
+        stats.finished(FAST, Duration.ofMillis(5).toNanos(), false);
+        stats.started(SLOW);
+        stats.finished(SLOW, Duration.ofMillis(500).toNanos(), false);
+
+        assertThat(distribution(100)).containsEntry("fast", 100);
+    }
+
+    @Test
+    @DisplayName("Should spread load once the fast instance has requests in flight")
+    void shouldAccountForInFlightRequests() {
+        stats.started(FAST);
+        stats.finished(FAST, Duration.ofMillis(10).toNanos(), false);
+        stats.started(SLOW);
+        stats.finished(SLOW, Duration.ofMillis(20).toNanos(), false);
+        for (int i = 0; i < 5; i++) {
+            stats.started(FAST);
+        }
+
+        assertThat(distribution(50)).containsEntry("slow", 50);
+    }
+
+    @Test
+    @DisplayName("Should eject an instance whose error rate passes the threshold")
+    void shouldEjectFailingInstance() {
+        for (int i = 0; i < 10; i++) {
+            stats.started(SLOW);
+            stats.finished(SLOW, Duration.ofMillis(1).toNanos(), true);
+        }
+
+        assertThat(distribution(50)).containsEntry("fast", 50);
+        assertThat(meterRegistry.get("gateway.loadbalancer.ejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should double the ejection time on repeated ejections")
+    void shouldBackOffExponentially() {
+        InstanceStats instance = new InstanceStats(Duration.ofSeconds(10).toNanos());
+        long base = Duration.ofSeconds(5).toNanos();
+        long max = Duration.ofSeconds(12).toNanos();
+
+        for (int i = 0; i < 10; i++) {
+            instance.finished(1, true, 0);
+        }
+        assertThat(instance.ejectIfFailing(0.5, 5, base, max, 0)).isTrue();
+        assertThat(instance.isEjected(base - 1)).isTrue();
+        assertThat(instance.isEjected(base)).isFalse();
+
+        instance.finished(1, true, base);
+        assertThat(instance.ejectIfFailing(0.5, 5, base, max, base)).isTrue();
+        assertThat(instance.isEjected(base + 2 * base - 1)).isTrue();
+
+        long third = 3 * base;
+        instance.finished(1, true, third);
+        assertThat(instance.ejectIfFailing(0.5, 5, base, max, third)).isTrue();
+        // 4x base is over the cap
+        assertThat(instance.isEjected(third + max)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep routing when every instance is ejected")
+    void shouldFallBackToAllInstances() {
+        for (ServiceInstance instance : List.of(FAST, SLOW)) {
+            for (int i = 0; i < 10; i++) {
+                stats.started(instance);
+                stats.finished(instance, 1, true);
+            }
+        }
+
+        assertThat(loadBalancer.choose(new DefaultRequest<>()).block().hasServer()).isTrue();
+    }
+}
@@ -0,0 +1,34 @@
+package com.taghazout.apigateway.infrastructure.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestLogSampler Tests")
+class RequestLogSamplerTest {
+
+    @Test
+    @DisplayName("should apply per-route rates and fall back to the default rate")
+    void shouldUseRouteRates() {
+        RequestLogSampler sampler = new RequestLogSampler(1.0,
+                List.of("booking-service:0", " listing-service-public : 1.0 "));
+
+        assertThat(sampler.sample("booking-service")).isFalse();
+        assertThat(sampler.sample("listing-service-public")).isTrue();
+        assertThat(sampler.sample("auth-service")).isTrue();
+        assertThat(sampler.sample(null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should never sample when the rate is zero")
+    void shouldDisableSampling() {
+        RequestLogSampler sampler = new RequestLogSampler(0.0, List.of());
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.sample("auth-service")).isFalse();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.taghazout.apigateway.infrastructure.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ContinuousRecording Tests")
+class ContinuousRecordingTest {
+
+    private final ContinuousRecording recording = new ContinuousRecording(true, Duration.ofMinutes(1),
+            DataSize.ofMegabytes(10), Duration.ofMillis(20), "50/s");
+
+    @AfterEach
+    void tearDown() {
+        recording.stop();
+    }
+
+    @Test
+    @DisplayName("should dump recent custom events while recording continues")
+    void shouldDumpRecentEvents(@TempDir Path dir) throws Exception {
+        recording.start();
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        Thread.sleep(5);
+        event.complete("expired");
+
+        Path dump = dir.resolve("dump.jfr");
+        recording.dump(Duration.ofMinutes(1), dump);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("taghazout.gateway.JwtValidation"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getString("outcome")).isEqualTo("expired"));
+        assertThat(recording.isRecording()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should skip events under the threshold")
+    void shouldSkipFastEvents(@TempDir Path dir) throws Exception {
+        recording.start();
+        RouteMatchingEvent event = new RouteMatchingEvent();
+        event.begin();
+        event.complete("/api/v1/listings", "listing-service-public");
+
+        Path dump = dir.resolve("dump.jfr");
+        recording.dump(Duration.ofMinutes(1), dump);
+
+        assertThat(RecordingFile.readAllEvents(dump))
+                .noneMatch(e -> e.getEventType().getName().equals("taghazout.gateway.RouteMatching"));
+    }
+
+    @Test
+    @DisplayName("should refuse to dump when not recording")
+    void shouldRefuseDumpWhenStopped(@TempDir Path dir) {
+        assertThatThrownBy(() -> recording.dump(Duration.ofMinutes(1), dir.resolve("dump.jfr")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
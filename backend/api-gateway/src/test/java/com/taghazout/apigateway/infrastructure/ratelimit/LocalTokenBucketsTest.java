@@ -0,0 +1,70 @@
+package com.taghazout.apigateway.infrastructure.ratelimit;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalTokenBuckets Tests")
+class LocalTokenBucketsTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final LocalTokenBuckets buckets = new LocalTokenBuckets(1000);
+
+    @Test
+    @DisplayName("should allow a burst up to capacity, then reject with retry time")
+    void shouldRejectWhenEmpty() {
+        RateLimitPolicy policy = new RateLimitPolicy(3, 1.0);
+
+        assertThat(buckets.tryConsume("k", policy, 0)).isZero();
+        assertThat(buckets.tryConsume("k", policy, 0)).isZero();
+        assertThat(buckets.tryConsume("k", policy, 0)).isZero();
+        assertThat(buckets.tryConsume("k", policy, 0)).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("should refill continuously over time")
+    void shouldRefill() {
+        RateLimitPolicy policy = new RateLimitPolicy(1, 2.0);
+
+        assertThat(buckets.tryConsume("k", policy, 0)).isZero();
+        assertThat(buckets.tryConsume("k", policy, SECOND / 4)).isEqualTo(250);
+        assertThat(buckets.tryConsume("k", policy, SECOND / 2)).isZero();
+    }
+
+    @Test
+    @DisplayName("should refund earlier buckets when a later bucket rejects")
+    void shouldBeAllOrNone() {
+        RateLimitPolicy roomy = new RateLimitPolicy(1, 1.0);
+        RateLimitPolicy tight = new RateLimitPolicy(1, 1.0);
+        buckets.tryConsume("tight", tight, 0);
+
+        Map<String, RateLimitPolicy> both = new LinkedHashMap<>();
+        both.put("roomy", roomy);
+        both.put("tight", tight);
+        RateLimitDecision decision = buckets.tryConsumeAll(both, 0);
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterSeconds()).isEqualTo(1);
+        assertThat(buckets.tryConsume("roomy", roomy, 0)).isZero();
+    }
+
+    @Test
+    @DisplayName("should stay bounded by dropping idle keys")
+    void shouldEvictIdleKeys() {
+        LocalTokenBuckets small = new LocalTokenBuckets(2);
+        RateLimitPolicy policy = new RateLimitPolicy(5, 1.0);
+        small.tryConsume("a", policy, 0);
+        small.tryConsume("b", policy, 0);
+
+        small.tryConsume("c", policy, 3600 * SECOND);
+
+        assertThat(small.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.taghazout.apigateway.infrastructure.ratelimit;
+
+import com.taghazout.apigateway.domain.model.RateLimitDecision;
+import com.taghazout.apigateway.domain.model.RateLimitPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SlidingWindowRateLimiter Tests")
+class SlidingWindowRateLimiterTest {
+
+    // 5 requests per 1 s window
+    private static final RateLimitPolicy POLICY = new RateLimitPolicy(5, 5.0);
+    private static final long WINDOW_START = 1_800_000_000_000L;
+
+    private ReactiveStringRedisTemplate redis;
+    private SlidingWindowRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(ReactiveStringRedisTemplate.class);
+        limiter = new SlidingWindowRateLimiter(redis, Duration.ofMillis(100), 3, 1000, Duration.ofMillis(100));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisReturns(Flux<List<Object>> result) {
+        when(redis.execute(any(RedisScript.class), anyList(), anyList())).thenReturn((Flux) result);
+    }
+
+    @Test
+    @DisplayName("should enforce the limit locally when Redis is unavailable")
+    void shouldFailOpenToLocalLimit() {
+        redisReturns(Flux.error(new IllegalStateException("redis down")));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k", POLICY, WINDOW_START + i).allowed()).isTrue();
+        }
+        RateLimitDecision decision = limiter.tryAcquire("k", POLICY, WINDOW_START + 10);
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterMillis()).isEqualTo(990);
+    }
+
+    @Test
+    @DisplayName("should batch increments instead of calling Redis per request")
+    void shouldBatchIncrements() {
+        redisReturns(Flux.just(List.of(3L, 0L)));
+
+        limiter.tryAcquire("k", POLICY, WINDOW_START);
+        limiter.tryAcquire("k", POLICY, WINDOW_START + 1);
+        limiter.tryAcquire("k", POLICY, WINDOW_START + 2);
+
+        // First request flushes (interval elapsed), then the batch fills up at 3 pending
+        verify(redis, times(1)).execute(any(), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("should count requests flushed by other replicas")
+    void shouldApplyGlobalCounts() {
+        // Another replica already used 4 of the 5 requests in this window
+        redisReturns(Flux.just(List.of(5L, 0L)));
+
+        assertThat(limiter.tryAcquire("k", POLICY, WINDOW_START).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("k", POLICY, WINDOW_START + 1).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should let the previous window slide out gradually")
+    void shouldSlideWindow() {
+        redisReturns(Flux.error(new IllegalStateException("redis down")));
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("k", POLICY, WINDOW_START + i);
+        }
+
+        // 10% into the next window, 90% of the previous 5 requests still count
+        assertThat(limiter.tryAcquire("k", POLICY, WINDOW_START + 1100).allowed()).isFalse();
+        // Halfway, 2.5 of them still count
+        assertThat(limiter.tryAcquire("k", POLICY, WINDOW_START + 1500).allowed()).isTrue();
+    }
+}
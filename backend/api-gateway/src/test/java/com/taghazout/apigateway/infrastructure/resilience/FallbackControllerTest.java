@@ -0,0 +1,106 @@
+package com.taghazout.apigateway.infrastructure.resilience;
+
+import com.taghazout.apigateway.infrastructure.cache.CachedResponse;
+import com.taghazout.apigateway.infrastructure.cache.LocalResponseCache;
+import com.taghazout.apigateway.infrastructure.filter.ResponseCacheFilter;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for FallbackController.
+ */
+@DisplayName("FallbackController Tests")
+class FallbackControllerTest {
+
+    private static final String FEED = "[{\"id\":1,\"title\":\"Surf house\"}]";
+
+    private LocalResponseCache localCache;
+    private SimpleMeterRegistry meterRegistry;
+    private FallbackController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        localCache = new LocalResponseCache(meterRegistry, DataSize.ofMegabytes(1), DataSize.ofKilobytes(64),
+                Duration.ofMinutes(10));
+        controller = new FallbackController(localCache, meterRegistry);
+    }
+
+    // As forwarded by the circuit breaker filter: fallback path, original URL kept in the attributes
+    private static MockServerWebExchange forwarded(String originalUri, Throwable failure) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/fallback/listing-service-public"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR,
+                new LinkedHashSet<>(List.of(URI.create(originalUri))));
+        exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR, failure);
+        return exchange;
+    }
+
+    @Test
+    @DisplayName("Should serve the last cached response, even expired, when the breaker is open")
+    void shouldServeLastCachedFeed() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=30");
+        long longAgo = System.currentTimeMillis() - 120_000;
+        localCache.put("/api/v1/listings?city=taghazout", CachedResponse.from(200, headers,
+                FEED.getBytes(StandardCharsets.UTF_8), longAgo, 0));
+        // An open breaker fails before routing: only the key left by ResponseCacheFilter is there
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/fallback/listing-service-public?city=taghazout"));
+        exchange.getAttributes().put(ResponseCacheFilter.CACHE_KEY_ATTR, "/api/v1/listings?city=taghazout");
+        exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR,
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("listing")));
+
+        StepVerifier.create(controller.fallback("listing-service-public", exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(FEED);
+        assertThat(exchange.getResponse().getHeaders().getFirst(FallbackController.DEGRADED_HEADER)).isEqualTo("open");
+        assertThat(exchange.getResponse().getHeaders().getCacheControl()).isEqualTo("no-store");
+        assertThat(meterRegistry.get("gateway.fallback").tag("served", "cached").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer 504 for the original path after a timeout with nothing cached")
+    void shouldAnswerGatewayTimeout() {
+        MockServerWebExchange exchange = forwarded("lb://listing-service/api/v1/listings/42", new TimeoutException());
+
+        StepVerifier.create(controller.fallback("listing-service-public", exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("\"path\":\"/api/v1/listings/42\"");
+    }
+
+    @Test
+    @DisplayName("Should never serve cached content for writes")
+    void shouldAnswerServiceUnavailableForWrites() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/fallback/booking-service"));
+
+        StepVerifier.create(controller.fallback("booking-service", exchange)).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(FallbackController.DEGRADED_HEADER)).isEqualTo("error");
+    }
+}
@@ -0,0 +1,75 @@
+package com.taghazout.apigateway.infrastructure.resilience;
+
+import com.taghazout.apigateway.infrastructure.cache.CachedResponse;
+import com.taghazout.apigateway.infrastructure.cache.LocalResponseCache;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The listing feed fallback through the real listing-service-public route,
+ * with the route's breaker forced open (no upstream call is ever made).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@DisplayName("Fallback route Tests")
+class FallbackRouteTest {
+
+    private static final String FEED = "[{\"id\":1,\"title\":\"Surf house\"}]";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private LocalResponseCache localCache;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @AfterEach
+    void closeBreaker() {
+        circuitBreakerRegistry.circuitBreaker("listing-service-public").transitionToClosedState();
+    }
+
+    @Test
+    @DisplayName("Should serve the expired cached feed when the route's breaker is open")
+    void shouldServeCachedFeedWhenBreakerIsOpen() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=30");
+        long longAgo = System.currentTimeMillis() - 120_000;
+        localCache.put("/api/v1/listings?city=taghazout&page=0", CachedResponse.from(200, headers,
+                FEED.getBytes(StandardCharsets.UTF_8), longAgo, 0));
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("listing-service-public");
+        breaker.transitionToForcedOpenState();
+
+        // Same key as the stored entry: query parameters in another order
+        webTestClient.get().uri("/api/v1/listings?page=0&city=taghazout")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(FallbackController.DEGRADED_HEADER, "open")
+                .expectHeader().cacheControl(CacheControl.noStore())
+                .expectBody(String.class).isEqualTo(FEED);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when the breaker is open and nothing is cached")
+    void shouldAnswerServiceUnavailableWhenNothingIsCached() {
+        circuitBreakerRegistry.circuitBreaker("listing-service-public").transitionToForcedOpenState();
+
+        webTestClient.get().uri("/api/v1/listings?city=nowhere")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(FallbackController.DEGRADED_HEADER, "open")
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+    }
+}
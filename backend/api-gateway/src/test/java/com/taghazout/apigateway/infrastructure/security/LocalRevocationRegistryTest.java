@@ -0,0 +1,99 @@
+package com.taghazout.apigateway.infrastructure.security;
+
+import com.taghazout.apigateway.domain.model.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("LocalRevocationRegistry Tests")
+class LocalRevocationRegistryTest {
+
+    private static final long NOW = 1_800_000_000_000L;
+
+    private LocalRevocationRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
+    private RevocationStreamConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new LocalRevocationRegistry(Duration.ofHours(1));
+        meterRegistry = new SimpleMeterRegistry();
+        consumer = new RevocationStreamConsumer(mock(StringRedisTemplate.class), registry, meterRegistry,
+                "auth:revocations", "auth:token-watermarks", Duration.ofMinutes(5), Duration.ofSeconds(1), 500, false);
+    }
+
+    private static UserPrincipal principal(String userId, String tokenId, Long issuedAt) {
+        return new UserPrincipal(userId, "user@example.com", Set.of("USER"), NOW + 900_000, tokenId, issuedAt);
+    }
+
+    @Test
+    @DisplayName("should reject a token revoked by jti and accept other tokens of the user")
+    void shouldRejectRevokedTokenId() {
+        registry.revokeToken("jti-1", NOW + 900_000);
+
+        assertThat(registry.isRevoked(principal("42", "jti-1", NOW))).isTrue();
+        assertThat(registry.isRevoked(principal("42", "jti-2", NOW))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject tokens issued before the user watermark only")
+    void shouldApplyUserWatermark() {
+        registry.revokeUser("42", NOW);
+
+        assertThat(registry.isRevoked(principal("42", "old", NOW - 1_000))).isTrue();
+        assertThat(registry.isRevoked(principal("42", "new", NOW))).isFalse();
+        assertThat(registry.isRevoked(principal("42", null, null))).isTrue();
+        assertThat(registry.isRevoked(principal("7", "other", NOW - 1_000))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should never move a watermark backwards")
+    void shouldKeepNewestWatermark() {
+        registry.revokeUser("42", NOW);
+        registry.revokeUser("42", NOW - 60_000);
+
+        assertThat(registry.isRevoked(principal("42", "t", NOW - 30_000))).isTrue();
+    }
+
+    @Test
+    @DisplayName("should purge expired tokens and watermarks past retention")
+    void shouldPurgeExpiredEntries() {
+        registry.revokeToken("expired", NOW - 1);
+        registry.revokeToken("live", NOW + 1);
+        registry.revokeUser("old", NOW - Duration.ofHours(2).toMillis());
+        registry.revokeUser("recent", NOW - 60_000);
+
+        registry.purgeExpired(NOW);
+
+        assertThat(registry.revokedTokenCount()).isEqualTo(1);
+        assertThat(registry.userWatermarkCount()).isEqualTo(1);
+        assertThat(registry.isRevoked(principal("recent", "t", NOW - 120_000))).isTrue();
+    }
+
+    @Test
+    @DisplayName("should apply stream events and record lag for live events")
+    void shouldApplyStreamEvents() {
+        long publishedAt = System.currentTimeMillis();
+
+        consumer.apply(Map.of("type", "token", "jti", "jti-1", "exp", String.valueOf(NOW),
+                "publishedAt", String.valueOf(publishedAt)), publishedAt + 25);
+        consumer.apply(Map.of("type", "user", "userId", "42", "issuedBefore", String.valueOf(NOW),
+                "publishedAt", String.valueOf(publishedAt)), publishedAt + 75);
+        consumer.apply(Map.of("type", "token", "exp", "not-a-number"), publishedAt);
+
+        assertThat(registry.revokedTokenCount()).isEqualTo(1);
+        assertThat(registry.userWatermarkCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.revocation.lag").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("gateway.revocation.events").tag("type", "token").counter().count())
+                .isEqualTo(1.0);
+    }
+}
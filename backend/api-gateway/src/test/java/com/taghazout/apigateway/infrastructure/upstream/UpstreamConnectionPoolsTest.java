@@ -0,0 +1,53 @@
+package com.taghazout.apigateway.infrastructure.upstream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UpstreamConnectionPools Tests")
+class UpstreamConnectionPoolsTest {
+
+    private final UpstreamConnectionPools pools = new UpstreamConnectionPools(200,
+            List.of("listing-service:400", " auth-service : 50"), 2, Duration.ofSeconds(2),
+            Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(15), true);
+
+    @AfterEach
+    void tearDown() {
+        pools.destroy();
+    }
+
+    @Test
+    @DisplayName("should give each service its own named pool")
+    void shouldIsolateServices() {
+        ConnectionProvider listing = pools.forService("listing-service");
+
+        assertThat(pools.forService("listing-service")).isSameAs(listing);
+        assertThat(pools.forService("auth-service")).isNotSameAs(listing);
+        assertThat(listing.name()).isEqualTo("upstream-listing-service");
+    }
+
+    @Test
+    @DisplayName("should apply per-service connection limits over the default")
+    void shouldApplyServiceLimits() {
+        assertThat(pools.maxConnections("listing-service")).isEqualTo(400);
+        assertThat(pools.maxConnections("auth-service")).isEqualTo(50);
+        assertThat(pools.maxConnections("booking-service")).isEqualTo(200);
+        assertThat(pools.forService("auth-service").maxConnections()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("should dispose every pool on shutdown")
+    void shouldDisposePools() {
+        ConnectionProvider listing = pools.forService("listing-service");
+
+        pools.destroy();
+
+        assertThat(listing.isDisposed()).isTrue();
+    }
+}
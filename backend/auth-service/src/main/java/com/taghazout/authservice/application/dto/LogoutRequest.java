@@ -0,0 +1,25 @@
+package com.taghazout.authservice.application.dto;
+
+/**
+ * DTO for logout request.
+ *
+ * SOLID Principles:
+ * - SRP: Only responsible for logout data transfer
+ * - Immutable: All fields are final
+ *
+ * The access token travels in the Authorization header; the body only
+ * carries the refresh token so it can be revoked as well.
+ *
+ * Validation Rules:
+ * - Refresh token: Optional (body may be omitted entirely)
+ */
+public record LogoutRequest(String refreshToken) {
+
+    /**
+     * Override toString to hide the token.
+     */
+    @Override
+    public String toString() {
+        return "LogoutRequest{refreshToken='[PROTECTED]'}";
+    }
+}
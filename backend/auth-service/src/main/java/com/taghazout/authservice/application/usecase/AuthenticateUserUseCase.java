@@ -9,6 +9,8 @@ import com.taghazout.authservice.domain.exception.UserNotFoundException;
 import com.taghazout.authservice.domain.port.RefreshTokenRepositoryPort;
 import com.taghazout.authservice.domain.port.TokenProviderPort;
 import com.taghazout.authservice.domain.port.UserRepositoryPort;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,6 +49,7 @@ public class AuthenticateUserUseCase {
     private final RefreshTokenRepositoryPort refreshTokenRepository;
     private final TokenProviderPort tokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final ObservationRegistry observationRegistry;
 
     /**
      * Constructor injection (immutable dependencies).
@@ -55,16 +58,19 @@ public class AuthenticateUserUseCase {
      * @param refreshTokenRepository token persistence port
      * @param tokenProvider          JWT token generation port
      * @param passwordEncoder        BCrypt password encoder
+     * @param observationRegistry    traces the BCrypt verification (auth.password.verification)
      */
     public AuthenticateUserUseCase(
             UserRepositoryPort userRepository,
             RefreshTokenRepositoryPort refreshTokenRepository,
             TokenProviderPort tokenProvider,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            ObservationRegistry observationRegistry) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.tokenProvider = tokenProvider;
         this.passwordEncoder = passwordEncoder;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -88,8 +94,10 @@ public class AuthenticateUserUseCase {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new InvalidCredentialsException());
 
-        // Step 2: Verify password (BCrypt - timing-safe comparison)
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        // Step 2: Verify password (BCrypt - timing-safe comparison, the CPU-heavy step)
+        boolean matches = Observation.createNotStarted("auth.password.verification", observationRegistry)
+                .observe(() -> passwordEncoder.matches(request.password(), user.getPassword()));
+        if (!matches) {
             throw new InvalidCredentialsException();
         }
 
@@ -11,6 +11,8 @@ import com.taghazout.authservice.domain.port.HostProfileRepositoryPort;
 import com.taghazout.authservice.domain.port.RefreshTokenRepositoryPort;
 import com.taghazout.authservice.domain.port.TokenProviderPort;
 import com.taghazout.authservice.domain.port.UserRepositoryPort;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,6 +47,7 @@ public class CreateUserUseCase {
     private final HostProfileRepositoryPort hostProfileRepository;
     private final TokenProviderPort tokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final ObservationRegistry observationRegistry;
 
     /**
      * Constructor injection (immutable dependencies).
@@ -54,18 +57,21 @@ public class CreateUserUseCase {
      * @param hostProfileRepository  host profile persistence port
      * @param tokenProvider          JWT token generation port
      * @param passwordEncoder        BCrypt password encoder
+     * @param observationRegistry    traces the BCrypt hashing (auth.password.hashing)
      */
     public CreateUserUseCase(
             UserRepositoryPort userRepository,
             RefreshTokenRepositoryPort refreshTokenRepository,
             HostProfileRepositoryPort hostProfileRepository,
             TokenProviderPort tokenProvider,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            ObservationRegistry observationRegistry) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
         this.hostProfileRepository = hostProfileRepository;
         this.tokenProvider = tokenProvider;
         this.passwordEncoder = passwordEncoder;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -98,7 +104,8 @@ public class CreateUserUseCase {
         }
 
         // Step 2: Hash password (BCrypt with strength 12 from SecurityConfig)
-        String hashedPassword = passwordEncoder.encode(request.password());
+        String hashedPassword = Observation.createNotStarted("auth.password.hashing", observationRegistry)
+                .observe(() -> passwordEncoder.encode(request.password()));
 
         // Step 3: Create and persist user
         User user = new User(
@@ -0,0 +1,151 @@
+package com.taghazout.authservice.application.usecase;
+
+import com.taghazout.authservice.domain.entity.RefreshToken;
+import com.taghazout.authservice.domain.entity.User;
+import com.taghazout.authservice.domain.exception.InvalidCredentialsException;
+import com.taghazout.authservice.domain.port.RefreshTokenRepositoryPort;
+import com.taghazout.authservice.domain.port.RevocationPublisherPort;
+import com.taghazout.authservice.domain.port.TokenProviderPort;
+import com.taghazout.authservice.domain.port.UserRepositoryPort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Use case for logging a user out (single session or all sessions).
+ *
+ * SOLID Principles:
+ * - SRP: Single responsibility - only handles token revocation
+ * - OCP: Open for extension (admin revocation, password change, etc.)
+ * - DIP: Depends on port interfaces, not concrete implementations
+ *
+ * Business Rules:
+ * 1. Logout revokes the presented refresh token (database) and the presented
+ * access token (by jti, broadcast to the gateways)
+ * 2. Logout from all devices revokes every refresh token of the user and
+ * moves the user's tokensValidAfter watermark (published to the gateways
+ * after commit by UserTokenRevocationListener)
+ * 3. Only tokens with a valid signature are revoked (a forged token cannot
+ * revoke someone else's session)
+ * 4. Logout is idempotent: expired or unknown tokens are simply ignored
+ *
+ * Consistency:
+ * - Token (jti) revocations are published inside the transaction: if
+ * publishing fails the database changes are rolled back and the client can
+ * retry
+ * - The user watermark is durable in the database and reconciled to Redis
+ *
+ * Watermark Granularity:
+ * - The iat claim has second precision, so the watermark is truncated to the
+ * second; the current access token is additionally revoked by jti
+ *
+ * HTTP Status:
+ * - 204 No Content: Logout successful
+ * - 401 Unauthorized: Logout from all devices without a valid access token
+ * - 503 Service Unavailable: Revocation could not be published
+ */
+@Service
+@Transactional
+public class LogoutUseCase {
+
+    private final UserRepositoryPort userRepository;
+    private final RefreshTokenRepositoryPort refreshTokenRepository;
+    private final TokenProviderPort tokenProvider;
+    private final RevocationPublisherPort revocationPublisher;
+
+    /**
+     * Constructor injection (immutable dependencies).
+     *
+     * @param userRepository         user persistence port
+     * @param refreshTokenRepository token persistence port
+     * @param tokenProvider          JWT token parsing port
+     * @param revocationPublisher    revocation broadcast port
+     */
+    public LogoutUseCase(
+            UserRepositoryPort userRepository,
+            RefreshTokenRepositoryPort refreshTokenRepository,
+            TokenProviderPort tokenProvider,
+            RevocationPublisherPort revocationPublisher) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenProvider = tokenProvider;
+        this.revocationPublisher = revocationPublisher;
+    }
+
+    /**
+     * Logs out the current session.
+     *
+     * Steps:
+     * 1. Revoke the refresh token (if present and still valid)
+     * 2. Publish the access token revocation (if present and still valid)
+     *
+     * @param accessToken  the bearer access token (may be null)
+     * @param refreshToken the refresh token (may be null)
+     */
+    public void logout(String accessToken, String refreshToken) {
+        // Step 1: Revoke refresh token
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByToken(refreshToken)
+                    .filter(RefreshToken::isValid)
+                    .ifPresent(token -> {
+                        token.revoke();
+                        refreshTokenRepository.save(token);
+                    });
+        }
+
+        // Step 2: Revoke access token (expired or invalid tokens need no revocation)
+        if (isUsable(accessToken)) {
+            revokeAccessToken(accessToken);
+        }
+    }
+
+    /**
+     * Logs out every session of the token owner.
+     *
+     * Steps:
+     * 1. Resolve the user from the access token
+     * 2. Revoke all valid refresh tokens of the user
+     * 3. Move the user-wide watermark
+     * 4. Publish the current access token revocation
+     *
+     * @param accessToken the bearer access token
+     * @throws InvalidCredentialsException if the access token is missing or invalid
+     */
+    public void logoutAll(String accessToken) {
+        // Step 1: Resolve user
+        if (!isUsable(accessToken)) {
+            throw new InvalidCredentialsException("Invalid or expired access token");
+        }
+        Long userId = tokenProvider.getUserIdFromToken(accessToken);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid or expired access token"));
+
+        // Step 2: Revoke refresh tokens
+        for (RefreshToken token : refreshTokenRepository.findValidTokensByUserId(userId)) {
+            token.revoke();
+            refreshTokenRepository.save(token);
+        }
+
+        // Step 3: Watermark (second precision, like the iat claim)
+        user.revokeTokens();
+        userRepository.save(user);
+
+        // Step 4: Tokens issued earlier in the same second are not covered by the
+        // watermark
+        revokeAccessToken(accessToken);
+    }
+
+    private void revokeAccessToken(String accessToken) {
+        String tokenId = tokenProvider.getTokenIdFromToken(accessToken);
+        if (tokenId != null) {
+            revocationPublisher.publishTokenRevoked(tokenId, tokenProvider.getExpirationFromToken(accessToken));
+        }
+    }
+
+    /**
+     * A token is usable if its signature is valid and it has not expired
+     * (TokenProviderPort reports unparseable tokens as expired).
+     */
+    private boolean isUsable(String accessToken) {
+        return accessToken != null && !accessToken.isBlank() && !tokenProvider.isTokenExpired(accessToken);
+    }
+}
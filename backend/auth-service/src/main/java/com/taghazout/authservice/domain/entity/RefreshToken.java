@@ -28,10 +28,15 @@ import java.util.UUID;
  * Database Compatibility:
  * - PostgreSQL: UUID type natively supported
  * - H2: UUID stored as VARCHAR(36)
+ * - PostgreSQL table is range-partitioned by expires_at (see
+ * RefreshTokenPartitionManager), so uniqueness is declared on
+ * (token, expires_at): the partition key must be part of every unique
+ * constraint
  */
 @Entity
-@Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_refresh_token", columnList = "token"),
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_token_expires", columnNames = { "token", "expires_at" })
+}, indexes = {
         @Index(name = "idx_user_id", columnList = "user_id"),
         @Index(name = "idx_expires_at", columnList = "expires_at")
 })
@@ -42,7 +47,7 @@ public class RefreshToken {
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 36)
+    @Column(name = "token", nullable = false, length = 36)
     private String token; // UUID string representation
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -3,6 +3,7 @@ package com.taghazout.authservice.domain.entity;
 import com.taghazout.authservice.domain.enums.Role;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 /**
@@ -19,6 +20,10 @@ import java.util.Objects;
  * - Password stored as BCrypt hash (never plain text)
  * - Audit fields (createdAt, updatedAt) for tracking
  * - Immutable after creation (defensive design)
+ * - tokensValidAfter watermark: access tokens issued before it are rejected
+ * by the gateways (set on password change, lock and logout from all devices);
+ * its publication listener is registered in META-INF/orm.xml so the domain
+ * does not depend on infrastructure
  * 
  * Database Compatibility:
  * - H2: IDENTITY generation strategy works
@@ -26,9 +31,7 @@ import java.util.Objects;
  * - All annotations are JPA standard (portable)
  */
 @Entity
-@Table(name = "users", indexes = {
-        @Index(name = "idx_user_email", columnList = "email")
-})
+@Table(name = "users")
 public class User {
 
     @Id
@@ -64,6 +67,16 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "tokens_valid_after")
+    private LocalDateTime tokensValidAfter;
+
+    /**
+     * Set when tokensValidAfter moved and the gateways have not been told yet.
+     * Not persisted: the watermark itself is the durable state.
+     */
+    @Transient
+    private boolean tokenRevocationPending;
+
     /**
      * Default constructor required by JPA.
      * Do not use directly - use builder or factory method instead.
@@ -136,7 +149,7 @@ public class User {
     public void updatePassword(String newHashedPassword) {
         validatePassword(newHashedPassword);
         this.password = newHashedPassword;
-        this.updatedAt = LocalDateTime.now();
+        revokeTokens();
     }
 
     /**
@@ -156,7 +169,7 @@ public class User {
      */
     public void lock() {
         this.locked = true;
-        this.updatedAt = LocalDateTime.now();
+        revokeTokens();
     }
 
     /**
@@ -183,6 +196,36 @@ public class User {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Revokes every token issued to this user so far.
+     * 
+     * Moves the tokensValidAfter watermark to now. Truncated to the second
+     * because the JWT iat claim has second precision: a token issued later in
+     * the same second (e.g. the login after a password change) stays valid.
+     */
+    public void revokeTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        this.tokensValidAfter = now.truncatedTo(ChronoUnit.SECONDS);
+        this.tokenRevocationPending = true;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Checks if the token watermark moved since the last publication.
+     * 
+     * @return true if the gateways must be told about a new watermark
+     */
+    public boolean hasPendingTokenRevocation() {
+        return tokenRevocationPending;
+    }
+
+    /**
+     * Marks the current watermark as handed over for publication.
+     */
+    public void clearPendingTokenRevocation() {
+        this.tokenRevocationPending = false;
+    }
+
     /**
      * Checks if user can authenticate.
      * 
@@ -255,6 +298,10 @@ public class User {
         return updatedAt;
     }
 
+    public LocalDateTime getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
     // === equals() and hashCode() ===
 
     @Override
@@ -0,0 +1,16 @@
+package com.taghazout.authservice.domain.exception;
+
+/**
+ * Exception thrown when a token revocation cannot be delivered to the gateways.
+ *
+ * The surrounding transaction is rolled back, so the client can safely retry
+ * the logout: a revocation is never recorded locally without being published.
+ *
+ * HTTP Status: 503 Service Unavailable
+ */
+public class RevocationPublishException extends RuntimeException {
+
+    public RevocationPublishException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -31,8 +31,11 @@ public interface RefreshTokenRepositoryPort {
     /**
      * Finds a refresh token by its token value.
      * 
+     * Expired tokens are not returned: their storage may already have been
+     * reclaimed.
+     * 
      * @param token the token string (UUID)
-     * @return Optional containing token if found, empty otherwise
+     * @return Optional containing token if found and not expired, empty otherwise
      */
     Optional<RefreshToken> findByToken(String token);
 
@@ -69,6 +72,9 @@ public interface RefreshTokenRepositoryPort {
     /**
      * Deletes all expired tokens (cleanup operation).
      * 
+     * Implementations may reclaim expired tokens in bulk (e.g. whole partitions)
+     * and keep recently expired ones for a short retention window.
+     * 
      * @return number of tokens deleted
      */
     int deleteExpiredTokens();
@@ -0,0 +1,60 @@
+package com.taghazout.authservice.domain.port;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Port (interface) for broadcasting token revocations to the API gateways.
+ *
+ * SOLID Principles:
+ * - DIP: Use cases depend on this abstraction, not on Redis
+ * - ISP: Only the two revocation kinds the gateways understand
+ * - SRP: Only responsible for the revocation contract
+ *
+ * Design Pattern: Hexagonal Architecture (Port)
+ *
+ * Access tokens are stateless JWTs validated at the gateway, so revoking one
+ * means telling every gateway instance about it. Gateways keep the
+ * revocations in memory and check them locally on every request.
+ *
+ * Revocation kinds:
+ * - Single token: identified by its jti, remembered until the token expires
+ * - User-wide watermark: every token of the user issued before the
+ * watermark is rejected (logout from all devices, password change, lock)
+ *
+ * Watermarks are also kept in a durable per-user map, so a gateway can
+ * rebuild its state with a full sync instead of replaying every event.
+ */
+public interface RevocationPublisherPort {
+
+    /**
+     * Publishes the revocation of a single access token.
+     *
+     * @param tokenId   the jti claim of the revoked token
+     * @param expiresAt the token expiration (revocation can be forgotten after)
+     * @throws com.taghazout.authservice.domain.exception.RevocationPublishException if
+     *         the revocation could not be published
+     */
+    void publishTokenRevoked(String tokenId, Instant expiresAt);
+
+    /**
+     * Publishes a user-wide revocation watermark (event and durable map entry).
+     *
+     * @param userId       the user whose tokens are revoked
+     * @param issuedBefore tokens issued strictly before this instant are revoked
+     * @throws com.taghazout.authservice.domain.exception.RevocationPublishException if
+     *         the revocation could not be published
+     */
+    void publishUserRevoked(Long userId, Instant issuedBefore);
+
+    /**
+     * Mirrors the database watermarks into the durable per-user map.
+     *
+     * Entries older than the retention cutoff are removed: every token they
+     * could reject has already expired.
+     *
+     * @param watermarks  current watermarks by user id
+     * @param retainAfter entries older than this instant are removed
+     */
+    void syncUserWatermarks(Map<Long, Instant> watermarks, Instant retainAfter);
+}
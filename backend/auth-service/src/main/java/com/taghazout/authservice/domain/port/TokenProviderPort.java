@@ -2,6 +2,8 @@ package com.taghazout.authservice.domain.port;
 
 import com.taghazout.authservice.domain.entity.User;
 
+import java.time.Instant;
+
 /**
  * Port (interface) for JWT token generation and validation.
  * 
@@ -60,6 +62,29 @@ public interface TokenProviderPort {
      */
     Long getUserIdFromToken(String token);
 
+    /**
+     * Extracts the token ID (jti claim) from a JWT token.
+     * 
+     * The token ID identifies a single access token so it can be revoked
+     * without revoking every token of the user.
+     * 
+     * @param token the JWT token
+     * @return the jti claim (null for tokens issued before jti was added)
+     * @throws io.jsonwebtoken.JwtException if token is invalid
+     */
+    String getTokenIdFromToken(String token);
+
+    /**
+     * Extracts the expiration time from a JWT token.
+     * 
+     * Revocations only need to be remembered until this instant.
+     * 
+     * @param token the JWT token
+     * @return the exp claim
+     * @throws io.jsonwebtoken.JwtException if token is invalid
+     */
+    Instant getExpirationFromToken(String token);
+
     /**
      * Checks if a token is expired.
      * 
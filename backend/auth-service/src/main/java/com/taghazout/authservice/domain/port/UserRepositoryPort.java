@@ -2,6 +2,8 @@ package com.taghazout.authservice.domain.port;
 
 import com.taghazout.authservice.domain.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,6 +46,16 @@ public interface UserRepositoryPort {
      */
     Optional<User> findById(Long id);
 
+    /**
+     * Finds users whose tokens were revoked after the given time.
+     * 
+     * Used to mirror recent token watermarks to the gateways.
+     * 
+     * @param since lower bound (exclusive) for tokensValidAfter
+     * @return users with a recent watermark (may be empty)
+     */
+    List<User> findByTokensValidAfterAfter(LocalDateTime since);
+
     /**
      * Checks if a user exists by email.
      * 
@@ -5,14 +5,18 @@ import com.taghazout.authservice.domain.port.TokenProviderPort;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * JWT Token Provider implementation using JJWT library.
@@ -31,7 +35,9 @@ import java.util.Map;
  * Claims Structure:
  * - sub (subject): User email
  * - userId: User ID (for quick lookups)
- * - iat (issued at): Token creation timestamp
+ * - jti (token id): Random UUID, lets a single access token be revoked
+ * - iat (issued at): Token creation timestamp (also compared against the
+ * user-wide revocation watermark)
  * - exp (expiration): Token expiration timestamp
  * 
  * Security Notes:
@@ -39,6 +45,8 @@ import java.util.Map;
  * - Tokens are signed (integrity verified)
  * - Tokens are NOT encrypted (don't put sensitive data)
  * - Always validate tokens before trusting claims
+ *
+ * Metrics: access token signing is timed as auth.token.issuance.
  */
 @Component
 public class JwtTokenProvider implements TokenProviderPort {
@@ -46,6 +54,7 @@ public class JwtTokenProvider implements TokenProviderPort {
     private final SecretKey secretKey;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
+    private final Timer issuance;
 
     /**
      * Constructor with JWT configuration from properties.
@@ -53,19 +62,24 @@ public class JwtTokenProvider implements TokenProviderPort {
      * @param secret                 JWT secret key (min 32 characters)
      * @param accessTokenExpiration  access token expiration in milliseconds
      * @param refreshTokenExpiration refresh token expiration in milliseconds
+     * @param meterRegistry          registry for the auth.token.issuance timer
      */
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
-            @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration) {
+            @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration,
+            MeterRegistry meterRegistry) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.issuance = Timer.builder("auth.token.issuance")
+                .description("Access token creation and signing")
+                .register(meterRegistry);
     }
 
     @Override
     public String generateAccessToken(User user) {
-        return generateToken(user, accessTokenExpiration);
+        return issuance.record(() -> generateToken(user, accessTokenExpiration));
     }
 
     @Override
@@ -80,6 +94,16 @@ public class JwtTokenProvider implements TokenProviderPort {
         return claims.get("userId", Long.class);
     }
 
+    @Override
+    public String getTokenIdFromToken(String token) {
+        return extractAllClaims(token).getId();
+    }
+
+    @Override
+    public Instant getExpirationFromToken(String token) {
+        return extractAllClaims(token).getExpiration().toInstant();
+    }
+
     @Override
     public boolean isTokenExpired(String token) {
         try {
@@ -114,6 +138,7 @@ public class JwtTokenProvider implements TokenProviderPort {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString()) // jti: revocation handle
                 .subject(user.getId().toString()) // Subject claim is now userId
                 .issuedAt(now)
                 .expiration(expiration)
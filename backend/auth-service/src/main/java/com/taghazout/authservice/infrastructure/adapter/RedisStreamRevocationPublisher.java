@@ -0,0 +1,131 @@
+package com.taghazout.authservice.infrastructure.adapter;
+
+import com.taghazout.authservice.domain.exception.RevocationPublishException;
+import com.taghazout.authservice.domain.port.RevocationPublisherPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis Streams implementation of RevocationPublisherPort.
+ *
+ * SOLID Principles:
+ * - SRP: Only responsible for writing revocations (stream events and
+ * watermark hash) to Redis
+ * - DIP: Implements RevocationPublisherPort (domain depends on abstraction)
+ *
+ * Why a stream (and not pub/sub or per-token keys)?
+ * - Gateways apply revocations to an in-memory registry, so each request is a
+ * local O(1) check instead of a Redis round trip
+ * - Entries are persisted: a gateway that restarts or reconnects replays the
+ * stream and never misses a revocation (pub/sub is fire-and-forget)
+ * - Entries carry their publish time, so gateways can measure revocation lag
+ *
+ * Event fields (all strings):
+ * - type: "token" or "user"
+ * - jti, exp: token id and expiration in epoch millis (type=token)
+ * - userId, issuedBefore: user id and watermark in epoch millis (type=user)
+ * - publishedAt: epoch millis when the event was written
+ *
+ * The stream is trimmed (approximate MAXLEN) so it stays bounded; the limit
+ * must cover the revocations issued during one access token lifetime.
+ *
+ * Watermark hash:
+ * - userId -> issuedBefore (epoch millis), one small field per user
+ * - Lets gateways resync all user watermarks with a single HGETALL, even
+ * after the corresponding stream entries were trimmed
+ */
+@Component
+public class RedisStreamRevocationPublisher implements RevocationPublisherPort {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String streamKey;
+    private final String watermarkKey;
+    private final long maxLength;
+
+    /**
+     * Constructor with stream configuration from properties.
+     *
+     * @param redisTemplate Redis template (String keys and values)
+     * @param streamKey     stream shared with the gateways
+     * @param watermarkKey  hash holding the user watermarks
+     * @param maxLength     approximate number of entries kept in the stream
+     */
+    public RedisStreamRevocationPublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${auth.revocation.stream-key:auth:revocations}") String streamKey,
+            @Value("${auth.revocation.watermark-key:auth:token-watermarks}") String watermarkKey,
+            @Value("${auth.revocation.stream-max-length:100000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey;
+        this.watermarkKey = watermarkKey;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void publishTokenRevoked(String tokenId, Instant expiresAt) {
+        publish(Map.of(
+                "type", "token",
+                "jti", tokenId,
+                "exp", String.valueOf(expiresAt.toEpochMilli()),
+                "publishedAt", String.valueOf(System.currentTimeMillis())));
+    }
+
+    @Override
+    public void publishUserRevoked(Long userId, Instant issuedBefore) {
+        // Durable state first: a gateway that misses the event still picks it up
+        // on its next full sync
+        try {
+            redisTemplate.opsForHash().put(watermarkKey, userId.toString(),
+                    String.valueOf(issuedBefore.toEpochMilli()));
+        } catch (DataAccessException ex) {
+            throw new RevocationPublishException("Token watermark could not be stored", ex);
+        }
+        publish(Map.of(
+                "type", "user",
+                "userId", userId.toString(),
+                "issuedBefore", String.valueOf(issuedBefore.toEpochMilli()),
+                "publishedAt", String.valueOf(System.currentTimeMillis())));
+    }
+
+    @Override
+    public void syncUserWatermarks(Map<Long, Instant> watermarks, Instant retainAfter) {
+        try {
+            Map<String, String> fields = new HashMap<>();
+            watermarks.forEach((userId, issuedBefore) -> fields.put(userId.toString(),
+                    String.valueOf(issuedBefore.toEpochMilli())));
+            if (!fields.isEmpty()) {
+                redisTemplate.opsForHash().putAll(watermarkKey, fields);
+            }
+
+            long cutoff = retainAfter.toEpochMilli();
+            List<Object> stale = redisTemplate.opsForHash().entries(watermarkKey).entrySet().stream()
+                    .filter(entry -> Long.parseLong((String) entry.getValue()) < cutoff)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!stale.isEmpty()) {
+                redisTemplate.opsForHash().delete(watermarkKey, stale.toArray());
+            }
+        } catch (DataAccessException ex) {
+            throw new RevocationPublishException("Token watermarks could not be synchronized", ex);
+        }
+    }
+
+    private void publish(Map<String, String> fields) {
+        try {
+            redisTemplate.opsForStream().add(
+                    StreamRecords.string(fields).withStreamKey(streamKey),
+                    XAddOptions.maxlen(maxLength).approximateTrimming(true));
+        } catch (DataAccessException ex) {
+            throw new RevocationPublishException("Token revocation could not be published", ex);
+        }
+    }
+}
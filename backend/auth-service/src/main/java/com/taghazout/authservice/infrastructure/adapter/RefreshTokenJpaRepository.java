@@ -35,6 +35,18 @@ public interface RefreshTokenJpaRepository extends JpaRepository<RefreshToken, L
      */
     Optional<RefreshToken> findByToken(String token);
 
+    /**
+     * Find a refresh token by value, restricted to tokens expiring after a bound.
+     * 
+     * The expires_at bound lets PostgreSQL prune the partitions that only hold
+     * expired tokens.
+     * 
+     * @param token the token string
+     * @param now   lower bound for expires_at
+     * @return Optional containing token if found and not expired
+     */
+    Optional<RefreshToken> findByTokenAndExpiresAtAfter(String token, LocalDateTime now);
+
     /**
      * Find all refresh tokens for a specific user.
      * 
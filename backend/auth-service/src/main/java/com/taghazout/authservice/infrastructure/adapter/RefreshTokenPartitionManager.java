@@ -0,0 +1,230 @@
+package com.taghazout.authservice.infrastructure.adapter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the range-partitioned refresh_tokens table (PostgreSQL only).
+ *
+ * Why partitions?
+ * - Every login and registration inserts a 7-day token, so the table churns
+ * constantly
+ * - DELETE-based purging leaves dead tuples behind: vacuum and index bloat grow
+ * with login volume
+ * - Dropping a whole partition is a metadata operation: no dead tuples, no
+ * vacuum
+ *
+ * Layout:
+ * - Partitioned BY RANGE (expires_at), one partition per day
+ * (refresh_tokens_pYYYYMMDD)
+ * - Primary key (id, expires_at) and unique (token, expires_at): PostgreSQL
+ * requires the partition key in every unique constraint
+ * - Queries bounded by expires_at (findValidTokensByUserId, findByToken) only
+ * touch live partitions (partition pruning)
+ *
+ * Responsibilities:
+ * 1. Convert a plain refresh_tokens table (created by the V1 migration) once,
+ * copying live rows
+ * 2. Pre-create partitions far enough ahead of the longest token lifetime
+ * 3. Drop partitions once every token inside them is past the retention window
+ *
+ * Enabled with auth.refresh-tokens.partitioning.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-tokens.partitioning.enabled", havingValue = "true")
+public class RefreshTokenPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPartitionManager.class);
+
+    static final String TABLE = "refresh_tokens";
+    static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int precreateDays;
+    private final int retentionDays;
+
+    /**
+     * The EntityManagerFactory parameter is only there to make sure the Flyway
+     * migrations have run before the table is inspected or converted.
+     *
+     * @param precreateDays          partitions created ahead of today (must exceed
+     *                               the refresh token lifetime)
+     * @param retentionDays          days an expired partition is kept before
+     *                               being dropped
+     * @param refreshTokenExpiration refresh token lifetime in milliseconds
+     */
+    public RefreshTokenPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${auth.refresh-tokens.partitioning.precreate-days:14}") int precreateDays,
+            @Value("${auth.refresh-tokens.partitioning.retention-days:1}") int retentionDays,
+            @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration) {
+        long lifetimeDays = TimeUnit.MILLISECONDS.toDays(refreshTokenExpiration) + 1;
+        if (precreateDays <= lifetimeDays) {
+            throw new IllegalArgumentException("auth.refresh-tokens.partitioning.precreate-days (" + precreateDays
+                    + ") must be greater than the refresh token lifetime (" + lifetimeDays + " days)");
+        }
+        if (retentionDays < 0) {
+            throw new IllegalArgumentException("Retention days cannot be negative: " + retentionDays);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.precreateDays = precreateDays;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Runs once at startup, before the web server accepts traffic.
+     */
+    @PostConstruct
+    void initialize() {
+        maintain();
+    }
+
+    /**
+     * Daily maintenance: create upcoming partitions, drop expired ones.
+     */
+    @Scheduled(cron = "${auth.refresh-tokens.partitioning.cron:0 15 0 * * *}")
+    public void maintain() {
+        maintain(LocalDate.now());
+    }
+
+    void maintain(LocalDate today) {
+        transactionTemplate.executeWithoutResult(status -> {
+            convertToPartitionedTable(today);
+            createPartitions(today, today.plusDays(precreateDays));
+        });
+        dropExpiredPartitions(today);
+    }
+
+    /**
+     * Drops every partition whose upper bound is older than the retention window.
+     *
+     * @return number of tokens removed with the dropped partitions
+     */
+    public int dropExpiredPartitions() {
+        return dropExpiredPartitions(LocalDate.now());
+    }
+
+    int dropExpiredPartitions(LocalDate today) {
+        LocalDate cutoff = today.minusDays(retentionDays);
+        int removed = 0;
+        for (String partition : listPartitions()) {
+            LocalDate day = dayOf(partition);
+            // Partition covers [day, day + 1): every token in it expired before day + 1
+            if (day != null && !day.plusDays(1).isAfter(cutoff)) {
+                Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Integer.class);
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                removed += rows != null ? rows : 0;
+                log.info("Dropped refresh token partition {} ({} rows)", partition, rows);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Replaces a plain refresh_tokens table with a partitioned one.
+     *
+     * Only live tokens are copied; the legacy table is dropped in the same
+     * transaction so the next boot finds a single refresh_tokens table.
+     */
+    private void convertToPartitionedTable(LocalDate today) {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, TABLE);
+        if ("p".equals(kind)) {
+            return;
+        }
+
+        log.info("Converting {} to a partitioned table (relkind={})", TABLE, kind);
+        boolean legacy = "r".equals(kind);
+        LocalDate lastDay = today.plusDays(precreateDays);
+        if (legacy) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_legacy");
+            java.sql.Date maxExpiry = jdbcTemplate.queryForObject(
+                    "SELECT MAX(expires_at)::date FROM " + TABLE + "_legacy", java.sql.Date.class);
+            if (maxExpiry != null && maxExpiry.toLocalDate().isAfter(lastDay)) {
+                lastDay = maxExpiry.toLocalDate();
+            }
+        }
+
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + TABLE + "_pid_seq");
+        jdbcTemplate.execute("""
+                CREATE TABLE refresh_tokens (
+                    id          BIGINT       NOT NULL DEFAULT nextval('refresh_tokens_pid_seq'),
+                    token       VARCHAR(36)  NOT NULL,
+                    user_id     BIGINT       NOT NULL,
+                    expires_at  TIMESTAMP(6) NOT NULL,
+                    revoked     BOOLEAN      NOT NULL,
+                    created_at  TIMESTAMP(6) NOT NULL,
+                    revoked_at  TIMESTAMP(6),
+                    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at),
+                    CONSTRAINT uk_refresh_token_expires UNIQUE (token, expires_at),
+                    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users (id)
+                ) PARTITION BY RANGE (expires_at)
+                """);
+        createPartitions(today, lastDay);
+
+        if (legacy) {
+            jdbcTemplate.execute("SELECT setval('" + TABLE + "_pid_seq', "
+                    + "COALESCE((SELECT MAX(id) FROM " + TABLE + "_legacy), 0) + 1, false)");
+            int copied = jdbcTemplate.update("INSERT INTO " + TABLE
+                    + " (id, token, user_id, expires_at, revoked, created_at, revoked_at)"
+                    + " SELECT id, token, user_id, expires_at, revoked, created_at, revoked_at FROM "
+                    + TABLE + "_legacy WHERE expires_at >= ?", java.sql.Date.valueOf(today));
+            jdbcTemplate.execute("DROP TABLE " + TABLE + "_legacy");
+            log.info("Copied {} live refresh tokens into the partitioned table", copied);
+        }
+
+        // Same names as the migrations and the @Index declarations; token lookups
+        // use uk_refresh_token_expires
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_id ON " + TABLE + " (user_id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_expires_at ON " + TABLE + " (expires_at)");
+    }
+
+    private void createPartitions(LocalDate from, LocalDate to) {
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                    + " PARTITION OF " + TABLE
+                    + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+        }
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                """, String.class, TABLE);
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(SUFFIX);
+    }
+
+    static LocalDate dayOf(String partition) {
+        if (partition == null || !partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (RuntimeException ex) {
+            return null; // Not one of ours (e.g. manually attached partition)
+        }
+    }
+}
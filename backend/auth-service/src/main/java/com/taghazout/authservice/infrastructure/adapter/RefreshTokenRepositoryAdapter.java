@@ -3,6 +3,9 @@ package com.taghazout.authservice.infrastructure.adapter;
 import com.taghazout.authservice.domain.port.RefreshTokenRepositoryPort;
 import com.taghazout.authservice.domain.entity.RefreshToken;
 import com.taghazout.authservice.domain.entity.User;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,25 +30,41 @@ import java.util.Optional;
  * - DIP: Implements domain port interface
  * - SRP: Only responsible for delegating to JPA repository
  * - ISP: Port interface has only needed methods
+ * 
+ * Partitioning:
+ * - Lookups are bounded by expires_at so PostgreSQL prunes expired partitions
+ * - When RefreshTokenPartitionManager is active, expired tokens are removed by
+ * dropping partitions instead of DELETE-ing rows
+ *
+ * Tracing:
+ * - save() is observed as auth.refresh-token.persistence (one per login)
  */
 @Component
 @Transactional
 public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryPort {
 
     private final RefreshTokenJpaRepository jpaRepository;
+    private final ObjectProvider<RefreshTokenPartitionManager> partitionManager;
+    private final ObservationRegistry observationRegistry;
 
-    public RefreshTokenRepositoryAdapter(RefreshTokenJpaRepository jpaRepository) {
+    public RefreshTokenRepositoryAdapter(
+            RefreshTokenJpaRepository jpaRepository,
+            ObjectProvider<RefreshTokenPartitionManager> partitionManager,
+            ObservationRegistry observationRegistry) {
         this.jpaRepository = jpaRepository;
+        this.partitionManager = partitionManager;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
     public RefreshToken save(RefreshToken refreshToken) {
-        return jpaRepository.save(refreshToken);
+        return Observation.createNotStarted("auth.refresh-token.persistence", observationRegistry)
+                .observe(() -> jpaRepository.save(refreshToken));
     }
 
     @Override
     public Optional<RefreshToken> findByToken(String token) {
-        return jpaRepository.findByToken(token);
+        return jpaRepository.findByTokenAndExpiresAtAfter(token, LocalDateTime.now());
     }
 
     @Override
@@ -70,6 +89,10 @@ public class RefreshTokenRepositoryAdapter implements RefreshTokenRepositoryPort
 
     @Override
     public int deleteExpiredTokens() {
+        RefreshTokenPartitionManager manager = partitionManager.getIfAvailable();
+        if (manager != null) {
+            return manager.dropExpiredPartitions();
+        }
         return jpaRepository.deleteExpiredTokens(LocalDateTime.now());
     }
 
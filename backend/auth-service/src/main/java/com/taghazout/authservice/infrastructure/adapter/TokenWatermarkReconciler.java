@@ -0,0 +1,68 @@
+package com.taghazout.authservice.infrastructure.adapter;
+
+import com.taghazout.authservice.domain.entity.User;
+import com.taghazout.authservice.domain.port.RevocationPublisherPort;
+import com.taghazout.authservice.domain.port.UserRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Mirrors the users.tokens_valid_after watermarks into the gateway-facing
+ * watermark map.
+ *
+ * Why?
+ * - Watermarks are published after commit; a Redis outage at that moment
+ * must not leave revoked tokens usable
+ * - The database is the source of truth, the Redis hash is a cache of the
+ * watermarks that can still reject a live access token
+ *
+ * Only watermarks younger than the retention window are mirrored (older ones
+ * can only match expired tokens), so each run touches a handful of rows.
+ */
+@Component
+public class TokenWatermarkReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenWatermarkReconciler.class);
+
+    private final UserRepositoryPort userRepository;
+    private final RevocationPublisherPort revocationPublisher;
+    private final Duration retention;
+
+    /**
+     * @param retention how long a watermark is kept (must exceed the access
+     *                  token lifetime)
+     */
+    public TokenWatermarkReconciler(
+            UserRepositoryPort userRepository,
+            RevocationPublisherPort revocationPublisher,
+            @Value("${auth.revocation.watermark-retention:PT1H}") Duration retention) {
+        this.userRepository = userRepository;
+        this.revocationPublisher = revocationPublisher;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.reconcile-interval:PT1M}", initialDelayString = "${auth.revocation.reconcile-interval:PT1M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        LocalDateTime since = LocalDateTime.now().minus(retention);
+        Map<Long, Instant> watermarks = userRepository.findByTokensValidAfterAfter(since).stream()
+                .collect(Collectors.toMap(User::getId,
+                        user -> user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant()));
+        try {
+            revocationPublisher.syncUserWatermarks(watermarks, since.atZone(ZoneId.systemDefault()).toInstant());
+        } catch (RuntimeException ex) {
+            log.warn("Token watermark reconciliation failed ({} watermarks): {}", watermarks.size(), ex.getMessage());
+        }
+    }
+}
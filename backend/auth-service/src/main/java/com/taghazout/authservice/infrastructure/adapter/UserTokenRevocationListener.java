@@ -0,0 +1,75 @@
+package com.taghazout.authservice.infrastructure.adapter;
+
+import com.taghazout.authservice.domain.entity.User;
+import com.taghazout.authservice.domain.port.RevocationPublisherPort;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * JPA entity listener publishing a user's tokensValidAfter watermark.
+ *
+ * SOLID Principles:
+ * - SRP: Only bridges User watermark changes to RevocationPublisherPort
+ * - OCP: Every code path calling User.lock(), updatePassword() or
+ * revokeTokens() is covered without touching the use cases
+ *
+ * Design Decisions:
+ * - Published after commit: the gateways never reject tokens because of a
+ * change that was rolled back
+ * - A failed publication is only logged: the watermark is durable in the
+ * users table and TokenWatermarkReconciler mirrors it to Redis again
+ * - Registered for User in META-INF/orm.xml (keeps the domain free of
+ * infrastructure imports)
+ * - Instantiated by Hibernate through Spring's bean container; the publisher
+ * is optional so JPA slice tests run without Redis
+ */
+public class UserTokenRevocationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserTokenRevocationListener.class);
+
+    private final ObjectProvider<RevocationPublisherPort> revocationPublisher;
+
+    public UserTokenRevocationListener(ObjectProvider<RevocationPublisherPort> revocationPublisher) {
+        this.revocationPublisher = revocationPublisher;
+    }
+
+    @PostUpdate
+    void afterUpdate(User user) {
+        if (!user.hasPendingTokenRevocation()) {
+            return;
+        }
+        user.clearPendingTokenRevocation();
+
+        Long userId = user.getId();
+        Instant issuedBefore = user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId, issuedBefore);
+                }
+            });
+        } else {
+            publish(userId, issuedBefore);
+        }
+    }
+
+    private void publish(Long userId, Instant issuedBefore) {
+        RevocationPublisherPort publisher = revocationPublisher.getIfAvailable();
+        if (publisher == null) {
+            return;
+        }
+        try {
+            publisher.publishUserRevoked(userId, issuedBefore);
+        } catch (RuntimeException ex) {
+            log.warn("Token watermark for user {} not published, reconciler will retry: {}", userId, ex.getMessage());
+        }
+    }
+}
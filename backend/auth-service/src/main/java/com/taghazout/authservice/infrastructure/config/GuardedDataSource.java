@@ -0,0 +1,90 @@
+package com.taghazout.authservice.infrastructure.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SRP: ONLY bounds how many callers may hold or wait for a JDBC connection.
+ *
+ * - max-connections + max-pending permits; a caller without a permit fails
+ *   at once (SQLTransientConnectionException) instead of parking on the pool
+ * - With virtual threads every request gets a thread, so without this bound
+ *   thousands of requests could queue on the pool for connection-timeout
+ * - The permit is returned when the connection is closed (back to the pool)
+ *
+ * The same class (and GuardedDataSourceTest) exists in listing-service: the
+ * services share no code, keep the copies identical.
+ */
+public class GuardedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+
+    public GuardedDataSource(DataSource target, int maxConnections, int maxPending) {
+        super(target);
+        this.maxPermits = maxConnections + maxPending;
+        this.permits = new Semaphore(maxPermits);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Callers holding or waiting for a connection.
+     */
+    public int inUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    private void acquire() throws SQLTransientConnectionException {
+        if (!permits.tryAcquire()) {
+            throw new SQLTransientConnectionException(
+                    "Connection pool saturated: " + maxPermits + " callers already holding or waiting");
+        }
+    }
+
+    private Connection guarded(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    } finally {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,13 @@
+package com.taghazout.authservice.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs (e.g. refresh token partition
+ * rotation).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
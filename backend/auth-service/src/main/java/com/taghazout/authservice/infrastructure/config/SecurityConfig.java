@@ -10,6 +10,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -32,6 +33,7 @@ import java.util.List;
  * performance)
  * - Public access to registration and login endpoints
  * - H2 console enabled in development profile only
+ * - JFR dumps (/actuator/jfr) only from the service host itself
  * - Frame options configured for H2 console compatibility
  */
 @Configuration
@@ -42,12 +44,17 @@ public class SecurityConfig {
             "/api/v1/auth/register/client",
             "/api/v1/auth/register/host",
             "/api/v1/auth/login",
-            "/api/v1/auth/refresh"
+            "/api/v1/auth/refresh",
+            // Logout endpoints verify the presented token themselves
+            "/api/v1/auth/logout",
+            "/api/v1/auth/logout-all"
     };
 
     private static final String[] ACTUATOR_ENDPOINTS = {
             "/actuator/health",
-            "/actuator/info"
+            "/actuator/info",
+            // Scraped by Prometheus (no credentials)
+            "/actuator/prometheus"
     };
 
     private static final String[] OPENAPI_ENDPOINTS = {
@@ -107,6 +114,10 @@ public class SecurityConfig {
                     // Actuator endpoints (health check, info)
                     auth.requestMatchers(ACTUATOR_ENDPOINTS).permitAll();
 
+                    // Profiling dumps: from the host itself only (e.g. docker exec + curl)
+                    auth.requestMatchers("/actuator/jfr/**").access(
+                            new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')"));
+
                     // OpenAPI documentation endpoints
                     auth.requestMatchers(OPENAPI_ENDPOINTS).permitAll();
 
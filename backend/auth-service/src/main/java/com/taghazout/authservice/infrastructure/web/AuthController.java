@@ -2,15 +2,18 @@ package com.taghazout.authservice.infrastructure.web;
 
 import com.taghazout.authservice.application.dto.AuthResponse;
 import com.taghazout.authservice.application.dto.LoginRequest;
+import com.taghazout.authservice.application.dto.LogoutRequest;
 import com.taghazout.authservice.application.dto.RegisterRequest;
 import com.taghazout.authservice.application.usecase.AuthenticateUserUseCase;
 import com.taghazout.authservice.application.usecase.CreateUserUseCase;
+import com.taghazout.authservice.application.usecase.LogoutUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -36,6 +39,9 @@ import org.springframework.web.bind.annotation.*;
  * Endpoints:
  * - POST /api/v1/auth/register - Create new user (201 Created)
  * - POST /api/v1/auth/login - Authenticate user (200 OK)
+ * - POST /api/v1/auth/logout - Revoke current session (204 No Content)
+ * - POST /api/v1/auth/logout-all - Revoke all sessions of the user (204 No
+ * Content)
  * 
  * Validation:
  * - @Valid triggers Jakarta validation on DTOs
@@ -48,18 +54,24 @@ public class AuthController {
 
     private final CreateUserUseCase createUserUseCase;
     private final AuthenticateUserUseCase authenticateUserUseCase;
+    private final LogoutUseCase logoutUseCase;
+
+    private static final String BEARER_PREFIX = "Bearer ";
 
     /**
      * Constructor injection (no field injection).
      * 
      * @param createUserUseCase       user registration use case
      * @param authenticateUserUseCase user authentication use case
+     * @param logoutUseCase           token revocation use case
      */
     public AuthController(
             CreateUserUseCase createUserUseCase,
-            AuthenticateUserUseCase authenticateUserUseCase) {
+            AuthenticateUserUseCase authenticateUserUseCase,
+            LogoutUseCase logoutUseCase) {
         this.createUserUseCase = createUserUseCase;
         this.authenticateUserUseCase = authenticateUserUseCase;
+        this.logoutUseCase = logoutUseCase;
     }
 
     /**
@@ -119,4 +131,54 @@ public class AuthController {
         AuthResponse response = authenticateUserUseCase.execute(request);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Logout the current session.
+     * 
+     * Revokes the refresh token from the body and the bearer access token.
+     * Both are optional; logout is idempotent.
+     * 
+     * @param authorization Authorization header (Bearer access token)
+     * @param request       optional body with the refresh token
+     * @return 204 No Content
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revokes the current access token and refresh token.", responses = {
+            @ApiResponse(responseCode = "204", description = "Logout successful"),
+            @ApiResponse(responseCode = "503", description = "Revocation could not be published")
+    })
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) LogoutRequest request) {
+        logoutUseCase.logout(bearerToken(authorization), request != null ? request.refreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Logout from all devices.
+     * 
+     * Revokes every refresh token and every access token issued so far to the
+     * owner of the bearer access token.
+     * 
+     * @param authorization Authorization header (Bearer access token)
+     * @return 204 No Content
+     */
+    @PostMapping("/logout-all")
+    @Operation(summary = "Logout from all devices", description = "Revokes all access and refresh tokens of the user.", responses = {
+            @ApiResponse(responseCode = "204", description = "All sessions revoked"),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or expired access token"),
+            @ApiResponse(responseCode = "503", description = "Revocation could not be published")
+    })
+    public ResponseEntity<Void> logoutAll(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        logoutUseCase.logoutAll(bearerToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length()).trim();
+    }
 }
@@ -2,8 +2,10 @@ package com.taghazout.authservice.infrastructure.web;
 
 import com.taghazout.authservice.domain.exception.InvalidCredentialsException;
 import com.taghazout.authservice.domain.exception.InvalidRefreshTokenException;
+import com.taghazout.authservice.domain.exception.RevocationPublishException;
 import com.taghazout.authservice.domain.exception.UserAlreadyExistsException;
 import com.taghazout.authservice.domain.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -36,10 +38,19 @@ import java.util.Map;
  * "message": "User with email already exists: test@example.com",
  * "path": "/api/v1/auth/register"
  * }
+ *
+ * Metrics: every handled exception is counted as
+ * auth.exceptions{exception=<simple class name>,status=<code>}.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Handles UserAlreadyExistsException (409 Conflict).
      * 
@@ -50,6 +61,7 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.CONFLICT,
                 ex.getMessage());
+        count(ex, HttpStatus.CONFLICT);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
@@ -64,6 +76,7 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.NOT_FOUND,
                 ex.getMessage());
+        count(ex, HttpStatus.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
@@ -77,6 +90,7 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.UNAUTHORIZED,
                 ex.getMessage());
+        count(ex, HttpStatus.UNAUTHORIZED);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
@@ -90,9 +104,25 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.UNAUTHORIZED,
                 ex.getMessage());
+        count(ex, HttpStatus.UNAUTHORIZED);
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    /**
+     * Handles RevocationPublishException (503 Service Unavailable).
+     * 
+     * Thrown during logout when the revocation cannot reach the gateways.
+     * Nothing was revoked, so the client may retry.
+     */
+    @ExceptionHandler(RevocationPublishException.class)
+    public ResponseEntity<ErrorResponse> handleRevocationPublish(RevocationPublishException ex) {
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage());
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     /**
      * Handles validation errors (400 Bad Request).
      * 
@@ -115,6 +145,7 @@ public class GlobalExceptionHandler {
         });
         errors.put("errors", fieldErrors);
 
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.badRequest().body(errors);
     }
 
@@ -128,6 +159,7 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.BAD_REQUEST,
                 ex.getMessage());
+        count(ex, HttpStatus.BAD_REQUEST);
         return ResponseEntity.badRequest().body(error);
     }
 
@@ -140,6 +172,7 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.UNSUPPORTED_MEDIA_TYPE,
                 ex.getMessage());
+        count(ex, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
         return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(error);
     }
 
@@ -157,9 +190,16 @@ public class GlobalExceptionHandler {
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 "An unexpected error occurred. Please try again later.");
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    private void count(Exception ex, HttpStatus status) {
+        meterRegistry.counter("auth.exceptions",
+                "exception", ex.getClass().getSimpleName(),
+                "status", Integer.toString(status.value())).increment();
+    }
+
     /**
      * Standard error response DTO.
      */
@@ -0,0 +1,49 @@
+-- auth-service schema as Hibernate's ddl-auto=update created it (User, HostProfile, RefreshToken).
+-- Runs on PostgreSQL and H2. On PostgreSQL, RefreshTokenPartitionManager converts
+-- refresh_tokens into a range-partitioned table at startup.
+
+CREATE TABLE users (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email              VARCHAR(255) NOT NULL,
+    password           VARCHAR(60)  NOT NULL,
+    first_name         VARCHAR(100),
+    last_name          VARCHAR(100),
+    role               VARCHAR(20)  NOT NULL,
+    is_enabled         BOOLEAN      NOT NULL,
+    is_locked          BOOLEAN      NOT NULL,
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6),
+    tokens_valid_after TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE INDEX idx_user_email ON users (email);
+
+CREATE TABLE host_profiles (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    organization_name VARCHAR(255) NOT NULL,
+    user_id           BIGINT       NOT NULL,
+    CONSTRAINT pk_host_profiles PRIMARY KEY (id),
+    CONSTRAINT uk_host_profiles_user UNIQUE (user_id),
+    CONSTRAINT fk_host_profiles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Primary key and unique constraint left unnamed: the partitioned table takes
+-- pk_refresh_tokens and uk_refresh_token_expires while this one is still around
+CREATE TABLE refresh_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    token      VARCHAR(36)  NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    UNIQUE (token, expires_at),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_refresh_token ON refresh_tokens (token);
+CREATE INDEX idx_user_id ON refresh_tokens (user_id);
+CREATE INDEX idx_expires_at ON refresh_tokens (expires_at);
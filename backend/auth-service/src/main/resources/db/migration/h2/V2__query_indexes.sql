@@ -0,0 +1,7 @@
+-- H2 counterpart of postgresql/V2__query_indexes.sql (no CONCURRENTLY, no partial indexes)
+
+CREATE INDEX IF NOT EXISTS idx_users_tokens_valid_after ON users (tokens_valid_after);
+
+DROP INDEX IF EXISTS idx_user_email;
+
+DROP INDEX IF EXISTS idx_refresh_token;
@@ -0,0 +1,15 @@
+-- Online index changes: runs outside a transaction (V2__query_indexes.sql.conf),
+-- so CONCURRENTLY neither blocks logins nor registrations while it builds.
+-- A failed CONCURRENTLY build leaves an INVALID index behind: drop it before retrying.
+
+-- TokenWatermarkReconciler reads the users whose watermark moved within the retention
+-- window, every reconcile-interval: a handful of rows, without this a full scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_tokens_valid_after
+    ON users (tokens_valid_after) WHERE tokens_valid_after IS NOT NULL;
+
+-- Email lookups use the unique constraint's index (uk_users_email)
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_email;
+
+-- Token lookups use uk_refresh_token_expires (token, expires_at). refresh_tokens is
+-- partitioned (no CONCURRENTLY there); dropping only touches the catalog
+DROP INDEX IF EXISTS idx_refresh_token;
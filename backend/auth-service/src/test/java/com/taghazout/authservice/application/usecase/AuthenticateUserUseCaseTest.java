@@ -9,6 +9,7 @@ import com.taghazout.authservice.domain.exception.InvalidCredentialsException;
 import com.taghazout.authservice.domain.port.RefreshTokenRepositoryPort;
 import com.taghazout.authservice.domain.port.TokenProviderPort;
 import com.taghazout.authservice.domain.port.UserRepositoryPort;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -55,7 +56,8 @@ class AuthenticateUserUseCaseTest {
                 userRepository,
                 refreshTokenRepository,
                 tokenProvider,
-                passwordEncoder);
+                passwordEncoder,
+                ObservationRegistry.NOOP);
     }
 
     @Test
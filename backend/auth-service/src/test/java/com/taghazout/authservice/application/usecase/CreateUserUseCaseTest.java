@@ -11,6 +11,7 @@ import com.taghazout.authservice.domain.port.HostProfileRepositoryPort;
 import com.taghazout.authservice.domain.port.RefreshTokenRepositoryPort;
 import com.taghazout.authservice.domain.port.TokenProviderPort;
 import com.taghazout.authservice.domain.port.UserRepositoryPort;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -62,7 +63,8 @@ class CreateUserUseCaseTest {
                                 refreshTokenRepository,
                                 hostProfileRepository,
                                 tokenProvider,
-                                passwordEncoder);
+                                passwordEncoder,
+                                ObservationRegistry.NOOP);
         }
 
         @Test
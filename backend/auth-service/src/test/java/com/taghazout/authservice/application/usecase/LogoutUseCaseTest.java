@@ -0,0 +1,143 @@
+package com.taghazout.authservice.application.usecase;
+
+import com.taghazout.authservice.domain.entity.RefreshToken;
+import com.taghazout.authservice.domain.entity.User;
+import com.taghazout.authservice.domain.enums.Role;
+import com.taghazout.authservice.domain.exception.InvalidCredentialsException;
+import com.taghazout.authservice.domain.port.RefreshTokenRepositoryPort;
+import com.taghazout.authservice.domain.port.RevocationPublisherPort;
+import com.taghazout.authservice.domain.port.TokenProviderPort;
+import com.taghazout.authservice.domain.port.UserRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LogoutUseCase.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LogoutUseCase Tests")
+class LogoutUseCaseTest {
+
+    @Mock
+    private UserRepositoryPort userRepository;
+
+    @Mock
+    private RefreshTokenRepositoryPort refreshTokenRepository;
+
+    @Mock
+    private TokenProviderPort tokenProvider;
+
+    @Mock
+    private RevocationPublisherPort revocationPublisher;
+
+    private LogoutUseCase logoutUseCase;
+
+    private static final String ACCESS_TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...";
+    private static final String REFRESH_TOKEN = "5f0c3d1e-refresh";
+    private static final String TOKEN_ID = "8d2c1b7a-jti";
+    private static final Instant EXPIRES_AT = Instant.parse("2026-10-18T12:15:00Z");
+
+    @BeforeEach
+    void setUp() {
+        logoutUseCase = new LogoutUseCase(userRepository, refreshTokenRepository, tokenProvider, revocationPublisher);
+    }
+
+    @Test
+    @DisplayName("Should revoke refresh token and publish access token revocation")
+    void shouldRevokeBothTokensOnLogout() {
+        // Given
+        RefreshToken refreshToken = mock(RefreshToken.class);
+        when(refreshToken.isValid()).thenReturn(true);
+        when(refreshTokenRepository.findByToken(REFRESH_TOKEN)).thenReturn(Optional.of(refreshToken));
+        when(tokenProvider.isTokenExpired(ACCESS_TOKEN)).thenReturn(false);
+        when(tokenProvider.getTokenIdFromToken(ACCESS_TOKEN)).thenReturn(TOKEN_ID);
+        when(tokenProvider.getExpirationFromToken(ACCESS_TOKEN)).thenReturn(EXPIRES_AT);
+
+        // When
+        logoutUseCase.logout(ACCESS_TOKEN, REFRESH_TOKEN);
+
+        // Then
+        verify(refreshToken).revoke();
+        verify(refreshTokenRepository).save(refreshToken);
+        verify(revocationPublisher).publishTokenRevoked(TOKEN_ID, EXPIRES_AT);
+    }
+
+    @Test
+    @DisplayName("Should not publish anything for an expired or invalid access token")
+    void shouldIgnoreExpiredAccessToken() {
+        // Given
+        when(tokenProvider.isTokenExpired(ACCESS_TOKEN)).thenReturn(true);
+
+        // When
+        logoutUseCase.logout(ACCESS_TOKEN, null);
+
+        // Then
+        verifyNoInteractions(revocationPublisher, refreshTokenRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should be idempotent for unknown refresh tokens")
+    void shouldIgnoreUnknownRefreshToken() {
+        // Given
+        when(refreshTokenRepository.findByToken(REFRESH_TOKEN)).thenReturn(Optional.empty());
+
+        // When
+        logoutUseCase.logout(null, REFRESH_TOKEN);
+
+        // Then
+        verify(refreshTokenRepository, never()).save(any());
+        verifyNoInteractions(revocationPublisher);
+    }
+
+    @Test
+    @DisplayName("Should revoke all refresh tokens and move the user watermark")
+    void shouldMoveWatermarkOnLogoutAll() {
+        // Given
+        User user = new User("test@example.com", "$2a$12$hashedPassword", Role.CLIENT);
+        RefreshToken first = mock(RefreshToken.class);
+        RefreshToken second = mock(RefreshToken.class);
+        when(tokenProvider.isTokenExpired(ACCESS_TOKEN)).thenReturn(false);
+        when(tokenProvider.getUserIdFromToken(ACCESS_TOKEN)).thenReturn(42L);
+        when(tokenProvider.getTokenIdFromToken(ACCESS_TOKEN)).thenReturn(TOKEN_ID);
+        when(tokenProvider.getExpirationFromToken(ACCESS_TOKEN)).thenReturn(EXPIRES_AT);
+        when(userRepository.findById(42L)).thenReturn(Optional.of(user));
+        when(refreshTokenRepository.findValidTokensByUserId(42L)).thenReturn(List.of(first, second));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        logoutUseCase.logoutAll(ACCESS_TOKEN);
+
+        // Then
+        verify(first).revoke();
+        verify(second).revoke();
+        verify(userRepository).save(user);
+        assertThat(user.getTokensValidAfter().getNano()).isZero(); // second precision, like iat
+        assertThat(user.getTokensValidAfter()).isBetween(before.minusSeconds(1), LocalDateTime.now());
+        assertThat(user.hasPendingTokenRevocation()).isTrue();
+        verify(revocationPublisher).publishTokenRevoked(TOKEN_ID, EXPIRES_AT);
+    }
+
+    @Test
+    @DisplayName("Should reject logout from all devices without a valid access token")
+    void shouldRejectLogoutAllWithoutToken() {
+        assertThatThrownBy(() -> logoutUseCase.logoutAll(null))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        verifyNoInteractions(revocationPublisher, refreshTokenRepository, userRepository);
+        verify(tokenProvider, never()).getUserIdFromToken(anyString());
+    }
+}
@@ -114,6 +114,7 @@ class UserTest {
 
             // Then
             assertThat(user.getPassword()).isEqualTo(newHash);
+            assertThat(user.getTokensValidAfter()).isNotNull(); // old sessions revoked
         }
 
         @Test
@@ -142,6 +143,8 @@ class UserTest {
             // Then
             assertThat(user.isLocked()).isTrue();
             assertThat(user.canAuthenticate()).isFalse();
+            assertThat(user.getTokensValidAfter()).isNotNull();
+            assertThat(user.hasPendingTokenRevocation()).isTrue();
         }
 
         @Test
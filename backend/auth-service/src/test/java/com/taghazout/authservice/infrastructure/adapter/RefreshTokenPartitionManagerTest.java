@@ -0,0 +1,99 @@
+package com.taghazout.authservice.infrastructure.adapter;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RefreshTokenPartitionManager.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenPartitionManager Tests")
+class RefreshTokenPartitionManagerTest {
+
+    private static final long SEVEN_DAYS_MS = 604800000L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    private RefreshTokenPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new RefreshTokenPartitionManager(
+                jdbcTemplate, new TransactionTemplate(transactionManager), entityManagerFactory, 14, 1, SEVEN_DAYS_MS);
+    }
+
+    @Test
+    @DisplayName("Should reject a pre-creation window shorter than the token lifetime")
+    void shouldRejectShortPrecreateWindow() {
+        assertThatThrownBy(() -> new RefreshTokenPartitionManager(
+                jdbcTemplate, new TransactionTemplate(transactionManager), entityManagerFactory, 7, 1, SEVEN_DAYS_MS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("precreate-days");
+    }
+
+    @Test
+    @DisplayName("Should round-trip partition names and ignore foreign tables")
+    void shouldRoundTripPartitionNames() {
+        assertThat(RefreshTokenPartitionManager.partitionName(TODAY)).isEqualTo("refresh_tokens_p20261018");
+        assertThat(RefreshTokenPartitionManager.dayOf("refresh_tokens_p20261018")).isEqualTo(TODAY);
+        assertThat(RefreshTokenPartitionManager.dayOf("refresh_tokens_legacy")).isNull();
+        assertThat(RefreshTokenPartitionManager.dayOf("refresh_tokens_pdefault")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop only partitions past the retention window")
+    void shouldDropOnlyExpiredPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("refresh_tokens")))
+                .thenReturn(List.of("refresh_tokens_p20261015", "refresh_tokens_p20261016",
+                        "refresh_tokens_p20261017", "refresh_tokens_p20261018"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*)"), eq(Integer.class))).thenReturn(3);
+
+        int removed = manager.dropExpiredPartitions(TODAY);
+
+        // Retention 1 day: partitions ending on or before 2026-10-17 are dropped
+        assertThat(removed).isEqualTo(6);
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS refresh_tokens_p20261015");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS refresh_tokens_p20261016");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS refresh_tokens_p20261017");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS refresh_tokens_p20261018");
+    }
+
+    @Test
+    @DisplayName("Should only pre-create partitions when the table is already partitioned")
+    void shouldPrecreatePartitionsForPartitionedTable() {
+        when(jdbcTemplate.queryForObject(contains("relkind"), eq(String.class), eq("refresh_tokens")))
+                .thenReturn("p");
+
+        manager.maintain(TODAY);
+
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE"));
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS refresh_tokens_p20261018"
+                + " PARTITION OF refresh_tokens FOR VALUES FROM ('2026-10-18') TO ('2026-10-19')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS refresh_tokens_p20261101"
+                + " PARTITION OF refresh_tokens FOR VALUES FROM ('2026-11-01') TO ('2026-11-02')");
+        verify(jdbcTemplate, times(15)).execute(startsWith("CREATE TABLE IF NOT EXISTS"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.taghazout.authservice.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GuardedDataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GuardedDataSource Tests")
+class GuardedDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private GuardedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new GuardedDataSource(pool, 1, 1);
+    }
+
+    @Test
+    @DisplayName("should fail fast once max-connections + max-pending callers hold a permit")
+    void shouldRejectBeyondLimit() throws Exception {
+        when(pool.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.inUse()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("should return the permit once when the connection is closed")
+    void shouldReleaseOnClose() throws Exception {
+        when(pool.getConnection()).thenReturn(connection);
+
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        assertThat(dataSource.inUse()).isZero();
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("should return the permit when the pool fails")
+    void shouldReleaseWhenPoolFails() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+
+        assertThat(dataSource.inUse()).isZero();
+    }
+}
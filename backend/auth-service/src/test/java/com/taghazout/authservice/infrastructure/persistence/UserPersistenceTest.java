@@ -2,16 +2,24 @@ package com.taghazout.authservice.infrastructure.persistence;
 
 import com.taghazout.authservice.domain.entity.User;
 import com.taghazout.authservice.domain.enums.Role;
+import com.taghazout.authservice.domain.port.RevocationPublisherPort;
 import com.taghazout.authservice.infrastructure.adapter.UserJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.Instant;
 
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -20,6 +28,9 @@ class UserPersistenceTest {
     @Autowired
     private UserJpaRepository userJpaRepository;
 
+    @MockitoBean
+    private RevocationPublisherPort revocationPublisher;
+
     @Test
     void shouldSaveAndFindUser() {
         // Use manual constructor as @Builder is not present
@@ -34,4 +45,19 @@ class UserPersistenceTest {
         assertThat(foundUser).isPresent();
         assertThat(foundUser.get().getEmail()).isEqualTo("persistence@test.com");
     }
+
+    @Test
+    void shouldPublishWatermarkAfterCommitThroughOrmXmlListener() {
+        String hashedPw = "$2a$10$8.UnVuG9HHgffUDAlk8qfOuVGkqRzgVymGe07xcx1D1VQRiV9vvwm";
+        User user = ((JpaRepository<User, Long>) userJpaRepository)
+                .saveAndFlush(new User("listener@test.com", hashedPw, Role.CLIENT));
+
+        user.revokeTokens();
+        ((JpaRepository<User, Long>) userJpaRepository).flush();
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        verify(revocationPublisher).publishUserRevoked(eq(user.getId()), any(Instant.class));
+        ((JpaRepository<User, Long>) userJpaRepository).deleteById(user.getId());
+    }
 }
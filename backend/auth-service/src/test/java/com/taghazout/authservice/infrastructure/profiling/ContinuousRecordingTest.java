@@ -0,0 +1,72 @@
+package com.taghazout.authservice.infrastructure.profiling;
+
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ContinuousRecording Tests")
+class ContinuousRecordingTest {
+
+    private final ContinuousRecording recording = new ContinuousRecording(true, Duration.ofMinutes(1),
+            DataSize.ofMegabytes(10), Duration.ofMillis(20), "50/s", Duration.ofMillis(5));
+
+    // auth-service defines no events of its own
+    @Name("taghazout.auth.Probe")
+    static final class ProbeEvent extends Event {
+
+        String label;
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.stop();
+    }
+
+    @Test
+    @DisplayName("should dump recent events while recording continues")
+    void shouldDumpRecentEvents(@TempDir Path dir) throws Exception {
+        recording.start();
+        ProbeEvent event = new ProbeEvent();
+        event.label = "login";
+        event.commit();
+
+        Path dump = dir.resolve("dump.jfr");
+        recording.dump(Duration.ofMinutes(1), dump);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("taghazout.auth.Probe"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getString("label")).isEqualTo("login"));
+        assertThat(recording.isRecording()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should stop recording on stop")
+    void shouldStopRecording() {
+        recording.start();
+        recording.stop();
+
+        assertThat(recording.isRecording()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should refuse to dump when not recording")
+    void shouldRefuseDumpWhenStopped(@TempDir Path dir) {
+        assertThatThrownBy(() -> recording.dump(Duration.ofMinutes(1), dir.resolve("dump.jfr")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -3,18 +3,23 @@ package com.taghazout.authservice.infrastructure.web;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taghazout.authservice.application.dto.AuthResponse;
 import com.taghazout.authservice.application.dto.LoginRequest;
+import com.taghazout.authservice.application.dto.LogoutRequest;
 import com.taghazout.authservice.application.dto.RegisterRequest;
 import com.taghazout.authservice.application.usecase.AuthenticateUserUseCase;
 import com.taghazout.authservice.application.usecase.CreateUserUseCase;
+import com.taghazout.authservice.application.usecase.LogoutUseCase;
 import com.taghazout.authservice.domain.enums.Role;
 import com.taghazout.authservice.domain.exception.InvalidCredentialsException;
+import com.taghazout.authservice.domain.exception.RevocationPublishException;
 import com.taghazout.authservice.domain.exception.UserAlreadyExistsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
@@ -34,6 +39,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(AuthController.class)
 @AutoConfigureMockMvc(addFilters = false)
 @ActiveProfiles("test")
+// GlobalExceptionHandler counts exceptions; the MVC slice has no metrics auto-configuration
+@Import(SimpleMeterRegistry.class)
 @DisplayName("AuthController Tests")
 class AuthControllerTest {
 
@@ -49,6 +56,9 @@ class AuthControllerTest {
         @MockitoBean
         private AuthenticateUserUseCase authenticateUserUseCase;
 
+        @MockitoBean
+        private LogoutUseCase logoutUseCase;
+
         @Nested
         @DisplayName("POST /api/v1/auth/register/client")
         class ClientRegisterEndpointTests {
@@ -300,6 +310,60 @@ class AuthControllerTest {
                 }
         }
 
+        @Nested
+        @DisplayName("POST /api/v1/auth/logout")
+        class LogoutEndpointTests {
+
+                @Test
+                @DisplayName("Should pass bearer and refresh token to the use case and return 204")
+                void shouldLogoutSuccessfully() throws Exception {
+                        // When/Then
+                        mockMvc.perform(post("/api/v1/auth/logout")
+                                        .header("Authorization", "Bearer access.token.here")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(new LogoutRequest("refresh-token-uuid"))))
+                                        .andExpect(status().isNoContent());
+
+                        verify(logoutUseCase).logout("access.token.here", "refresh-token-uuid");
+                }
+
+                @Test
+                @DisplayName("Should accept logout without body")
+                void shouldLogoutWithoutBody() throws Exception {
+                        // When/Then
+                        mockMvc.perform(post("/api/v1/auth/logout")
+                                        .header("Authorization", "Bearer access.token.here"))
+                                        .andExpect(status().isNoContent());
+
+                        verify(logoutUseCase).logout("access.token.here", null);
+                }
+
+                @Test
+                @DisplayName("Should return 503 when the revocation cannot be published")
+                void shouldReturn503WhenPublishFails() throws Exception {
+                        // Given
+                        doThrow(new RevocationPublishException("Token revocation could not be published", null))
+                                        .when(logoutUseCase).logoutAll("access.token.here");
+
+                        // When/Then
+                        mockMvc.perform(post("/api/v1/auth/logout-all")
+                                        .header("Authorization", "Bearer access.token.here"))
+                                        .andExpect(status().isServiceUnavailable());
+                }
+
+                @Test
+                @DisplayName("Should return 401 for logout-all without access token")
+                void shouldReturn401ForLogoutAllWithoutToken() throws Exception {
+                        // Given
+                        doThrow(new InvalidCredentialsException("Invalid or expired access token"))
+                                        .when(logoutUseCase).logoutAll(null);
+
+                        // When/Then
+                        mockMvc.perform(post("/api/v1/auth/logout-all"))
+                                        .andExpect(status().isUnauthorized());
+                }
+        }
+
         @Nested
         @DisplayName("Content Type Tests")
         class ContentTypeTests {
@@ -0,0 +1,46 @@
+package com.taghazout.authservice.infrastructure.web;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PoolSaturationFilter.
+ */
+@DisplayName("PoolSaturationFilter Tests")
+class PoolSaturationFilterTest {
+
+    @Test
+    @DisplayName("should report active plus waiting connections over the pool size")
+    void shouldReportSaturation() throws Exception {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariPoolMXBean mxBean = mock(HikariPoolMXBean.class);
+        when(pool.getHikariPoolMXBean()).thenReturn(mxBean);
+        when(pool.getMaximumPoolSize()).thenReturn(10);
+        when(mxBean.getActiveConnections()).thenReturn(10);
+        when(mxBean.getThreadsAwaitingConnection()).thenReturn(2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PoolSaturationFilter(pool).doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        assertThat(response.getHeader(PoolSaturationFilter.HEADER)).isEqualTo("1.20");
+    }
+
+    @Test
+    @DisplayName("should not report before the pool has started")
+    void shouldSkipUntilPoolStarted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PoolSaturationFilter(mock(HikariDataSource.class))
+                .doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        assertThat(response.containsHeader(PoolSaturationFilter.HEADER)).isFalse();
+    }
+}
@@ -4,6 +4,7 @@ import com.taghazout.listingservice.application.dto.CreateListingRequest;
 import com.taghazout.listingservice.domain.entity.Listing;
 import com.taghazout.listingservice.domain.repository.ListingRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -17,6 +18,7 @@ public class CreateListingService {
         this.listingRepository = listingRepository;
     }
 
+    @Transactional
     public Listing execute(CreateListingRequest request) {
         Listing listing = Listing.builder()
                 .id(UUID.randomUUID())
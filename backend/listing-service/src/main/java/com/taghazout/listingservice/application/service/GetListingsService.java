@@ -3,6 +3,7 @@ package com.taghazout.listingservice.application.service;
 import com.taghazout.listingservice.domain.entity.Listing;
 import com.taghazout.listingservice.domain.repository.ListingRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,6 +16,8 @@ public class GetListingsService {
         this.listingRepository = listingRepository;
     }
 
+    // Read-only: served by a read replica when listing.datasource.replicas are enabled
+    @Transactional(readOnly = true)
     public List<Listing> execute(Long hostId) {
         if (hostId != null) {
             return listingRepository.findByHostId(hostId);
@@ -0,0 +1,28 @@
+package com.taghazout.listingservice.application.service;
+
+import com.taghazout.listingservice.domain.entity.Listing;
+import com.taghazout.listingservice.domain.repository.ReactiveListingRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * GetListingsService for the reactive profile: same query, streamed.
+ */
+@Service
+@Profile("reactive")
+public class StreamListingsService {
+
+    private final ReactiveListingRepository listingRepository;
+
+    public StreamListingsService(ReactiveListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    public Flux<Listing> execute(Long hostId) {
+        if (hostId != null) {
+            return listingRepository.findByHostId(hostId);
+        }
+        return listingRepository.findAll();
+    }
+}
@@ -0,0 +1,21 @@
+package com.taghazout.listingservice.domain.repository;
+
+import com.taghazout.listingservice.domain.entity.Listing;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Read side of ListingRepository as non-blocking streams (profile "reactive").
+ * Rows are emitted as they are read, at the pace the consumer requests them.
+ */
+public interface ReactiveListingRepository {
+    Mono<Listing> findById(UUID id);
+
+    Flux<Listing> findAll();
+
+    Flux<Listing> findByHostId(Long hostId);
+    // This is a port (interface) in the Domain layer.
+    // Implementation belongs in Infrastructure.
+}
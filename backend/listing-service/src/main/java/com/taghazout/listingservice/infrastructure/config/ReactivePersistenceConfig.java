@@ -0,0 +1,50 @@
+package com.taghazout.listingservice.infrastructure.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Reactive read path ("reactive" profile): a DatabaseClient over its own
+ * R2DBC pool, next to the JDBC DataSource that JPA keeps for writes.
+ *
+ * The pool is deliberately not a ConnectionFactory bean: Spring Boot backs
+ * off the JDBC DataSource when one exists, which would take JPA down with
+ * it. For the same reason the R2DBC auto-configuration stays excluded.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactivePersistenceConfig implements DisposableBean {
+
+    private final ConnectionPool pool;
+
+    public ReactivePersistenceConfig(@Value("${listing.r2dbc.url}") String url,
+                                     @Value("${spring.datasource.username}") String username,
+                                     @Value("${spring.datasource.password}") String password,
+                                     @Value("${listing.r2dbc.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient listingsDatabaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
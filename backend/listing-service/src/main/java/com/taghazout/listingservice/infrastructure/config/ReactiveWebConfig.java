@@ -0,0 +1,21 @@
+package com.taghazout.listingservice.infrastructure.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Reactive profile runs WebFlux on Netty. Tomcat is still on the classpath
+ * for the servlet stack and would otherwise be picked for the reactive
+ * server too, with a blocking servlet adapter in front of every request.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
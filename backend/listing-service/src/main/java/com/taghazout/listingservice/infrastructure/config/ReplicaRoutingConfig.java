@@ -0,0 +1,107 @@
+package com.taghazout.listingservice.infrastructure.config;
+
+import com.taghazout.listingservice.infrastructure.persistence.ReplicaLagMonitor;
+import com.taghazout.listingservice.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.observation.boot.autoconfigure.DataSourceObservationBeanPostProcessor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas (listing.datasource.replicas.enabled=true): the one
+ * DataSource bean routes read-only transactions to the replicas and the
+ * rest to the primary (spring.datasource.*).
+ *
+ * Every pool takes the spring.datasource.hikari.* settings; replica pools
+ * are named listing-replica-N and sized by replicas.maximum-pool-size.
+ * Boot's Hikari metrics only see the primary pool, so the replica pools
+ * publish to the MeterRegistry themselves.
+ *
+ * The routing bean is excluded from the JDBC observation proxy
+ * (jdbc.excluded-data-source-bean-names): that proxy reads the connection
+ * metadata as soon as it is borrowed, which would pick the target before
+ * the transaction is marked read-only. Each pool is observed instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "listing.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    private final ObjectProvider<DataSourceObservationBeanPostProcessor> observation;
+
+    public ReplicaRoutingConfig(ObjectProvider<DataSourceObservationBeanPostProcessor> observation) {
+        this.observation = observation;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, Environment environment,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${listing.datasource.replicas.urls}") List<String> urls,
+                                               @Value("${listing.datasource.replicas.maximum-pool-size:10}") int poolSize,
+                                               @Value("${listing.datasource.replicas.max-lag:5s}") Duration maxLag,
+                                               @Value("${listing.datasource.replicas.lag-query:"
+                                                       + "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                                                       + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END}")
+                                               String lagQuery) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "listing-replica-" + (replicas.size() + 1);
+            HikariDataSource replica = pool(properties, environment, url.trim());
+            replica.setPoolName(name);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setMinimumIdle(Math.min(replica.getMinimumIdle(), poolSize));
+            replica.setMetricRegistry(meterRegistry);
+            replicas.put(name, observed(replica, name));
+        }
+        return new ReplicaLagMonitor(replicas, maxLag, lagQuery, meterRegistry);
+    }
+
+    @Bean
+    public DataSource routingDataSource(DataSourceProperties properties, Environment environment,
+                                        ReplicaLagMonitor replicaLagMonitor) {
+        HikariDataSource primary = pool(properties, environment, properties.determineUrl());
+        DataSource observedPrimary = observed(primary, primary.getPoolName());
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(observedPrimary, replicaLagMonitor));
+    }
+
+    private DataSource observed(DataSource pool, String name) {
+        DataSourceObservationBeanPostProcessor postProcessor = observation.getIfAvailable();
+        return postProcessor == null ? pool : (DataSource) postProcessor.postProcessAfterInitialization(pool, name);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Environment environment, String url) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pools.add(pool);
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
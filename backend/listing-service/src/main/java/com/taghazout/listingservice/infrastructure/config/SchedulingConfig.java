@@ -0,0 +1,13 @@
+package com.taghazout.listingservice.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled jobs (e.g. the latency SLO check of SloBreachRecorder, the replica lag
+ * checks of ReplicaLagMonitor).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
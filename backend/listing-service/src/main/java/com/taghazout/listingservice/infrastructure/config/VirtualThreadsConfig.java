@@ -0,0 +1,37 @@
+package com.taghazout.listingservice.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Virtual-thread mode: Java 21+ with spring.threads.virtual.enabled=true
+ * ("virtual-threads" profile). Tomcat then runs every request on its own
+ * virtual thread, so the JDBC pool becomes the concurrency limit and the
+ * DataSource is wrapped in a GuardedDataSource.
+ * Same as in auth-service apart from the property prefix.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    static BeanPostProcessor guardedDataSourcePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxConnections,
+            @Value("${listing.datasource.guard.max-pending:100}") int maxPending) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GuardedDataSource)) {
+                    return new GuardedDataSource(dataSource, maxConnections, maxPending);
+                }
+                return bean;
+            }
+        };
+    }
+}
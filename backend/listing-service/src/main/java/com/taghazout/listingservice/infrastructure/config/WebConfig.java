@@ -1,8 +1,12 @@
 package com.taghazout.listingservice.infrastructure.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -13,8 +17,10 @@ import java.util.Arrays;
  * 
  * CORS is only applied when running standalone (not behind API Gateway).
  * When running in Docker behind the gateway, the gateway handles all CORS.
+ * Servlet stack only: the reactive profile has no MVC and no servlet filters.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebConfig implements WebMvcConfigurer {
 
     @Autowired
@@ -35,6 +41,18 @@ public class WebConfig implements WebMvcConfigurer {
         // The API Gateway's CorsWebFilter handles all CORS
     }
 
+    /**
+     * ETag on listing reads, so the gateway cache can revalidate with
+     * If-None-Match and get a bodyless 304 back.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listingsEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/v1/listings", "/api/v1/listings/*");
+        return registration;
+    }
+
     /**
      * Checks if application is running behind the API Gateway.
      * 
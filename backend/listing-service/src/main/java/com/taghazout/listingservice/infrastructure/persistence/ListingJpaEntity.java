@@ -41,7 +41,7 @@ public class ListingJpaEntity {
     // @JdbcTypeCode(SqlTypes.JSON)
     // Here, I will assume a standard mapping.
 
-    @Lob // Store as large object/text if complex, or separate table.
+    @Column(columnDefinition = "text") // TEXT, not a large object (db/migration V1)
     // To keep it simple and creating files limited, I will map basic fields and
     // skip complex deep nesting for now
     // OR just use a simple Converter if I can create it in the same package.
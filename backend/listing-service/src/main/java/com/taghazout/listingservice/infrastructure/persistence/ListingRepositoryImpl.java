@@ -5,12 +5,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taghazout.listingservice.domain.entity.Listing;
 import com.taghazout.listingservice.domain.model.HostelDetails;
 import com.taghazout.listingservice.domain.repository.ListingRepository;
+import com.taghazout.listingservice.infrastructure.profiling.ListingMappingEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Repository
@@ -19,31 +23,49 @@ public class ListingRepositoryImpl implements ListingRepository {
 
     private final SpringDataListingRepository jpaRepository;
     private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
 
     @Override
     public Listing save(Listing listing) {
-        ListingJpaEntity entity = mapToEntity(listing);
+        ListingJpaEntity entity = mapped("save", () -> mapToEntity(listing));
         ListingJpaEntity savedEntity = jpaRepository.save(entity);
-        return mapToDomain(savedEntity);
+        return mapped("save", () -> mapToDomain(savedEntity));
     }
 
     @Override
     public Optional<Listing> findById(UUID id) {
-        return jpaRepository.findById(id).map(this::mapToDomain);
+        Optional<ListingJpaEntity> entity = jpaRepository.findById(id);
+        return mapped("findById", () -> entity.map(this::mapToDomain));
     }
 
     @Override
     public List<Listing> findAll() {
-        return jpaRepository.findAll().stream()
+        List<ListingJpaEntity> entities = jpaRepository.findAll();
+        return mapped("findAll", () -> entities.stream()
                 .map(this::mapToDomain)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<Listing> findByHostId(Long hostId) {
-        return jpaRepository.findByHostId(hostId).stream()
+        List<ListingJpaEntity> entities = jpaRepository.findByHostId(hostId);
+        return mapped("findByHostId", () -> entities.stream()
                 .map(this::mapToDomain)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    // Entity <-> domain mapping (HostelDetails JSON) is observed apart from the query;
+    // slow mappings are also recorded as ListingMappingEvent (JFR)
+    private <T> T mapped(String operation, Supplier<T> mapping) {
+        ListingMappingEvent event = new ListingMappingEvent();
+        event.begin();
+        try {
+            return Observation.createNotStarted("listing.mapping", observationRegistry)
+                    .lowCardinalityKeyValue("operation", operation)
+                    .observe(mapping);
+        } finally {
+            event.complete(operation);
+        }
     }
 
     private ListingJpaEntity mapToEntity(Listing listing) {
@@ -0,0 +1,81 @@
+package com.taghazout.listingservice.infrastructure.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taghazout.listingservice.domain.entity.Listing;
+import com.taghazout.listingservice.domain.model.HostelDetails;
+import com.taghazout.listingservice.domain.model.ListingType;
+import com.taghazout.listingservice.domain.repository.ReactiveListingRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * SRP: ONLY reads listings over R2DBC for the reactive profile.
+ *
+ * - Same "listings" table as ListingJpaEntity (JPA still owns the writes and the schema)
+ * - Rows are fetched as the subscriber requests them (backpressure down to the driver)
+ * - hostel_details_json mapped like ListingRepositoryImpl does
+ */
+@Repository
+@Profile("reactive")
+public class R2dbcListingRepository implements ReactiveListingRepository {
+
+    private static final String SELECT = "SELECT id, host_id, type, created_at, hostel_details_json FROM listings";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+
+    public R2dbcListingRepository(DatabaseClient databaseClient, ObjectMapper objectMapper) {
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Listing> findById(UUID id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(this::mapToDomain)
+                .one();
+    }
+
+    @Override
+    public Flux<Listing> findAll() {
+        return databaseClient.sql(SELECT)
+                .map(this::mapToDomain)
+                .all();
+    }
+
+    @Override
+    public Flux<Listing> findByHostId(Long hostId) {
+        return databaseClient.sql(SELECT + " WHERE host_id = :hostId")
+                .bind("hostId", hostId)
+                .map(this::mapToDomain)
+                .all();
+    }
+
+    private Listing mapToDomain(Readable row) {
+        String detailsJson = row.get("hostel_details_json", String.class);
+        HostelDetails details = null;
+        if (detailsJson != null) {
+            try {
+                details = objectMapper.readValue(detailsJson, HostelDetails.class);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Error converting JSON to HostelDetails", e);
+            }
+        }
+
+        return new Listing(
+                row.get("id", UUID.class),
+                row.get("host_id", Long.class),
+                ListingType.valueOf(row.get("type", String.class)),
+                details,
+                row.get("created_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,94 @@
+package com.taghazout.listingservice.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SRP: ONLY tracks which read replicas are close enough to the primary.
+ *
+ * - Every lag-check-interval runs lag-query on each replica (seconds behind
+ *   the primary; NULL, i.e. not a standby, counts as 0)
+ * - In sync: lag within max-lag. Lagging or unreachable replicas get no
+ *   reads until a later check finds them in sync again
+ * - Nothing is in sync before the first check, so reads start on the primary
+ *
+ * Metrics: gauge listing.datasource.replica.lag{replica} (seconds, NaN when
+ * unreachable).
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final Map<String, DataSource> replicas;
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final Map<String, Double> lag = new ConcurrentHashMap<>();
+    private volatile List<String> inSync = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag, String lagQuery,
+                             MeterRegistry meterRegistry) {
+        this.replicas = Map.copyOf(replicas);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        for (String replica : replicas.keySet()) {
+            lag.put(replica, Double.NaN);
+            Gauge.builder("listing.datasource.replica.lag", lag, l -> l.getOrDefault(replica, Double.NaN))
+                    .description("Seconds the replica is behind the primary")
+                    .baseUnit("seconds")
+                    .tag("replica", replica)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${listing.datasource.replicas.lag-check-interval:PT2S}")
+    public void check() {
+        List<String> current = replicas.keySet().stream()
+                .filter(replica -> {
+                    double seconds = measure(replica);
+                    lag.put(replica, seconds);
+                    return seconds <= maxLagSeconds;
+                })
+                .sorted()
+                .toList();
+        if (!current.equals(inSync)) {
+            log.warn("Read replicas in sync: {} of {}", current, replicas.keySet());
+        }
+        inSync = current;
+    }
+
+    private double measure(String replica) {
+        try (Connection connection = replicas.get(replica).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            if (!result.next()) {
+                return 0;
+            }
+            double seconds = result.getDouble(1);
+            return result.wasNull() ? 0 : seconds;
+        } catch (SQLException ex) {
+            log.debug("Lag check of {} failed: {}", replica, ex.toString());
+            return Double.NaN;
+        }
+    }
+
+    public List<String> inSync() {
+        return inSync;
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+}
@@ -0,0 +1,71 @@
+package com.taghazout.listingservice.infrastructure.persistence;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * SRP: ONLY picks the database a new connection comes from.
+ *
+ * - Read-only transactions (@Transactional(readOnly = true)): the next
+ *   replica, round robin over those ReplicaLagMonitor reports in sync
+ * - Everything else, work inside onPrimary(..), or no replica in sync:
+ *   the primary
+ * - Decided when the connection is first used, so it must sit behind a
+ *   LazyConnectionDataSourceProxy: the transaction's read-only flag is only
+ *   known after the transaction manager asked for the connection
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        Map<Object, Object> targets = new HashMap<>(lagMonitor.replicas());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs work whose reads must see the latest writes (read-your-writes).
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_REQUIRED.get() != null) {
+            return PRIMARY;
+        }
+        List<String> inSync = lagMonitor.inSync();
+        if (inSync.isEmpty()) {
+            return PRIMARY;
+        }
+        return inSync.get(Math.floorMod(next.getAndIncrement(), inSync.size()));
+    }
+}
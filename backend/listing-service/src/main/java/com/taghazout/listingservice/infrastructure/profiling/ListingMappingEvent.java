@@ -0,0 +1,33 @@
+package com.taghazout.listingservice.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event: one entity <-> domain mapping (HostelDetails JSON) of a repository call.
+ * Only mappings slower than the threshold are recorded.
+ */
+@Name("taghazout.listing.ListingMapping")
+@Label("Listing Mapping")
+@Category({"Taghazout", "Listing"})
+@Description("Entity <-> domain mapping of listings, HostelDetails JSON included")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ListingMappingEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    public void complete(String operation) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            commit();
+        }
+    }
+}
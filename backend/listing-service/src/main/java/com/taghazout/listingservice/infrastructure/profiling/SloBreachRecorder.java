@@ -0,0 +1,138 @@
+package com.taghazout.listingservice.infrastructure.profiling;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * SRP: ONLY dumps the ContinuousRecording when the request latency SLO is breached.
+ *
+ * - Counts HTTP server requests (http.server.requests observations, servlet
+ *   or reactive stack) and those slower than listing.profiling.slo.latency
+ * - Every check-interval: more than (1 - target) of the interval's requests
+ *   too slow, with at least min-requests, writes the last dump-window to
+ *   dump-directory; then no new dump before cooldown, only the newest
+ *   max-dumps files are kept
+ */
+@Component
+public class SloBreachRecorder implements ObservationHandler<Observation.Context> {
+
+    private static final Logger log = LoggerFactory.getLogger(SloBreachRecorder.class);
+
+    private static final String START = SloBreachRecorder.class.getName() + ".start";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ContinuousRecording recording;
+    private final boolean enabled;
+    private final long latencyNanos;
+    private final double target;
+    private final long minRequests;
+    private final Duration dumpWindow;
+    private final long cooldownMillis;
+    private final Path dumpDirectory;
+    private final int maxDumps;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong slow = new AtomicLong();
+    private volatile long nextDumpAllowed;
+
+    SloBreachRecorder(ContinuousRecording recording,
+                      @Value("${listing.profiling.slo.enabled:true}") boolean enabled,
+                      @Value("${listing.profiling.slo.latency:500ms}") Duration latency,
+                      @Value("${listing.profiling.slo.target:0.99}") double target,
+                      @Value("${listing.profiling.slo.min-requests:100}") long minRequests,
+                      @Value("${listing.profiling.dump-window:5m}") Duration dumpWindow,
+                      @Value("${listing.profiling.slo.cooldown:10m}") Duration cooldown,
+                      @Value("${listing.profiling.dump-directory:${java.io.tmpdir}/jfr}") Path dumpDirectory,
+                      @Value("${listing.profiling.slo.max-dumps:5}") int maxDumps) {
+        this.recording = recording;
+        this.enabled = enabled;
+        this.latencyNanos = latency.toNanos();
+        this.target = target;
+        this.minRequests = minRequests;
+        this.dumpWindow = dumpWindow;
+        this.cooldownMillis = cooldown.toMillis();
+        this.dumpDirectory = dumpDirectory;
+        this.maxDumps = maxDumps;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return enabled
+                && (context instanceof org.springframework.http.server.observation.ServerRequestObservationContext
+                || context instanceof org.springframework.http.server.reactive.observation.ServerRequestObservationContext);
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(START, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long start = context.get(START);
+        if (start != null) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    void record(long latency) {
+        total.incrementAndGet();
+        if (latency > latencyNanos) {
+            slow.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${listing.profiling.slo.check-interval:PT30S}",
+            initialDelayString = "${listing.profiling.slo.check-interval:PT30S}")
+    public void check() {
+        long requests = total.getAndSet(0);
+        long tooSlow = slow.getAndSet(0);
+        if (!breached(requests, tooSlow) || !recording.isRecording()
+                || System.currentTimeMillis() < nextDumpAllowed) {
+            return;
+        }
+        nextDumpAllowed = System.currentTimeMillis() + cooldownMillis;
+        try {
+            Files.createDirectories(dumpDirectory);
+            Path file = dumpDirectory.resolve("listing-service-slo-" + FILE_TIME.format(LocalDateTime.now()) + ".jfr");
+            recording.dump(dumpWindow, file);
+            log.warn("Latency SLO breached ({} of {} requests over {} ms), JFR dump written to {}",
+                    tooSlow, requests, latencyNanos / 1_000_000, file);
+            prune();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Latency SLO breached, JFR dump failed: {}", ex.toString());
+        }
+    }
+
+    boolean breached(long requests, long tooSlow) {
+        return requests >= minRequests && tooSlow > requests * (1 - target);
+    }
+
+    private void prune() throws IOException {
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            List<Path> dumps = files
+                    .filter(file -> file.getFileName().toString().startsWith("listing-service-slo-"))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+            for (Path old : dumps.subList(Math.min(maxDumps, dumps.size()), dumps.size())) {
+                Files.deleteIfExists(old);
+            }
+        }
+    }
+}
@@ -4,32 +4,58 @@ import com.taghazout.listingservice.application.dto.CreateListingRequest;
 import com.taghazout.listingservice.application.service.CreateListingService;
 import com.taghazout.listingservice.application.service.GetListingsService;
 import com.taghazout.listingservice.domain.entity.Listing;
+import com.taghazout.listingservice.infrastructure.persistence.ReplicaRoutingDataSource;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.Duration;
 import java.util.List;
 
+// Replaced by ReactiveListingController in the reactive profile
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/listings")
 public class ListingController {
 
+    // Public listing reads may be cached by the gateway: 30s fresh, then served stale for up to 60s while
+    // it revalidates (ETag from ShallowEtagHeaderFilter)
+    private static final CacheControl LISTINGS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30))
+            .cachePublic()
+            .staleWhileRevalidate(Duration.ofSeconds(60));
+    // A host's own listings change with its writes: revalidated on every read, never shared
+    static final CacheControl HOST_LISTINGS_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final CreateListingService createListingService;
     private final GetListingsService getListingsService;
+    private final RecentWriteCookie recentWriteCookie;
 
-    public ListingController(CreateListingService createListingService, GetListingsService getListingsService) {
+    public ListingController(CreateListingService createListingService, GetListingsService getListingsService,
+                             RecentWriteCookie recentWriteCookie) {
         this.createListingService = createListingService;
         this.getListingsService = getListingsService;
+        this.recentWriteCookie = recentWriteCookie;
     }
 
     @PostMapping
     public ResponseEntity<Listing> create(@RequestBody CreateListingRequest request) {
         Listing listing = createListingService.execute(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(listing);
+        ResponseEntity.BodyBuilder created = ResponseEntity.status(HttpStatus.CREATED);
+        recentWriteCookie.issue().ifPresent(cookie -> created.header(HttpHeaders.SET_COOKIE, cookie.toString()));
+        return created.body(listing);
     }
 
     @GetMapping
-    public ResponseEntity<List<Listing>> getListings(@RequestParam(required = false) Long hostId) {
-        List<Listing> listings = getListingsService.execute(hostId);
-        return ResponseEntity.ok(listings);
+    public ResponseEntity<List<Listing>> getListings(@RequestParam(required = false) Long hostId,
+            @CookieValue(name = RecentWriteCookie.NAME, required = false) String recentWrite) {
+        // The client just wrote: replicas may not have its listing yet
+        List<Listing> listings = recentWriteCookie.isRecent(recentWrite)
+                ? ReplicaRoutingDataSource.onPrimary(() -> getListingsService.execute(hostId))
+                : getListingsService.execute(hostId);
+        return ResponseEntity.ok()
+                .cacheControl(hostId != null ? HOST_LISTINGS_CACHE_CONTROL : LISTINGS_CACHE_CONTROL)
+                .body(listings);
     }
 }
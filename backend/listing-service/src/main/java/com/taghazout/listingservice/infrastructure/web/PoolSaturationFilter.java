@@ -0,0 +1,72 @@
+package com.taghazout.listingservice.infrastructure.web;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * SRP: ONLY reports how saturated the JDBC pool is on every response.
+ *
+ * - X-Pool-Saturation: (active + waiting connections) / maximum pool size,
+ *   taken when the request arrives; above 1 means callers queue for the pool
+ * - The API gateway reads it as a backpressure signal for its adaptive
+ *   concurrency limit and strips it before answering the client
+ * - No header without a Hikari pool, or until it has started
+ * - With replica routing (listing.datasource.replicas.enabled): the primary
+ *   pool, the one writes wait for
+ *
+ * The same class (and PoolSaturationFilterTest) exists in auth-service: the
+ * services share no code, keep them in sync.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PoolSaturationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Pool-Saturation";
+
+    private final HikariDataSource pool;
+
+    @Autowired
+    public PoolSaturationFilter(ObjectProvider<DataSource> dataSource) {
+        this(dataSource.getIfAvailable());
+    }
+
+    PoolSaturationFilter(DataSource dataSource) {
+        this.pool = dataSource != null
+                ? DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class)
+                : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String saturation = saturation();
+        if (saturation != null) {
+            response.setHeader(HEADER, saturation);
+        }
+        chain.doFilter(request, response);
+    }
+
+    String saturation() {
+        HikariPoolMXBean mxBean = pool != null ? pool.getHikariPoolMXBean() : null;
+        if (mxBean == null) {
+            return null;
+        }
+        double used = mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection();
+        return String.format(Locale.ROOT, "%.2f", used / pool.getMaximumPoolSize());
+    }
+}
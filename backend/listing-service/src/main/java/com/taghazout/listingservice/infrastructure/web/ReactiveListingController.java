@@ -0,0 +1,71 @@
+package com.taghazout.listingservice.infrastructure.web;
+
+import com.taghazout.listingservice.application.dto.CreateListingRequest;
+import com.taghazout.listingservice.application.service.CreateListingService;
+import com.taghazout.listingservice.application.service.StreamListingsService;
+import com.taghazout.listingservice.domain.entity.Listing;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * ListingController for the reactive profile (WebFlux on Netty).
+ *
+ * - GET streams listings straight from R2DBC: a JSON array, or one listing
+ *   per line with Accept: application/x-ndjson; rows are read only as fast
+ *   as the client takes them
+ * - No ETag here (the body is not buffered to hash it); the gateway cache
+ *   still follows Cache-Control
+ * - POST keeps the blocking JPA write, off the event loop, and sets the
+ *   RecentWriteCookie (reads here always stream from the primary, the
+ *   cookie keeps the gateway cache out of the writer's next reads)
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/listings")
+public class ReactiveListingController {
+
+    private static final CacheControl LISTINGS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30))
+            .cachePublic()
+            .staleWhileRevalidate(Duration.ofSeconds(60));
+
+    private final CreateListingService createListingService;
+    private final StreamListingsService streamListingsService;
+    private final RecentWriteCookie recentWriteCookie;
+
+    public ReactiveListingController(CreateListingService createListingService,
+                                     StreamListingsService streamListingsService,
+                                     RecentWriteCookie recentWriteCookie) {
+        this.createListingService = createListingService;
+        this.streamListingsService = streamListingsService;
+        this.recentWriteCookie = recentWriteCookie;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Listing>> create(@RequestBody CreateListingRequest request) {
+        return Mono.fromCallable(() -> createListingService.execute(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(listing -> {
+                    ResponseEntity.BodyBuilder created = ResponseEntity.status(HttpStatus.CREATED);
+                    recentWriteCookie.issue()
+                            .ifPresent(cookie -> created.header(HttpHeaders.SET_COOKIE, cookie.toString()));
+                    return created.body(listing);
+                });
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Flux<Listing>> getListings(@RequestParam(required = false) Long hostId) {
+        return ResponseEntity.ok()
+                .cacheControl(hostId != null ? ListingController.HOST_LISTINGS_CACHE_CONTROL : LISTINGS_CACHE_CONTROL)
+                .body(streamListingsService.execute(hostId));
+    }
+}
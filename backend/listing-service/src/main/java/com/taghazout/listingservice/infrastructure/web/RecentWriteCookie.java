@@ -0,0 +1,57 @@
+package com.taghazout.listingservice.infrastructure.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * SRP: ONLY issues and checks the cookie marking a client that just wrote a listing.
+ *
+ * - Set on every listing write, valid for listing.datasource.replicas.sticky-window
+ * - While it is fresh, that client's listing reads go to the primary on
+ *   whichever instance serves them (the state travels with the client, not
+ *   with one instance), and the gateway skips its response cache for them
+ * - Value: the write time in epoch millis; a forged one only moves that
+ *   client's reads to the primary
+ */
+@Component
+public class RecentWriteCookie {
+
+    public static final String NAME = "recent_write";
+
+    private static final String PATH = "/api/v1/listings";
+
+    private final Duration window;
+
+    public RecentWriteCookie(@Value("${listing.datasource.replicas.sticky-window:10s}") Duration window) {
+        this.window = window;
+    }
+
+    public Optional<ResponseCookie> issue() {
+        if (window.isZero() || window.isNegative()) {
+            return Optional.empty();
+        }
+        return Optional.of(ResponseCookie.from(NAME, Long.toString(System.currentTimeMillis()))
+                .path(PATH)
+                .maxAge(window)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build());
+    }
+
+    public boolean isRecent(@Nullable String value) {
+        if (value == null) {
+            return false;
+        }
+        try {
+            long age = System.currentTimeMillis() - Long.parseLong(value);
+            return age >= 0 && age < window.toMillis();
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- listing-service schema (ListingJpaEntity). Runs on PostgreSQL and H2.
+-- hostel_details_json is TEXT: ddl-auto mapped the former @Lob to a PostgreSQL
+-- large object (oid), which R2DBC cannot read as a string.
+
+CREATE TABLE listings (
+    id                  UUID         NOT NULL,
+    host_id             BIGINT,
+    type                VARCHAR(255),
+    created_at          TIMESTAMP(6),
+    hostel_details_json TEXT,
+    CONSTRAINT pk_listings PRIMARY KEY (id)
+);
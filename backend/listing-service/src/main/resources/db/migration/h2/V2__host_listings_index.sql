@@ -0,0 +1,3 @@
+-- H2 counterpart of postgresql/V2__host_listings_index.sql (no CONCURRENTLY)
+
+CREATE INDEX IF NOT EXISTS idx_listings_host_id ON listings (host_id);
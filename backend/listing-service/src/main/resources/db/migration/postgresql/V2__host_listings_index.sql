@@ -0,0 +1,6 @@
+-- Online index build: runs outside a transaction (V2__host_listings_index.sql.conf),
+-- so CONCURRENTLY does not block listing writes while it builds.
+-- A failed CONCURRENTLY build leaves an INVALID index behind: drop it before retrying.
+
+-- GET /api/v1/listings?hostId= (SpringDataListingRepository.findByHostId)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_listings_host_id ON listings (host_id);
@@ -0,0 +1,84 @@
+package com.taghazout.listingservice.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taghazout.listingservice.domain.entity.Listing;
+import com.taghazout.listingservice.domain.model.ListingType;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class R2dbcListingRepositoryTest {
+
+    private DatabaseClient databaseClient;
+    private R2dbcListingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///r2dbc-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1"));
+        // Same columns as Hibernate generates for ListingJpaEntity on H2
+        databaseClient.sql("CREATE TABLE listings (id UUID PRIMARY KEY, host_id BIGINT, "
+                        + "type VARCHAR(255), created_at TIMESTAMP(6), hostel_details_json CLOB)")
+                .then()
+                .block();
+        repository = new R2dbcListingRepository(databaseClient, new ObjectMapper());
+    }
+
+    @Test
+    void shouldStreamListingsOfHost() {
+        UUID id = insert(1L, ListingType.ACTIVITY);
+        insert(2L, ListingType.HOSTEL);
+
+        StepVerifier.create(repository.findByHostId(1L))
+                .assertNext(listing -> {
+                    assertThat(listing.getId()).isEqualTo(id);
+                    assertThat(listing.getHostId()).isEqualTo(1L);
+                    assertThat(listing.getType()).isEqualTo(ListingType.ACTIVITY);
+                    assertThat(listing.getHostelDetails()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldHonourSubscriberDemand() {
+        insert(1L, ListingType.ACTIVITY);
+        insert(1L, ListingType.ACTIVITY);
+        insert(1L, ListingType.ACTIVITY);
+
+        StepVerifier.create(repository.findAll(), 1)
+                .expectNextCount(1)
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFindById() {
+        UUID id = insert(3L, ListingType.ACTIVITY);
+
+        StepVerifier.create(repository.findById(id).map(Listing::getHostId))
+                .expectNext(3L)
+                .verifyComplete();
+        StepVerifier.create(repository.findById(UUID.randomUUID()))
+                .verifyComplete();
+    }
+
+    private UUID insert(Long hostId, ListingType type) {
+        UUID id = UUID.randomUUID();
+        databaseClient.sql("INSERT INTO listings (id, host_id, type, created_at) VALUES (:id, :hostId, :type, :createdAt)")
+                .bind("id", id)
+                .bind("hostId", hostId)
+                .bind("type", type.name())
+                .bind("createdAt", LocalDateTime.now())
+                .then()
+                .block();
+        return id;
+    }
+}
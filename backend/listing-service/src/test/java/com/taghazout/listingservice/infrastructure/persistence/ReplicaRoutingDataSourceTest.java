@@ -0,0 +1,96 @@
+package com.taghazout.listingservice.infrastructure.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two in-memory H2 databases in PostgreSQL mode;
+ * each answers "SELECT name FROM whoami" with its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDb = standIn("primary");
+        DataSource replicaDb = standIn("replica");
+        replica = new JdbcTemplate(replicaDb);
+        replica.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+        lagMonitor = new ReplicaLagMonitor(Map.of("replica-1", replicaDb), Duration.ofSeconds(5),
+                "SELECT seconds FROM replica_lag", new SimpleMeterRegistry());
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDb, lagMonitor));
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    private static DataSource standIn(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String whoami(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToInSyncReplica() {
+        assertThat(whoami(readOnly)).isEqualTo("primary");
+
+        lagMonitor.check();
+
+        assertThat(whoami(readOnly)).isEqualTo("replica");
+        assertThat(whoami(readWrite)).isEqualTo("primary");
+        assertThat(jdbc.queryForObject("SELECT name FROM whoami", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaLags() {
+        lagMonitor.check();
+        replica.update("UPDATE replica_lag SET seconds = 30");
+
+        lagMonitor.check();
+        assertThat(whoami(readOnly)).isEqualTo("primary");
+
+        replica.update("UPDATE replica_lag SET seconds = 1");
+        lagMonitor.check();
+        assertThat(whoami(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldReadOnPrimaryInsideOnPrimary() {
+        lagMonitor.check();
+
+        String source = readOnly.execute(status -> ReplicaRoutingDataSource.onPrimary(
+                () -> jdbc.queryForObject("SELECT name FROM whoami", String.class)));
+
+        assertThat(source).isEqualTo("primary");
+        assertThat(whoami(readOnly)).isEqualTo("replica");
+    }
+}
@@ -0,0 +1,70 @@
+package com.taghazout.listingservice.infrastructure.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ContinuousRecording Tests")
+class ContinuousRecordingTest {
+
+    private final ContinuousRecording recording = new ContinuousRecording(true, Duration.ofMinutes(1),
+            DataSize.ofMegabytes(10), Duration.ofMillis(20), "50/s", Duration.ofMillis(5));
+
+    @AfterEach
+    void tearDown() {
+        recording.stop();
+    }
+
+    @Test
+    @DisplayName("should dump recent mapping events while recording continues")
+    void shouldDumpRecentEvents(@TempDir Path dir) throws Exception {
+        recording.start();
+        ListingMappingEvent event = new ListingMappingEvent();
+        event.begin();
+        Thread.sleep(5);
+        event.complete("toDomain");
+
+        Path dump = dir.resolve("dump.jfr");
+        recording.dump(Duration.ofMinutes(1), dump);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("taghazout.listing.ListingMapping"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getString("operation")).isEqualTo("toDomain"));
+        assertThat(recording.isRecording()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should skip mappings under the threshold")
+    void shouldSkipFastEvents(@TempDir Path dir) throws Exception {
+        recording.start();
+        ListingMappingEvent event = new ListingMappingEvent();
+        event.begin();
+        event.complete("toEntity");
+
+        Path dump = dir.resolve("dump.jfr");
+        recording.dump(Duration.ofMinutes(1), dump);
+
+        assertThat(RecordingFile.readAllEvents(dump))
+                .noneMatch(e -> e.getEventType().getName().equals("taghazout.listing.ListingMapping"));
+    }
+
+    @Test
+    @DisplayName("should refuse to dump when not recording")
+    void shouldRefuseDumpWhenStopped(@TempDir Path dir) {
+        assertThatThrownBy(() -> recording.dump(Duration.ofMinutes(1), dir.resolve("dump.jfr")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
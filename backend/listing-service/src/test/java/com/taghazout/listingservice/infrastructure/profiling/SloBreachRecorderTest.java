@@ -0,0 +1,66 @@
+package com.taghazout.listingservice.infrastructure.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SloBreachRecorder Tests")
+class SloBreachRecorderTest {
+
+    private static final long FAST = Duration.ofMillis(50).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("should dump once when more than 1% of requests are slow")
+    void shouldDumpOnBreach(@TempDir Path dir) throws Exception {
+        ContinuousRecording recording = mock(ContinuousRecording.class);
+        when(recording.isRecording()).thenReturn(true);
+        SloBreachRecorder recorder = recorder(recording, dir);
+
+        recordRequests(recorder, 195, 5);
+        recorder.check();
+        // Within the cooldown
+        recordRequests(recorder, 195, 5);
+        recorder.check();
+
+        verify(recording).dump(any(), any());
+    }
+
+    @Test
+    @DisplayName("should not dump within the SLO or with too few requests")
+    void shouldNotDumpWithinSlo(@TempDir Path dir) throws Exception {
+        ContinuousRecording recording = mock(ContinuousRecording.class);
+        when(recording.isRecording()).thenReturn(true);
+        SloBreachRecorder recorder = recorder(recording, dir);
+
+        recordRequests(recorder, 199, 1);
+        recorder.check();
+        recordRequests(recorder, 10, 10);
+        recorder.check();
+
+        verify(recording, never()).dump(any(), any());
+    }
+
+    private static SloBreachRecorder recorder(ContinuousRecording recording, Path dir) {
+        return new SloBreachRecorder(recording, true, Duration.ofMillis(500), 0.99, 100,
+                Duration.ofMinutes(5), Duration.ofMinutes(10), dir, 5);
+    }
+
+    private static void recordRequests(SloBreachRecorder recorder, int fast, int slow) {
+        for (int i = 0; i < fast; i++) {
+            recorder.record(FAST);
+        }
+        for (int i = 0; i < slow; i++) {
+            recorder.record(SLOW);
+        }
+    }
+}
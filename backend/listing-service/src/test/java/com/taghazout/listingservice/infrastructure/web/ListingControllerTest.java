@@ -3,24 +3,30 @@ package com.taghazout.listingservice.infrastructure.web;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taghazout.listingservice.application.dto.CreateListingRequest;
 import com.taghazout.listingservice.application.service.CreateListingService;
+import com.taghazout.listingservice.application.service.GetListingsService;
 import com.taghazout.listingservice.domain.entity.Listing;
 import com.taghazout.listingservice.domain.model.ListingType;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,13 +38,15 @@ class ListingControllerTest {
     @Mock
     private CreateListingService createListingService;
 
-    @InjectMocks
-    private ListingController listingController;
+    @Mock
+    private GetListingsService getListingsService;
 
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() {
+        ListingController listingController = new ListingController(
+                createListingService, getListingsService, new RecentWriteCookie(Duration.ofSeconds(10)));
         mockMvc = MockMvcBuilders.standaloneSetup(listingController).build();
     }
 
@@ -58,6 +66,32 @@ class ListingControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").exists())
-                .andExpect(jsonPath("$.type").value("ACTIVITY"));
+                .andExpect(jsonPath("$.type").value("ACTIVITY"))
+                .andExpect(cookie().exists(RecentWriteCookie.NAME))
+                .andExpect(cookie().maxAge(RecentWriteCookie.NAME, 10))
+                .andExpect(cookie().path(RecentWriteCookie.NAME, "/api/v1/listings"));
+    }
+
+    @Test
+    void shouldMarkListingReadsAsPubliclyCacheable() throws Exception {
+        // Arrange
+        when(getListingsService.execute(null)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/listings"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public, stale-while-revalidate=60"));
+    }
+
+    @Test
+    void shouldKeepHostListingsOutOfSharedCaches() throws Exception {
+        // Arrange
+        when(getListingsService.execute(7L)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/listings").param("hostId", "7")
+                .cookie(new Cookie(RecentWriteCookie.NAME, "not-a-timestamp")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
     }
 }
@@ -0,0 +1,75 @@
+package com.taghazout.listingservice.infrastructure.web;
+
+import com.taghazout.listingservice.infrastructure.persistence.ReplicaLagMonitor;
+import com.taghazout.listingservice.infrastructure.persistence.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PoolSaturationFilter.
+ */
+@DisplayName("PoolSaturationFilter Tests")
+class PoolSaturationFilterTest {
+
+    @Test
+    @DisplayName("should report active plus waiting connections over the pool size")
+    void shouldReportSaturation() throws Exception {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariPoolMXBean mxBean = mock(HikariPoolMXBean.class);
+        when(pool.getHikariPoolMXBean()).thenReturn(mxBean);
+        when(pool.getMaximumPoolSize()).thenReturn(10);
+        when(mxBean.getActiveConnections()).thenReturn(10);
+        when(mxBean.getThreadsAwaitingConnection()).thenReturn(2);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PoolSaturationFilter(pool).doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        assertThat(response.getHeader(PoolSaturationFilter.HEADER)).isEqualTo("1.20");
+    }
+
+    @Test
+    @DisplayName("should not report before the pool has started")
+    void shouldSkipUntilPoolStarted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PoolSaturationFilter(mock(HikariDataSource.class))
+                .doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        assertThat(response.containsHeader(PoolSaturationFilter.HEADER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should report the primary pool behind the replica routing DataSource")
+    void shouldReportPrimaryPoolBehindRouting() throws Exception {
+        HikariDataSource primary = mock(HikariDataSource.class);
+        HikariPoolMXBean mxBean = mock(HikariPoolMXBean.class);
+        // As the real pool: it unwraps to itself
+        when(primary.isWrapperFor(HikariConfigMXBean.class)).thenReturn(true);
+        when(primary.unwrap(HikariConfigMXBean.class)).thenReturn(primary);
+        when(primary.getHikariPoolMXBean()).thenReturn(mxBean);
+        when(primary.getMaximumPoolSize()).thenReturn(20);
+        when(mxBean.getActiveConnections()).thenReturn(5);
+        ReplicaLagMonitor noReplicas = new ReplicaLagMonitor(Map.of(), Duration.ofSeconds(5),
+                "SELECT 0", new SimpleMeterRegistry());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PoolSaturationFilter(new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, noReplicas)))
+                .doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+
+        assertThat(response.getHeader(PoolSaturationFilter.HEADER)).isEqualTo("0.25");
+    }
+}
@@ -0,0 +1,39 @@
+package com.taghazout.listingservice.infrastructure.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseCookie;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentWriteCookieTest {
+
+    private final RecentWriteCookie recentWriteCookie = new RecentWriteCookie(Duration.ofSeconds(10));
+
+    @Test
+    void shouldTreatAFreshlyIssuedCookieAsRecent() {
+        ResponseCookie cookie = recentWriteCookie.issue().orElseThrow();
+
+        assertThat(cookie.getName()).isEqualTo(RecentWriteCookie.NAME);
+        assertThat(cookie.getMaxAge()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(recentWriteCookie.isRecent(cookie.getValue())).isTrue();
+    }
+
+    @Test
+    void shouldNotTreatOldMissingOrMalformedValuesAsRecent() {
+        long elevenSecondsAgo = System.currentTimeMillis() - 11_000;
+        long inTheFuture = System.currentTimeMillis() + 60_000;
+
+        assertThat(recentWriteCookie.isRecent(Long.toString(elevenSecondsAgo))).isFalse();
+        assertThat(recentWriteCookie.isRecent(Long.toString(inTheFuture))).isFalse();
+        assertThat(recentWriteCookie.isRecent(null)).isFalse();
+        assertThat(recentWriteCookie.isRecent("yesterday")).isFalse();
+    }
+
+    @Test
+    void shouldNotIssueWhenTheWindowIsOff() {
+        assertThat(new RecentWriteCookie(Duration.ZERO).issue()).isEmpty();
+    }
+}
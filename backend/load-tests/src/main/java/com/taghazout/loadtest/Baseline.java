@@ -0,0 +1,135 @@
+package com.taghazout.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * SRP: ONLY stores scenario results and tells which results regressed against them.
+ *
+ * - Properties file, one "<scenario>.<metric>" key per value, so a run's
+ *   results.properties can be promoted to the baseline as is
+ * - Regression: throughput below baseline * (1 - tolerance), or p95/p99 above
+ *   baseline * (1 + tolerance) + latency slack (keeps sub-millisecond noise out),
+ *   or an error rate above max-error-rate
+ * - Scenarios without a baseline are reported, never failed
+ * - "settings" records users, durations and heap: results are only
+ *   comparable when they match
+ */
+public final class Baseline {
+
+    private final Properties values;
+
+    private Baseline(Properties values) {
+        this.values = values;
+    }
+
+    public static Baseline of(String settings, Collection<ScenarioResult> results) {
+        Properties values = new Properties();
+        values.setProperty("settings", settings);
+        for (ScenarioResult result : results) {
+            values.setProperty(result.name() + ".requests", Long.toString(result.requests()));
+            values.setProperty(result.name() + ".errors", Long.toString(result.errors()));
+            values.setProperty(result.name() + ".throughput", format(result.throughput()));
+            values.setProperty(result.name() + ".p50-ms", format(result.p50Millis()));
+            values.setProperty(result.name() + ".p95-ms", format(result.p95Millis()));
+            values.setProperty(result.name() + ".p99-ms", format(result.p99Millis()));
+        }
+        return new Baseline(values);
+    }
+
+    public static Baseline load(Path file) throws IOException {
+        Properties values = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            values.load(reader);
+        }
+        return new Baseline(values);
+    }
+
+    /**
+     * Sorted and without the timestamp Properties.store() adds, so baseline updates diff cleanly.
+     */
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("# Load test results (mvn -Pload-test verify), machine dependent\n");
+            for (String key : new TreeSet<>(values.stringPropertyNames())) {
+                writer.write(key + "=" + values.getProperty(key) + "\n");
+            }
+        }
+    }
+
+    public String settings() {
+        return values.getProperty("settings", "");
+    }
+
+    public boolean contains(String scenario) {
+        return values.containsKey(scenario + ".throughput");
+    }
+
+    public List<String> regressions(Collection<ScenarioResult> results, double tolerance,
+                                    double latencySlackMillis, double maxErrorRate) {
+        List<String> regressions = new ArrayList<>();
+        for (ScenarioResult result : results) {
+            if (result.errorRate() > maxErrorRate) {
+                regressions.add(String.format(Locale.ROOT, "%s: error rate %.2f%% above %.2f%%",
+                        result.name(), result.errorRate() * 100, maxErrorRate * 100));
+            }
+            if (!contains(result.name())) {
+                continue;
+            }
+            double throughput = value(result.name(), "throughput");
+            if (result.throughput() < throughput * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f/s below baseline %.1f/s",
+                        result.name(), result.throughput(), throughput));
+            }
+            checkLatency(regressions, result.name(), "p95-ms", result.p95Millis(), tolerance, latencySlackMillis);
+            checkLatency(regressions, result.name(), "p99-ms", result.p99Millis(), tolerance, latencySlackMillis);
+        }
+        return regressions;
+    }
+
+    /**
+     * Relative change of each metric, for comparing runs with different settings.
+     */
+    public String change(ScenarioResult result) {
+        if (!contains(result.name())) {
+            return result.name() + ": no baseline";
+        }
+        return String.format(Locale.ROOT, "%s: throughput %+.1f%%, p50 %+.1f%%, p95 %+.1f%%, p99 %+.1f%%",
+                result.name(),
+                percentChange(result.throughput(), value(result.name(), "throughput")),
+                percentChange(result.p50Millis(), value(result.name(), "p50-ms")),
+                percentChange(result.p95Millis(), value(result.name(), "p95-ms")),
+                percentChange(result.p99Millis(), value(result.name(), "p99-ms")));
+    }
+
+    private static double percentChange(double actual, double baseline) {
+        return baseline == 0 ? 0 : (actual - baseline) / baseline * 100;
+    }
+
+    private void checkLatency(List<String> regressions, String scenario, String metric, double actual,
+                              double tolerance, double slackMillis) {
+        double baseline = value(scenario, metric);
+        if (actual > baseline * (1 + tolerance) + slackMillis) {
+            regressions.add(String.format(Locale.ROOT, "%s: %s %.2f above baseline %.2f",
+                    scenario, metric, actual, baseline));
+        }
+    }
+
+    private double value(String scenario, String metric) {
+        return Double.parseDouble(values.getProperty(scenario + "." + metric, "0"));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -0,0 +1,101 @@
+package com.taghazout.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * SRP: ONLY drives one scenario with a fixed number of concurrent users and times each call.
+ *
+ * - Closed loop: each user sends its next request when the previous one
+ *   answered, so throughput is what the stack sustains at that concurrency
+ * - Warm-up first (JIT, pools, caches), its calls are not recorded
+ * - One platform thread per user (Java 17, no virtual threads); the
+ *   HttpClient calls are blocking, which keeps the timing simple
+ */
+public final class LoadDriver {
+
+    /**
+     * One request of a scenario; true when the answer is the expected one.
+     */
+    @FunctionalInterface
+    public interface Step {
+        boolean execute() throws Exception;
+    }
+
+    private final Duration warmUp;
+    private final Duration duration;
+
+    public LoadDriver(Duration warmUp, Duration duration) {
+        this.warmUp = warmUp;
+        this.duration = duration;
+    }
+
+    public ScenarioResult run(String name, int users, Step step) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            runAll(executor, users, step, warmUp);
+            long start = System.nanoTime();
+            List<UserResult> results = runAll(executor, users, step, duration);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            long[] latencies = results.stream()
+                    .flatMapToLong(result -> Arrays.stream(result.latencies, 0, result.count))
+                    .toArray();
+            long errors = results.stream().mapToLong(result -> result.errors).sum();
+            return ScenarioResult.of(name, latencies, errors, elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<UserResult> runAll(ExecutorService executor, int users, Step step, Duration runFor)
+            throws Exception {
+        long deadline = System.nanoTime() + runFor.toNanos();
+        List<Future<UserResult>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            futures.add(executor.submit(() -> runUser(step, deadline)));
+        }
+        List<UserResult> results = new ArrayList<>();
+        for (Future<UserResult> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private static UserResult runUser(Step step, long deadline) {
+        UserResult result = new UserResult();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = step.execute();
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (ok) {
+                result.record(System.nanoTime() - start);
+            } else {
+                result.errors++;
+            }
+        }
+        return result;
+    }
+
+    private static final class UserResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
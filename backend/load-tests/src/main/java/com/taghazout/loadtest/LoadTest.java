@@ -0,0 +1,126 @@
+package com.taghazout.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * SRP: ONLY runs the load test end to end and fails when the results regress.
+ *
+ * mvn -Pload-test verify (after packaging the services) or run main() directly;
+ * settings are system properties:
+ * - loadtest.users (4), loadtest.warm-up (PT10S), loadtest.duration (PT30S), loadtest.heap (512m)
+ * - loadtest.users.<scenario>: concurrent users of one scenario (default loadtest.users)
+ * - loadtest.java-home (this JVM), loadtest.profiles (none): JDK and extra Spring
+ *   profiles of the services, e.g. a JDK 21 with "virtual-threads"
+ * - loadtest.baseline: stored results to compare against
+ * - loadtest.tolerance (0.2), loadtest.latency-slack-ms (2), loadtest.max-error-rate (0.01)
+ * - loadtest.update-baseline (false): store this run as the new baseline instead
+ *   (also done when there is no baseline yet, if no scenario exceeded max-error-rate)
+ * - loadtest.report-only (false): print the change against a baseline recorded
+ *   with other settings (e.g. platform against virtual threads), never fail
+ *
+ * Results are machine dependent: the baseline is not committed (it is
+ * git-ignored); the first run on a machine records it there.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path backendDir = Path.of(System.getProperty("loadtest.backend-dir", ".."));
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "target/load-test"));
+        Path baselineFile = Path.of(System.getProperty("loadtest.baseline", "baseline.properties"));
+        int users = Integer.getInteger("loadtest.users", 4);
+        Duration warmUp = Duration.parse(System.getProperty("loadtest.warm-up", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        String heap = System.getProperty("loadtest.heap", "512m");
+        Path javaHome = Path.of(System.getProperty("loadtest.java-home", System.getProperty("java.home")));
+        String profiles = System.getProperty("loadtest.profiles", "");
+        double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+        double latencySlack = Double.parseDouble(System.getProperty("loadtest.latency-slack-ms", "2"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        boolean updateBaseline = Boolean.getBoolean("loadtest.update-baseline");
+        boolean reportOnly = Boolean.getBoolean("loadtest.report-only");
+
+        List<ScenarioResult> results = new ArrayList<>();
+        List<String> concurrency = new ArrayList<>();
+        try (ServiceStack stack = new ServiceStack(backendDir, reportDir, heap, javaHome, profiles)) {
+            URI gateway = stack.start();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Scenarios scenarios = new Scenarios(client, gateway);
+            scenarios.setUp(users);
+
+            LoadDriver driver = new LoadDriver(warmUp, duration);
+            for (Map.Entry<String, LoadDriver.Step> scenario : scenarios.all().entrySet()) {
+                int scenarioUsers = Integer.getInteger("loadtest.users." + scenario.getKey(), users);
+                ScenarioResult result = driver.run(scenario.getKey(), scenarioUsers, scenario.getValue());
+                print(result);
+                results.add(result);
+                concurrency.add(scenario.getKey() + "=" + scenarioUsers);
+            }
+        }
+
+        String settings = String.format(Locale.ROOT,
+                "users %s, %s warm-up, %s per scenario, %s heap, java %s, profiles [%s]",
+                String.join(" ", concurrency), warmUp, duration, heap, javaMajorVersion(javaHome), profiles);
+        Baseline run = Baseline.of(settings, results);
+        run.write(reportDir.resolve("results.properties"));
+
+        boolean compare = !updateBaseline && Files.exists(baselineFile);
+        Baseline baseline = compare ? Baseline.load(baselineFile) : Baseline.of(settings, List.of());
+        if (reportOnly) {
+            System.out.println("Against " + baselineFile + " (" + baseline.settings() + "):");
+            results.forEach(result -> System.out.println("  " + baseline.change(result)));
+            return;
+        }
+        if (compare && !baseline.settings().equals(settings)) {
+            throw new IllegalStateException(baselineFile + " was recorded with " + baseline.settings()
+                    + ", this run used " + settings);
+        }
+        List<String> regressions = baseline.regressions(results, tolerance, latencySlack, maxErrorRate);
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException("Load test failed (baseline " + baselineFile + "):\n  "
+                    + String.join("\n  ", regressions));
+        }
+        if (compare) {
+            System.out.println("No regression against " + baselineFile);
+        } else {
+            run.write(baselineFile);
+            System.out.println("Baseline stored in " + baselineFile);
+        }
+    }
+
+    // Major version only: a JDK patch update must not invalidate the baseline
+    private static String javaMajorVersion(Path javaHome) throws IOException {
+        Path release = javaHome.resolve("release");
+        if (!Files.exists(release)) {
+            return "unknown";
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(release)) {
+            properties.load(reader);
+        }
+        String version = properties.getProperty("JAVA_VERSION", "unknown").replace("\"", "");
+        return version.split("[.+-]", 2)[0];
+    }
+
+    private static void print(ScenarioResult result) {
+        System.out.printf(Locale.ROOT, "%-16s %8d ok %6d errors %9.1f/s  p50 %8.2f ms  p95 %8.2f ms  p99 %8.2f ms%n",
+                result.name(), result.requests(), result.errors(), result.throughput(),
+                result.p50Millis(), result.p95Millis(), result.p99Millis());
+    }
+}
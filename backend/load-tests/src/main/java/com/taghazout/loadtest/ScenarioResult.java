@@ -0,0 +1,39 @@
+package com.taghazout.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * SRP: ONLY summarizes one scenario run: throughput and latency percentiles.
+ *
+ * - Percentiles use the nearest-rank method over every successful request
+ *   (no histogram buckets, so nothing is interpolated)
+ * - Throughput counts successful requests only; errors are reported apart
+ */
+public record ScenarioResult(String name, long requests, long errors, double throughput,
+                             double p50Millis, double p95Millis, double p99Millis) {
+
+    public static ScenarioResult of(String name, long[] latenciesNanos, long errors, Duration elapsed) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsed.toNanos() / 1e9;
+        return new ScenarioResult(name, sorted.length, errors,
+                seconds > 0 ? sorted.length / seconds : 0,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.95),
+                percentileMillis(sorted, 0.99));
+    }
+
+    public double errorRate() {
+        long total = requests + errors;
+        return total == 0 ? 0 : (double) errors / total;
+    }
+
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+}
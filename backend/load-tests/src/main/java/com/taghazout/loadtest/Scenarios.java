@@ -0,0 +1,132 @@
+package com.taghazout.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SRP: ONLY defines the user journeys, each through the gateway like the app calls them.
+ *
+ * - register: a new client account per call (password hashing included)
+ * - login: round-robin over users registered during setUp()
+ * - browse-listings: anonymous GET /api/v1/listings (gateway cache in the path)
+ * - create-listing: authenticated POST as a host (JWT validation in the path)
+ */
+public final class Scenarios {
+
+    private static final String PASSWORD = "LoadTest-2024!";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final URI gateway;
+    private final List<String> loginEmails = new ArrayList<>();
+    private final AtomicInteger nextLogin = new AtomicInteger();
+
+    private String hostToken;
+    private long hostId;
+
+    public Scenarios(HttpClient client, URI gateway) {
+        this.client = client;
+        this.gateway = gateway;
+    }
+
+    /**
+     * Registers the login users and the host that creates listings.
+     */
+    public void setUp(int loginUsers) throws IOException, InterruptedException {
+        for (int i = 0; i < loginUsers; i++) {
+            String email = uniqueEmail("login");
+            expect(register("/api/v1/auth/register/client", email, Map.of()), 201);
+            loginEmails.add(email);
+        }
+        HttpResponse<String> host = register("/api/v1/auth/register/host", uniqueEmail("host"),
+                Map.of("organizationName", "Load Test Surf Camp"));
+        expect(host, 201);
+        JsonNode body = mapper.readTree(host.body());
+        hostToken = body.get("accessToken").asText();
+        hostId = body.get("userId").asLong();
+        // Something to browse from the first request on
+        expect(createListing(), 201);
+    }
+
+    public Map<String, LoadDriver.Step> all() {
+        Map<String, LoadDriver.Step> scenarios = new LinkedHashMap<>();
+        scenarios.put("register",
+                () -> register("/api/v1/auth/register/client", uniqueEmail("client"), Map.of()).statusCode() == 201);
+        scenarios.put("login", () -> login().statusCode() == 200);
+        scenarios.put("browse-listings", () -> browseListings().statusCode() == 200);
+        scenarios.put("create-listing", () -> createListing().statusCode() == 201);
+        return scenarios;
+    }
+
+    private HttpResponse<String> register(String path, String email, Map<String, String> extra)
+            throws IOException, InterruptedException {
+        Map<String, String> body = new LinkedHashMap<>(Map.of("email", email, "password", PASSWORD,
+                "firstName", "Load", "lastName", "Test"));
+        body.putAll(extra);
+        return post(path, body, null);
+    }
+
+    private HttpResponse<String> login() throws IOException, InterruptedException {
+        String email = loginEmails.get(Math.floorMod(nextLogin.getAndIncrement(), loginEmails.size()));
+        return post("/api/v1/auth/login", Map.of("email", email, "password", PASSWORD), null);
+    }
+
+    private HttpResponse<String> browseListings() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(gateway.resolve("/api/v1/listings"))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> createListing() throws IOException, InterruptedException {
+        Map<String, Object> details = Map.of(
+                "name", "Load Test Hostel",
+                "description", "Created by the load test",
+                "address", Map.of("city", "Taghazout", "country", "Morocco", "street", "Main Street"),
+                "pricePerNight", Map.of("amount", 25, "currency", "EUR"),
+                "rating", Map.of("score", 4.5, "reviewCount", 10),
+                "amenities", List.of("WIFI", "SURFBOARD_RENTAL"),
+                "availability", Map.of("totalBeds", 12, "availableBeds", 6),
+                "images", List.of("https://example.com/hostel.jpg"));
+        return post("/api/v1/listings", Map.of("hostId", hostId, "type", "HOSTEL", "hostelDetails", details),
+                hostToken);
+    }
+
+    private HttpResponse<String> post(String path, Object body, String token)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String uniqueEmail(String prefix) {
+        return prefix + "-" + UUID.randomUUID() + "@loadtest.taghazout.com";
+    }
+
+    private static void expect(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri()
+                    + " answered " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
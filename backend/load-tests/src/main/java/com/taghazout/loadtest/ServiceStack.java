@@ -0,0 +1,150 @@
+package com.taghazout.loadtest;
+
+import com.github.fppt.jedismock.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SRP: ONLY starts and stops the services under test on this machine.
+ *
+ * - Redis: an in-process stand-in (jedis-mock) on a free port
+ * - auth-service, listing-service, api-gateway: the packaged jars with the
+ *   "loadtest" profile (H2, no Eureka or Config Server), on free ports; the
+ *   gateway finds the services through static discovery; listing-service's
+ *   actuator gets a free port too (it runs on a separate management port)
+ * - Every service gets the same fixed heap so runs are comparable
+ * - java-home and extra profiles select the mode under test (e.g. a JDK 21
+ *   with "virtual-threads" against the same JDK without it)
+ * - Each service's output goes to <report-dir>/<service>.log
+ */
+public final class ServiceStack implements AutoCloseable {
+
+    private static final String VERSION = "0.0.1-SNAPSHOT";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Path backendDir;
+    private final Path logDir;
+    private final String heap;
+    private final Path javaHome;
+    private final String profiles;
+    private final List<Process> processes = new ArrayList<>();
+
+    private RedisServer redis;
+    private URI gateway;
+
+    public ServiceStack(Path backendDir, Path logDir, String heap, Path javaHome, String extraProfiles) {
+        this.backendDir = backendDir;
+        this.logDir = logDir;
+        this.heap = heap;
+        this.javaHome = javaHome;
+        this.profiles = extraProfiles.isBlank() ? "loadtest" : "loadtest," + extraProfiles;
+    }
+
+    public URI start() throws IOException, InterruptedException {
+        Files.createDirectories(logDir);
+        redis = RedisServer.newRedisServer(0);
+        redis.start();
+        String redisPort = "--spring.data.redis.port=" + redis.getBindPort();
+
+        int authPort = freePort();
+        int listingPort = freePort();
+        int listingManagementPort = freePort();
+        int gatewayPort = freePort();
+        URI auth = launch("auth-service", authPort, redisPort);
+        URI listing = launch("listing-service", listingPort, "--management.server.port=" + listingManagementPort);
+        awaitStarted("auth-service", auth);
+        awaitStarted("listing-service", URI.create("http://localhost:" + listingManagementPort));
+
+        gateway = launch("api-gateway", gatewayPort, redisPort,
+                "--spring.cloud.discovery.client.simple.instances.auth-service[0].uri=" + auth,
+                "--spring.cloud.discovery.client.simple.instances.listing-service[0].uri=" + listing);
+        awaitStarted("api-gateway", gateway);
+        return gateway;
+    }
+
+    private URI launch(String service, int port, String... arguments) throws IOException {
+        Path jar = backendDir.resolve(service).resolve("target").resolve(service + "-" + VERSION + ".jar");
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(jar + " not found, build it first: mvn package -DskipTests");
+        }
+        List<String> command = new ArrayList<>(List.of(
+                javaHome.resolve("bin").resolve("java").toString(),
+                "-Xms" + heap, "-Xmx" + heap,
+                "-jar", jar.toString(),
+                "--spring.profiles.active=" + profiles,
+                "--server.port=" + port));
+        command.addAll(List.of(arguments));
+        Path log = logDir.resolve(service + ".log");
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+        return URI.create("http://localhost:" + port);
+    }
+
+    /**
+     * Started once /actuator/health answers at all: the health status itself
+     * may be DOWN for parts the load test does not use.
+     */
+    private void awaitStarted(String service, URI uri) throws InterruptedException {
+        Process process = processes.get(processes.size() - 1);
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(uri.resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(service + " exited, see " + logDir.resolve(service + ".log"));
+            }
+            try {
+                client.send(health, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException notYet) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(service + " not started within " + STARTUP_TIMEOUT
+                + ", see " + logDir.resolve(service + ".log"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
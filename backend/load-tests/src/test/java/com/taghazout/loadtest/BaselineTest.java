@@ -0,0 +1,80 @@
+package com.taghazout.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Baseline Tests")
+class BaselineTest {
+
+    private static final String SETTINGS = "users login=4, PT10S warm-up, PT30S per scenario, 512m heap";
+
+    @Test
+    @DisplayName("should compute nearest-rank percentiles and throughput")
+    void shouldComputePercentiles() {
+        long[] latencies = LongStream.rangeClosed(1, 100).map(ms -> Duration.ofMillis(ms).toNanos()).toArray();
+
+        ScenarioResult result = ScenarioResult.of("login", latencies, 0, Duration.ofSeconds(10));
+
+        assertThat(result.requests()).isEqualTo(100);
+        assertThat(result.throughput()).isEqualTo(10.0);
+        assertThat(result.p50Millis()).isEqualTo(50.0);
+        assertThat(result.p95Millis()).isEqualTo(95.0);
+        assertThat(result.p99Millis()).isEqualTo(99.0);
+    }
+
+    @Test
+    @DisplayName("should pass within the tolerance after a write/load round trip")
+    void shouldPassWithinTolerance(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("baseline.properties");
+        Baseline.of(SETTINGS, List.of(result(100, 10, 20))).write(file);
+
+        Baseline baseline = Baseline.load(file);
+
+        assertThat(baseline.settings()).isEqualTo(SETTINGS);
+        assertThat(baseline.regressions(List.of(result(85, 11.5, 23.5)), 0.2, 0, 0.01)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should report lower throughput and higher percentiles past the tolerance")
+    void shouldReportRegressions() {
+        Baseline baseline = Baseline.of(SETTINGS, List.of(result(100, 10, 20)));
+
+        List<String> regressions = baseline.regressions(List.of(result(70, 13, 30)), 0.2, 0, 0.01);
+
+        assertThat(regressions).hasSize(3)
+                .anyMatch(regression -> regression.contains("throughput"))
+                .anyMatch(regression -> regression.contains("p95-ms"))
+                .anyMatch(regression -> regression.contains("p99-ms"));
+    }
+
+    @Test
+    @DisplayName("should absorb small absolute latency changes with the slack")
+    void shouldApplyLatencySlack() {
+        Baseline baseline = Baseline.of(SETTINGS, List.of(result(100, 0.5, 1)));
+
+        assertThat(baseline.regressions(List.of(result(100, 1.5, 2.5)), 0.2, 2, 0.01)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should report errors even without a baseline for the scenario")
+    void shouldReportErrorsWithoutBaseline() {
+        Baseline empty = Baseline.of(SETTINGS, List.of());
+        ScenarioResult failing = new ScenarioResult("login", 90, 10, 9, 10, 15, 20);
+
+        assertThat(empty.contains("login")).isFalse();
+        assertThat(empty.regressions(List.of(failing), 0.2, 0, 0.01))
+                .singleElement().asString().contains("error rate");
+    }
+
+    private static ScenarioResult result(double throughput, double p95, double p99) {
+        return new ScenarioResult("login", 1000, 0, throughput, p95 / 2, p95, p99);
+    }
+}
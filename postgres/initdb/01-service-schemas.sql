@@ -0,0 +1,18 @@
+-- One schema and one login role per service; each service's Flyway migrations own its schema.
+-- Runs once, when the postgres container initializes an empty data volume.
+--
+-- CONNECTION LIMIT is the service's share of max_connections (120, docker-compose): the
+-- most one instance opens to the primary, in any profile, times two instances, so one
+-- service exhausting its budget cannot starve the other.
+--   auth:    virtual-threads: 20 JDBC (default: 10)                    x2 = 40
+--   listing: reactive: 15 JDBC (writes) + 20 R2DBC (reads) = 35        x2 = 70
+--            (virtual-threads: 20, default: 15; the replica pools connect to the replicas)
+-- Raise a pool and this limit and max_connections go with it.
+
+CREATE ROLE auth_service LOGIN PASSWORD 'auth_service' CONNECTION LIMIT 40;
+CREATE SCHEMA auth AUTHORIZATION auth_service;
+ALTER ROLE auth_service SET search_path = auth;
+
+CREATE ROLE listing_service LOGIN PASSWORD 'listing_service' CONNECTION LIMIT 70;
+CREATE SCHEMA listing AUTHORIZATION listing_service;
+ALTER ROLE listing_service SET search_path = listing;